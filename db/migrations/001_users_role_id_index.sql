@@ -0,0 +1,2 @@
+-- Keyset paging of the admin role tables: WHERE role = ? AND id > ? ORDER BY id
+CREATE INDEX users_role_id_ix ON users (role, id);
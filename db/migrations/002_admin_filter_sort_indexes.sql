@@ -0,0 +1,12 @@
+-- Server-side filter and sort for the admin tables (KeysetSql).
+-- Sorting seeks on (column, id); "starts with" filters match UPPER(column) LIKE 'TEXT%'.
+CREATE INDEX users_role_name_ix ON users (role, name, id);
+CREATE INDEX users_role_email_ix ON users (role, email, id);
+CREATE INDEX users_role_uname_ix ON users (role, UPPER(name));
+CREATE INDEX users_role_uemail_ix ON users (role, UPPER(email));
+
+CREATE INDEX events_title_ix ON events (title, id);
+CREATE INDEX events_date_ix ON events (event_date, id);
+CREATE INDEX events_location_ix ON events (location, id);
+CREATE INDEX events_utitle_ix ON events (UPPER(title));
+CREATE INDEX events_ulocation_ix ON events (UPPER(location));
@@ -0,0 +1,4 @@
+-- Investor inbox (FundingRepository.findPendingForInvestor): a range seek to one investor's
+-- pending funding after the page key, then one probe per row for the pair's application.
+CREATE INDEX funding_inbox_ix ON funding (investor_id, status, id);
+CREATE INDEX applications_pair_ix ON applications (founder_id, support_id, status, id);
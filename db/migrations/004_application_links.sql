@@ -0,0 +1,57 @@
+-- Links each application to the funding or mentor_requests row it was submitted with, so the
+-- inboxes and accept/reject join and update by key instead of matching founder/supporter pairs.
+
+ALTER TABLE applications ADD (
+    funding_id        NUMBER REFERENCES funding (id),
+    mentor_request_id NUMBER REFERENCES mentor_requests (id)
+);
+
+-- Backfill: both rows were inserted together, so the n-th application of a founder to an
+-- investor belongs to that pair's n-th funding row, and likewise for mentors.
+MERGE INTO applications a
+USING (
+    SELECT ap.id AS application_id, f.id AS funding_id
+    FROM (SELECT ap.id, ap.founder_id, ap.support_id,
+                 ROW_NUMBER() OVER (PARTITION BY ap.founder_id, ap.support_id ORDER BY ap.id) AS rn
+          FROM applications ap JOIN users u ON u.id = ap.support_id AND u.role = 'Investor') ap
+    JOIN (SELECT id, founder_id, investor_id,
+                 ROW_NUMBER() OVER (PARTITION BY founder_id, investor_id ORDER BY id) AS rn
+          FROM funding) f
+      ON f.founder_id = ap.founder_id AND f.investor_id = ap.support_id AND f.rn = ap.rn
+) m ON (a.id = m.application_id)
+WHEN MATCHED THEN UPDATE SET a.funding_id = m.funding_id;
+
+MERGE INTO applications a
+USING (
+    SELECT ap.id AS application_id, r.id AS mentor_request_id
+    FROM (SELECT ap.id, ap.founder_id, ap.support_id,
+                 ROW_NUMBER() OVER (PARTITION BY ap.founder_id, ap.support_id ORDER BY ap.id) AS rn
+          FROM applications ap JOIN users u ON u.id = ap.support_id AND u.role = 'Mentor') ap
+    JOIN (SELECT id, founder_id, mentor_id,
+                 ROW_NUMBER() OVER (PARTITION BY founder_id, mentor_id ORDER BY id) AS rn
+          FROM mentor_requests) r
+      ON r.founder_id = ap.founder_id AND r.mentor_id = ap.support_id AND r.rn = ap.rn
+) m ON (a.id = m.application_id)
+WHEN MATCHED THEN UPDATE SET a.mentor_request_id = m.mentor_request_id;
+
+-- Accept/reject used to update the application whose id equalled the funding id; take the
+-- status back from the linked rows
+UPDATE applications a
+SET status = (SELECT f.status FROM funding f WHERE f.id = a.funding_id)
+WHERE a.funding_id IS NOT NULL;
+
+UPDATE applications a
+SET status = (SELECT r.status FROM mentor_requests r WHERE r.id = a.mentor_request_id)
+WHERE a.mentor_request_id IS NOT NULL;
+
+COMMIT;
+
+CREATE UNIQUE INDEX applications_funding_ux ON applications (funding_id);
+CREATE UNIQUE INDEX applications_mentor_request_ux ON applications (mentor_request_id);
+CREATE INDEX mentor_requests_inbox_ix ON mentor_requests (mentor_id, status, id);
+DROP INDEX applications_pair_ix;
+
+-- NOVALIDATE: applications left unmatched by the backfill stay as they are, new rows must link
+ALTER TABLE applications ADD CONSTRAINT applications_one_link_ck CHECK (
+    (funding_id IS NOT NULL AND mentor_request_id IS NULL) OR
+    (funding_id IS NULL AND mentor_request_id IS NOT NULL)) ENABLE NOVALIDATE;
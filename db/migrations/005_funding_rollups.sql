@@ -0,0 +1,37 @@
+-- Maintained funding totals for the admin charts (FundingRepository.rollups). From here on the
+-- application updates funding_rollups in the same transaction as every funding insert and status
+-- change; this script builds the starting totals.
+
+-- Rows that existed before this migration are dated to the day it runs.
+ALTER TABLE funding ADD (
+    created_at DATE DEFAULT SYSDATE NOT NULL,
+    industry   VARCHAR2(100)
+);
+
+UPDATE funding f
+SET industry = (SELECT fo.industry FROM founders fo WHERE fo.user_id = f.founder_id);
+
+CREATE TABLE funding_rollups (
+    dimension     VARCHAR2(10)  NOT NULL,
+    bucket        VARCHAR2(100) NOT NULL,
+    status        VARCHAR2(30)  NOT NULL,
+    request_count NUMBER        NOT NULL,
+    total_amount  NUMBER(16, 2) NOT NULL,
+    CONSTRAINT funding_rollups_pk PRIMARY KEY (dimension, bucket, status)
+);
+
+INSERT INTO funding_rollups (dimension, bucket, status, request_count, total_amount)
+SELECT dimension, bucket, status, COUNT(*), SUM(amount)
+FROM (
+    SELECT 'TOTAL' AS dimension, '*' AS bucket, f.status, f.amount FROM funding f
+    UNION ALL
+    SELECT 'MONTH', TO_CHAR(f.created_at, 'YYYY-MM'), f.status, f.amount FROM funding f
+    UNION ALL
+    SELECT 'STAGE', NVL(a.stage, 'Unknown'), f.status, f.amount
+    FROM funding f LEFT JOIN applications a ON a.funding_id = f.id
+    UNION ALL
+    SELECT 'INDUSTRY', NVL(f.industry, 'Unknown'), f.status, f.amount FROM funding f
+)
+GROUP BY dimension, bucket, status;
+
+COMMIT;
@@ -0,0 +1,4 @@
+-- Change stamp for incremental reads of funding (FundingRepository.findFactsChangedSince, used by
+-- the admin Analytics snapshot). The application sets it on insert and on every status change.
+ALTER TABLE funding ADD updated_at TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL;
+CREATE INDEX funding_updated_ix ON funding (updated_at);
@@ -0,0 +1,17 @@
+-- Structured weekly availability for mentors (MentorSlotRepository). Booking a slot goes with the
+-- mentor request in one transaction and succeeds only while the slot is open. The free-text
+-- mentors.availability is left as it is; it is rewritten as a summary of the slots the next time
+-- the mentor saves their profile. Until a mentor adds slots, founders cannot request them.
+CREATE TABLE mentor_slots (
+    id                NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    mentor_id         NUMBER NOT NULL REFERENCES mentors (user_id) ON DELETE CASCADE,
+    day_of_week       NUMBER(1) NOT NULL,
+    start_minute      NUMBER(4) NOT NULL,
+    end_minute        NUMBER(4) NOT NULL,
+    booked_request_id NUMBER REFERENCES mentor_requests (id) ON DELETE SET NULL,
+    CONSTRAINT mentor_slots_time_ck CHECK (
+        day_of_week BETWEEN 1 AND 7 AND start_minute >= 0 AND end_minute <= 1440 AND start_minute < end_minute)
+);
+
+CREATE INDEX mentor_slots_mentor_ix ON mentor_slots (mentor_id, day_of_week, start_minute);
+CREATE UNIQUE INDEX mentor_slots_booking_ux ON mentor_slots (booked_request_id);
@@ -0,0 +1,17 @@
+-- Event registrations (RsvpService). capacity NULL means unlimited. rsvp_count is only raised by
+-- a conditional UPDATE that stays within capacity, and the CHECK refuses any write that would
+-- oversell, including an admin lowering capacity below the registrations already taken.
+ALTER TABLE events ADD (
+    capacity   NUMBER,
+    rsvp_count NUMBER DEFAULT 0 NOT NULL,
+    CONSTRAINT events_capacity_ck CHECK (capacity IS NULL OR (capacity >= 0 AND rsvp_count <= capacity))
+);
+
+CREATE TABLE event_rsvps (
+    event_id   NUMBER NOT NULL REFERENCES events (id) ON DELETE CASCADE,
+    founder_id NUMBER NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    created_at TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
+    CONSTRAINT event_rsvps_pk PRIMARY KEY (event_id, founder_id)
+);
+
+CREATE INDEX event_rsvps_founder_ix ON event_rsvps (founder_id, event_id);
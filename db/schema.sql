@@ -0,0 +1,160 @@
+-- Oracle schema the application runs against.
+-- InMemoryRepositories mirrors these tables, sequences and constraints for offline runs.
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE funding_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE applications_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE users (
+    id       NUMBER DEFAULT users_seq.NEXTVAL PRIMARY KEY,
+    name     VARCHAR2(100) NOT NULL,
+    email    VARCHAR2(150) NOT NULL UNIQUE,
+    password VARCHAR2(100) NOT NULL,
+    role     VARCHAR2(20)  NOT NULL CHECK (role IN ('Admin', 'Investor', 'Mentor', 'Founder'))
+);
+
+-- Keyset paging of the admin role tables: WHERE role = ? AND id > ? ORDER BY id
+CREATE INDEX users_role_id_ix ON users (role, id);
+-- Server-side filter and sort of the admin role tables
+CREATE INDEX users_role_name_ix ON users (role, name, id);
+CREATE INDEX users_role_email_ix ON users (role, email, id);
+CREATE INDEX users_role_uname_ix ON users (role, UPPER(name));
+CREATE INDEX users_role_uemail_ix ON users (role, UPPER(email));
+
+CREATE TABLE founders (
+    user_id        NUMBER PRIMARY KEY REFERENCES users (id),
+    name           VARCHAR2(100),
+    email          VARCHAR2(150),
+    startup_name   VARCHAR2(150),
+    industry       VARCHAR2(100),
+    location       VARCHAR2(100),
+    team_size      NUMBER,
+    funding_needed NUMBER(14, 2)
+);
+
+CREATE TABLE investors (
+    user_id          NUMBER PRIMARY KEY REFERENCES users (id),
+    name             VARCHAR2(100),
+    email            VARCHAR2(150),
+    expertise_area   VARCHAR2(200),
+    available_budget NUMBER(14, 2)
+);
+
+CREATE TABLE mentors (
+    user_id      NUMBER PRIMARY KEY REFERENCES users (id),
+    name         VARCHAR2(100),
+    email        VARCHAR2(150),
+    expertise    VARCHAR2(200),
+    availability VARCHAR2(200)
+);
+
+-- industry is the founder's industry when the request was sent, kept for funding_rollups;
+-- updated_at moves on every insert and status change, for incremental reads
+CREATE TABLE funding (
+    id          NUMBER PRIMARY KEY,
+    investor_id NUMBER NOT NULL REFERENCES users (id),
+    founder_id  NUMBER NOT NULL REFERENCES users (id),
+    amount      NUMBER(14, 2) NOT NULL,
+    status      VARCHAR2(30) NOT NULL,
+    created_at  DATE DEFAULT SYSDATE NOT NULL,
+    industry    VARCHAR2(100),
+    updated_at  TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL
+);
+
+-- Investor inbox: an investor's pending funding in id order
+CREATE INDEX funding_inbox_ix ON funding (investor_id, status, id);
+-- Analytics snapshot refresh: funding changed since the last one
+CREATE INDEX funding_updated_ix ON funding (updated_at);
+
+CREATE TABLE mentor_requests (
+    id         NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    mentor_id  NUMBER NOT NULL REFERENCES users (id),
+    founder_id NUMBER NOT NULL REFERENCES users (id),
+    status     VARCHAR2(30) NOT NULL
+);
+
+-- Mentor inbox: a mentor's pending requests in id order
+CREATE INDEX mentor_requests_inbox_ix ON mentor_requests (mentor_id, status, id);
+
+-- A mentor's weekly availability, one row per recurring slot: day_of_week 1 (Monday) to 7
+-- (Sunday), minutes after midnight with the end exclusive. booked_request_id is the request holding
+-- the slot; booking sets it only while it is NULL (MentorRequestRepository.submit), so a slot is
+-- never booked twice. mentors.availability keeps a text summary of the slots.
+CREATE TABLE mentor_slots (
+    id                NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    mentor_id         NUMBER NOT NULL REFERENCES mentors (user_id) ON DELETE CASCADE,
+    day_of_week       NUMBER(1) NOT NULL,
+    start_minute      NUMBER(4) NOT NULL,
+    end_minute        NUMBER(4) NOT NULL,
+    booked_request_id NUMBER REFERENCES mentor_requests (id) ON DELETE SET NULL,
+    CONSTRAINT mentor_slots_time_ck CHECK (
+        day_of_week BETWEEN 1 AND 7 AND start_minute >= 0 AND end_minute <= 1440 AND start_minute < end_minute)
+);
+
+-- A mentor's own slots in day and time order
+CREATE INDEX mentor_slots_mentor_ix ON mentor_slots (mentor_id, day_of_week, start_minute);
+-- At most one slot per request; also finds the slot to release when a request is rejected
+CREATE UNIQUE INDEX mentor_slots_booking_ux ON mentor_slots (booked_request_id);
+
+-- support_id is the investor or mentor the application was sent to; funding_id or
+-- mentor_request_id (exactly one) is the row it was submitted with
+CREATE TABLE applications (
+    id                NUMBER PRIMARY KEY,
+    founder_id        NUMBER NOT NULL REFERENCES users (id),
+    idea_desc         VARCHAR2(4000),
+    stage             VARCHAR2(30),
+    status            VARCHAR2(30),
+    support_id        NUMBER,
+    support_name      VARCHAR2(100),
+    funding_id        NUMBER REFERENCES funding (id),
+    mentor_request_id NUMBER REFERENCES mentor_requests (id),
+    CONSTRAINT applications_one_link_ck CHECK (
+        (funding_id IS NOT NULL AND mentor_request_id IS NULL) OR
+        (funding_id IS NULL AND mentor_request_id IS NOT NULL))
+);
+
+CREATE UNIQUE INDEX applications_funding_ux ON applications (funding_id);
+CREATE UNIQUE INDEX applications_mentor_request_ux ON applications (mentor_request_id);
+
+-- Funding totals kept up to date by the statements that insert funding or change its status
+-- (FundingRepository.submit and updateStatus), so the admin charts never scan funding.
+-- dimension is TOTAL (bucket '*'), MONTH (YYYY-MM of created_at), STAGE (the application's
+-- stage) or INDUSTRY (funding.industry); a missing stage or industry is bucketed as 'Unknown'.
+CREATE TABLE funding_rollups (
+    dimension     VARCHAR2(10)  NOT NULL,
+    bucket        VARCHAR2(100) NOT NULL,
+    status        VARCHAR2(30)  NOT NULL,
+    request_count NUMBER        NOT NULL,
+    total_amount  NUMBER(16, 2) NOT NULL,
+    CONSTRAINT funding_rollups_pk PRIMARY KEY (dimension, bucket, status)
+);
+
+-- capacity NULL is unlimited; rsvp_count counts event_rsvps rows and never passes capacity
+CREATE TABLE events (
+    id          NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR2(200) NOT NULL,
+    description VARCHAR2(1000),
+    event_date  DATE,
+    location    VARCHAR2(200),
+    capacity    NUMBER,
+    rsvp_count  NUMBER DEFAULT 0 NOT NULL,
+    CONSTRAINT events_capacity_ck CHECK (capacity IS NULL OR (capacity >= 0 AND rsvp_count <= capacity))
+);
+
+-- Server-side filter and sort of the admin events table
+CREATE INDEX events_title_ix ON events (title, id);
+CREATE INDEX events_date_ix ON events (event_date, id);
+CREATE INDEX events_location_ix ON events (location, id);
+CREATE INDEX events_utitle_ix ON events (UPPER(title));
+CREATE INDEX events_ulocation_ix ON events (UPPER(location));
+
+-- One row per founder registered for an event (RsvpService)
+CREATE TABLE event_rsvps (
+    event_id   NUMBER NOT NULL REFERENCES events (id) ON DELETE CASCADE,
+    founder_id NUMBER NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    created_at TIMESTAMP DEFAULT SYSTIMESTAMP NOT NULL,
+    CONSTRAINT event_rsvps_pk PRIMARY KEY (event_id, founder_id)
+);
+
+-- A founder's registrations
+CREATE INDEX event_rsvps_founder_ix ON event_rsvps (founder_id, event_id);
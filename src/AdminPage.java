@@ -1,3 +1,4 @@
+import javafx.beans.binding.Bindings;
 import javafx.collections.*;
 import javafx.geometry.Insets;
 import javafx.scene.Scene;
@@ -6,8 +7,36 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
-import java.sql.*;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
+import javafx.util.converter.IntegerStringConverter;
+import javafx.util.converter.LocalDateStringConverter;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 public class AdminPage {
+    // Revisiting a tab after this long queries it again
+    private static final Duration ADMIN_STALE_AFTER = Duration.minutes(1);
+    // Role tables page through users by id; only MAX_PAGES pages are held at once
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 20;
+    // Inline edits are written in batches, this long after the first unsaved one
+    private static final Duration FLUSH_AFTER = Duration.seconds(2);
+    // -Drsvp.pollSeconds=N: how often the events tab re-reads RSVP counts; with a change feed,
+    // counts arrive as registrations are stored and polling only covers dropped events
+    private static final Duration RSVP_POLL = Duration.seconds(
+            Integer.getInteger("rsvp.pollSeconds", ChangeFeed.isEnabled() ? 60 : 2));
+    // Filter choice on the Analytics tab that leaves a column unfiltered
+    private static final String ANY = "Any";
+
+    private final List<EditBuffer<Integer, ?>> editBuffers = new ArrayList<>();
 
     public void start(Stage stage) {
         TabPane tabPane = new TabPane();
@@ -17,7 +46,8 @@ public class AdminPage {
                 createRoleTab("Investors", "investor"),
                 createRoleTab("Founders", "founder"),
                 createEventTab(),          // Events Tab
-                createChartTab()           // Chart Tab
+                createChartTab(),          // Chart Tab
+                createAnalyticsTab()
         );
 
         VBox root = new VBox(tabPane);
@@ -25,15 +55,39 @@ public class AdminPage {
 
         stage.setTitle("Admin Dashboard");
         stage.setScene(new Scene(root, 800, 600));
+        // Don't close until buffered edits are written
+        stage.setOnCloseRequest(e -> {
+            if (editBuffers.stream().anyMatch(b -> b.pendingProperty().get() > 0)) {
+                e.consume();
+                CompletableFuture.allOf(editBuffers.stream().map(EditBuffer::flush).toArray(CompletableFuture[]::new))
+                        .thenRun(stage::close);
+            }
+        });
         stage.show();
     }
 
     // Create the Events Tab
     private Tab createEventTab() {
-        Tab tab = new Tab("Events");
+        return new LazyTab("Events", ADMIN_STALE_AFTER, this::buildEventTab);
+    }
+
+    private VBox buildEventTab(LazyTab tab) {
 
         TableView<EventData> table = new TableView<>();
-        ObservableList<EventData> data = FXCollections.observableArrayList();
+        EventPageSource source = new EventPageSource();
+        PagedList<EventData> data = new PagedList<>(PAGE_SIZE, MAX_PAGES, source, i -> LOADING_EVENT);
+        EditBuffer<Integer, Event> edits = new EditBuffer<>(FLUSH_AFTER,
+                rows -> Repositories.events().updateAll(rows),
+                row -> Repositories.events().update(row));
+        editBuffers.add(edits);
+        // Pending edits go out first, so the reloaded rows include them
+        Runnable reload = () -> edits.flush().thenRun(data::reload);
+        Label editErrors = new Label();
+        edits.setOnSaved(() -> editErrors.setText(""));
+        edits.setOnFailed(failures -> {
+            showFailures(editErrors, failures);
+            data.reload();
+        });
 
         TableColumn<EventData, Integer> idCol = new TableColumn<>("ID");
         idCol.setCellValueFactory(new PropertyValueFactory<>("id"));
@@ -43,8 +97,9 @@ public class AdminPage {
         titleCol.setCellFactory(TextFieldTableCell.forTableColumn());
         titleCol.setOnEditCommit(e -> {
             EventData event = e.getRowValue();
+            if (event == LOADING_EVENT) return;
             event.setTitle(e.getNewValue());
-            updateEvent(event);
+            updateEvent(edits, event);
         });
 
         TableColumn<EventData, String> descriptionCol = new TableColumn<>("Description");
@@ -52,97 +107,341 @@ public class AdminPage {
         descriptionCol.setCellFactory(TextFieldTableCell.forTableColumn());
         descriptionCol.setOnEditCommit(e -> {
             EventData event = e.getRowValue();
+            if (event == LOADING_EVENT) return;
             event.setDescription(e.getNewValue());
-            updateEvent(event);
+            updateEvent(edits, event);
         });
 
-        TableColumn<EventData, String> eventDateCol = new TableColumn<>("Event Date");
+        TableColumn<EventData, LocalDate> eventDateCol = new TableColumn<>("Event Date");
         eventDateCol.setCellValueFactory(new PropertyValueFactory<>("eventDate"));
-        eventDateCol.setCellFactory(TextFieldTableCell.forTableColumn());
+        // yyyy-MM-dd; text that isn't a date keeps the cell editing
+        eventDateCol.setCellFactory(TextFieldTableCell.forTableColumn(
+                new LocalDateStringConverter(DateTimeFormatter.ISO_LOCAL_DATE, null)));
         eventDateCol.setOnEditCommit(e -> {
             EventData event = e.getRowValue();
+            if (event == LOADING_EVENT) return;
             event.setEventDate(e.getNewValue());
-            updateEvent(event);
+            updateEvent(edits, event);
         });
 
+        TableColumn<EventData, Integer> capacityCol = new TableColumn<>("Capacity");
+        capacityCol.setCellValueFactory(new PropertyValueFactory<>("capacity"));
+        // Blank for no limit; a capacity below the registrations already taken is refused
+        capacityCol.setCellFactory(TextFieldTableCell.forTableColumn(new IntegerStringConverter()));
+        capacityCol.setOnEditCommit(e -> {
+            EventData event = e.getRowValue();
+            if (event == LOADING_EVENT) return;
+            event.setCapacity(e.getNewValue());
+            updateEvent(edits, event);
+            // Written now, so RSVPs taken in this process go by the new capacity straight away; a
+            // refused capacity leaves the old one in force
+            edits.flush().thenAccept(failures -> {
+                if (!failures.containsKey(event.getId())) {
+                    RsvpService.shared().forget(event.getId());
+                }
+            });
+        });
+
+        TableColumn<EventData, String> rsvpCol = new TableColumn<>("RSVPs");
+        rsvpCol.setCellValueFactory(new PropertyValueFactory<>("rsvpText"));
+
         TableColumn<EventData, String> locationCol = new TableColumn<>("Location");
         locationCol.setCellValueFactory(new PropertyValueFactory<>("location"));
         locationCol.setCellFactory(TextFieldTableCell.forTableColumn());
         locationCol.setOnEditCommit(e -> {
             EventData event = e.getRowValue();
+            if (event == LOADING_EVENT) return;
             event.setLocation(e.getNewValue());
-            updateEvent(event);
+            updateEvent(edits, event);
         });
 
-        table.getColumns().addAll(idCol, titleCol, descriptionCol, eventDateCol, locationCol);
+        table.getColumns().addAll(idCol, titleCol, descriptionCol, eventDateCol, locationCol, capacityCol, rsvpCol);
         table.setEditable(true);
         table.setItems(data);
 
+        // Filtering and sorting run in the database; description has no index, so neither applies to it
+        descriptionCol.setSortable(false);
+        capacityCol.setSortable(false);
+        rsvpCol.setSortable(false);
+        FilterBar<EventData> filterBar = new FilterBar<>(table, query -> {
+            source.query = query;
+            reload.run();
+        });
+        filterBar.filter("id", "ID").filter("title", "Title starts with").filter("location", "Location starts with")
+                .dateRange(EventRepository.EVENT_DATE, "From date", "To date")
+                .sortable(idCol, "id").sortable(titleCol, "title").sortable(eventDateCol, EventRepository.EVENT_DATE)
+                .sortable(locationCol, "location");
+
         Button addBtn = new Button("Add Event");
-        addBtn.setOnAction(e -> showAddEventDialog(data));
+        addBtn.setOnAction(e -> showAddEventDialog(reload));
 
         Button delBtn = new Button("Delete Selected Event");
         delBtn.setOnAction(e -> {
             EventData selected = table.getSelectionModel().getSelectedItem();
-            if (selected != null) {
-                deleteEvent(selected);
-                data.remove(selected);
+            if (selected != null && selected != LOADING_EVENT) {
+                // Pending edits go out first, so none of them lands after the delete
+                edits.flush().thenRun(() -> deleteEvent(selected, reload, editErrors));
             }
         });
 
-        loadEvents(data);
+        tab.setReloader(reload);
 
-        VBox layout = new VBox(10, table, new HBox(10, addBtn, delBtn));
+        // Registrations change counts without changing the rows, so the counts of the rows held are
+        // re-read every RSVP_POLL, and straight away when the change feed says some were stored
+        DeltaPoller rsvpPoller = new DeltaPoller(tab, RSVP_POLL, () -> {
+            List<Integer> ids = new ArrayList<>();
+            data.forEachCached(row -> ids.add(row.getId()));
+            if (ids.isEmpty()) {
+                return null;
+            }
+            return DataLoader.load(() -> Repositories.rsvps().countAll(ids), counts -> {
+                data.forEachCached(row -> row.setRsvps(counts.getOrDefault(row.getId(), row.getRsvps())));
+                table.refresh();
+            });
+        });
+        ChangeFeed.follow(tab, ChangeFeed.EVENTS_TOPIC, events -> rsvpPoller.pollNow());
+
+        VBox layout = new VBox(10, filterBar, table, new HBox(10, addBtn, delBtn), editStatus(edits, editErrors));
         layout.setPadding(new Insets(10));
-        tab.setContent(layout);
-        return tab;
+        return layout;
     }
 
     // Create the Chart Tab
     private Tab createChartTab() {
-        Tab tab = new Tab("Progress Chart");
+        return new LazyTab("Progress Chart", ADMIN_STALE_AFTER, this::buildChartTab);
+    }
 
-        CategoryAxis xAxis = new CategoryAxis();
-        xAxis.setLabel("Status");
+    private VBox buildChartTab(LazyTab tab) {
+        // Both charts read only the maintained rollups, never the funding table
+        ComboBox<FundingRepository.Dimension> breakdown = new ComboBox<>(FXCollections.observableArrayList(
+                FundingRepository.Dimension.TOTAL, FundingRepository.Dimension.STAGE, FundingRepository.Dimension.INDUSTRY));
+        breakdown.setValue(FundingRepository.Dimension.TOTAL);
+        breakdown.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(FundingRepository.Dimension dimension) {
+                return dimension == null ? "" : switch (dimension) {
+                    case TOTAL -> "Status";
+                    case STAGE -> "Stage";
+                    case INDUSTRY -> "Industry";
+                    case MONTH -> "Month";
+                };
+            }
+
+            @Override
+            public FundingRepository.Dimension fromString(String text) {
+                return null;
+            }
+        });
 
+        CategoryAxis xAxis = new CategoryAxis();
         NumberAxis yAxis = new NumberAxis();
         yAxis.setLabel("Amount");
-
         BarChart<String, Number> fundingChart = new BarChart<>(xAxis, yAxis);
+        fundingChart.setAnimated(false);
+
+        CategoryAxis monthAxis = new CategoryAxis();
+        monthAxis.setLabel("Month");
+        NumberAxis monthAmountAxis = new NumberAxis();
+        monthAmountAxis.setLabel("Amount");
+        LineChart<String, Number> monthChart = new LineChart<>(monthAxis, monthAmountAxis);
+        monthChart.setTitle("Funding requested per month");
+        monthChart.setAnimated(false);
+
+        List<FundingRepository.Rollup> loaded = new ArrayList<>();
+        breakdown.valueProperty().addListener((obs, old, dimension) ->
+                showBreakdown(fundingChart, xAxis, loaded, dimension));
+
+        tab.setReloader(() -> DataLoader.load(() -> Repositories.funding().rollups(), rollups -> {
+            loaded.clear();
+            loaded.addAll(rollups);
+            showBreakdown(fundingChart, xAxis, loaded, breakdown.getValue());
+            // Months in calendar order, even where the first status has no requests
+            TreeSet<String> months = new TreeSet<>();
+            for (FundingRepository.Rollup r : loaded) {
+                if (r.dimension() == FundingRepository.Dimension.MONTH) {
+                    months.add(r.bucket());
+                }
+            }
+            monthAxis.setCategories(FXCollections.observableArrayList(months));
+            monthChart.getData().setAll(seriesByStatus(loaded, FundingRepository.Dimension.MONTH));
+        }));
+        // Funding submitted or decided anywhere changes the totals
+        ChangeFeed.follow(tab, ChangeFeed.ADMIN_TOPIC, events -> tab.invalidate());
+
+        HBox controls = new HBox(10, new Label("Break down by:"), breakdown);
+        VBox layout = new VBox(10, controls, fundingChart, monthChart);
+        layout.setPadding(new Insets(10));
+        VBox.setVgrow(fundingChart, Priority.ALWAYS);
+        VBox.setVgrow(monthChart, Priority.ALWAYS);
+        return layout;
+    }
+
+    private static void showBreakdown(BarChart<String, Number> chart, CategoryAxis axis,
+                                      List<FundingRepository.Rollup> rollups, FundingRepository.Dimension dimension) {
+        if (dimension == FundingRepository.Dimension.TOTAL) {
+            // One bar per status
+            axis.setLabel("Status");
+            XYChart.Series<String, Number> series = new XYChart.Series<>();
+            series.setName("Funding Amounts");
+            for (FundingRepository.Rollup r : rollups) {
+                if (r.dimension() == dimension) {
+                    series.getData().add(new XYChart.Data<>(r.status(), r.total()));
+                }
+            }
+            chart.getData().setAll(List.of(series));
+        } else {
+            axis.setLabel(dimension == FundingRepository.Dimension.STAGE ? "Stage" : "Industry");
+            chart.getData().setAll(seriesByStatus(rollups, dimension));
+        }
+    }
+
+    // One series per status, with a point per bucket of the dimension; rollups come in bucket order
+    private static List<XYChart.Series<String, Number>> seriesByStatus(List<FundingRepository.Rollup> rollups,
+                                                                        FundingRepository.Dimension dimension) {
+        Map<String, XYChart.Series<String, Number>> byStatus = new TreeMap<>();
+        for (FundingRepository.Rollup r : rollups) {
+            if (r.dimension() == dimension) {
+                byStatus.computeIfAbsent(r.status(), status -> {
+                    XYChart.Series<String, Number> series = new XYChart.Series<>();
+                    series.setName(status);
+                    return series;
+                }).getData().add(new XYChart.Data<>(r.bucket(), r.total()));
+            }
+        }
+        return new ArrayList<>(byStatus.values());
+    }
 
-        XYChart.Series<String, Number> fundingSeries = new XYChart.Series<>();
-        fundingSeries.setName("Funding Amounts");
+    private Tab createAnalyticsTab() {
+        return new LazyTab("Analytics", ADMIN_STALE_AFTER, this::buildAnalyticsTab);
+    }
 
-        // Load funding data (example for visualization)
-        loadFundingData(fundingSeries);
+    // Ad-hoc slices of funding from the columnar snapshot; only a refresh touches the database
+    private VBox buildAnalyticsTab(LazyTab tab) {
+        FundingAnalytics analytics = FundingAnalytics.shared();
+
+        List<CheckBox> groupBy = new ArrayList<>();
+        HBox groupBar = new HBox(10, new Label("Group by (up to 3):"));
+        Map<FundingAnalytics.Column, ComboBox<String>> filters = new EnumMap<>(FundingAnalytics.Column.class);
+        HBox filterBar = new HBox(10, new Label("Only:"));
+        for (FundingAnalytics.Column column : FundingAnalytics.Column.values()) {
+            CheckBox box = new CheckBox(column.toString());
+            box.setUserData(column);
+            groupBy.add(box);
+            groupBar.getChildren().add(box);
+
+            ComboBox<String> filter = new ComboBox<>();
+            filter.setPromptText(column.toString());
+            filters.put(column, filter);
+            filterBar.getChildren().add(filter);
+        }
+        groupBy.get(FundingAnalytics.Column.STAGE.ordinal()).setSelected(true);
 
-        fundingChart.getData().add(fundingSeries);
+        TableView<FundingAnalytics.Group> table = ModernTable.create();
+        Label summary = new Label();
 
-        VBox layout = new VBox(10, fundingChart);
+        Runnable[] run = new Runnable[1];
+        run[0] = () -> {
+            List<FundingAnalytics.Column> columns = new ArrayList<>();
+            for (CheckBox box : groupBy) {
+                if (box.isSelected()) {
+                    columns.add((FundingAnalytics.Column) box.getUserData());
+                }
+            }
+            Map<FundingAnalytics.Column, String> only = new EnumMap<>(FundingAnalytics.Column.class);
+            filters.forEach((column, filter) -> {
+                if (filter.getValue() != null && !filter.getValue().equals(ANY)) {
+                    only.put(column, filter.getValue());
+                }
+            });
+            FundingAnalytics.Query query = new FundingAnalytics.Query(columns, only);
+            DataLoader.load(() -> {
+                long start = System.nanoTime();
+                List<FundingAnalytics.Group> groups = analytics.query(query);
+                long micros = (System.nanoTime() - start) / 1000;
+                return Map.entry(groups, micros);
+            }, result -> {
+                showGroups(table, columns, result.getKey());
+                summary.setText(String.format("%,d funding requests in the snapshot, %,d groups, query took %,d µs",
+                        analytics.size(), result.getKey().size(), result.getValue()));
+            });
+        };
+        for (CheckBox box : groupBy) {
+            box.selectedProperty().addListener((obs, was, selected) -> {
+                long checked = groupBy.stream().filter(CheckBox::isSelected).count();
+                groupBy.forEach(b -> b.setDisable(!b.isSelected() && checked >= 3));
+                run[0].run();
+            });
+        }
+        filters.values().forEach(filter -> filter.setOnAction(e -> run[0].run()));
+
+        // Reloading reads only the funding changed since the last refresh, then re-runs the slice
+        tab.setReloader(() -> DataLoader.load(() -> {
+            analytics.refresh();
+            Map<FundingAnalytics.Column, List<String>> values = new EnumMap<>(FundingAnalytics.Column.class);
+            for (FundingAnalytics.Column column : FundingAnalytics.Column.values()) {
+                values.put(column, analytics.values(column));
+            }
+            return values;
+        }, values -> {
+            values.forEach((column, list) -> {
+                ComboBox<String> filter = filters.get(column);
+                String selected = filter.getValue();
+                List<String> items = new ArrayList<>(list.size() + 1);
+                items.add(ANY);
+                items.addAll(list);
+                filter.getItems().setAll(items);
+                filter.setValue(selected);
+            });
+            run[0].run();
+        }));
+        ChangeFeed.follow(tab, ChangeFeed.ADMIN_TOPIC, events -> tab.invalidate());
+
+        Button refresh = new Button("Refresh");
+        refresh.setOnAction(e -> tab.refresh());
+        HBox footer = new HBox(10, refresh, summary);
+
+        VBox layout = new VBox(10, groupBar, filterBar, table, footer);
         layout.setPadding(new Insets(10));
-        tab.setContent(layout);
-        return tab;
+        VBox.setVgrow(table, Priority.ALWAYS);
+        return layout;
+    }
+
+    private static void showGroups(TableView<FundingAnalytics.Group> table, List<FundingAnalytics.Column> columns,
+                                   List<FundingAnalytics.Group> groups) {
+        table.getColumns().clear();
+        for (int i = 0; i < columns.size(); i++) {
+            int index = i;
+            table.getColumns().add(TextColumns.of(columns.get(i).toString(), g -> g.key().get(index)));
+        }
+        table.getColumns().add(TextColumns.of("Requests", g -> String.format("%,d", g.count())));
+        table.getColumns().add(TextColumns.of("Total ask", g -> String.format("$%,.2f", g.total())));
+        table.getColumns().add(TextColumns.of("Median ask", g -> String.format("$%,.2f", g.median())));
+        table.getColumns().add(TextColumns.of("Accepted", g -> String.format("%.1f%%", g.acceptanceRate() * 100)));
+        table.getItems().setAll(groups);
     }
 
-    // Load Events from Database
-    private void loadEvents(ObservableList<EventData> data) {
-        data.clear();
-        try (Connection conn = DBConnection.getConnection()) {
-            String query = "SELECT id, title, description, event_date, location FROM events";
-            PreparedStatement ps = conn.prepareStatement(query);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                data.add(new EventData(rs.getInt("id"), rs.getString("title"),
-                        rs.getString("description"), rs.getString("event_date"),
-                        rs.getString("location")));
+    // Keyset pages of events, filtered and ordered by the filter bar's query
+    private static class EventPageSource implements PagedList.Source<EventData> {
+        private volatile TableQuery query = TableQuery.BY_ID;
+
+        @Override
+        public PageLayout layout(int pageSize) throws SQLException {
+            return Repositories.events().pageLayout(query, pageSize);
+        }
+
+        @Override
+        public List<EventData> page(Object afterKey, int limit) throws SQLException {
+            List<EventData> rows = new ArrayList<>(limit);
+            for (Event event : Repositories.events().findPage(query, (TableQuery.Key) afterKey, limit)) {
+                rows.add(new EventData(event.id(), event.title(), event.description(),
+                        event.eventDate(), event.location(), event.capacity(), event.rsvpCount()));
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return rows;
         }
     }
 
     // Add Event Dialog
-    private void showAddEventDialog(ObservableList<EventData> data) {
+    private void showAddEventDialog(Runnable reload) {
         Stage dialog = new Stage();
         dialog.setTitle("Add New Event");
 
@@ -152,114 +451,158 @@ public class AdminPage {
         TextField descriptionField = new TextField();
         descriptionField.setPromptText("Event Description");
 
-        TextField eventDateField = new TextField();
+        DatePicker eventDateField = new DatePicker();
         eventDateField.setPromptText("Event Date");
 
         TextField locationField = new TextField();
         locationField.setPromptText("Event Location");
 
+        TextField capacityField = new TextField();
+        capacityField.setPromptText("Capacity (blank for no limit)");
+
+        Label error = dialogError();
+
         Button saveBtn = new Button("Save");
         saveBtn.setOnAction(e -> {
             String title = titleField.getText();
             String description = descriptionField.getText();
-            String eventDate = eventDateField.getText();
+            LocalDate eventDate = eventDateField.getValue();
             String location = locationField.getText();
+            Integer capacity;
+            try {
+                capacity = capacityField.getText().isBlank() ? null : Integer.valueOf(capacityField.getText().trim());
+            } catch (NumberFormatException ex) {
+                capacityField.clear();
+                return;
+            }
 
-            if (!title.isEmpty() && !description.isEmpty() && !eventDate.isEmpty() && !location.isEmpty()) {
-                try (Connection conn = DBConnection.getConnection()) {
-                    PreparedStatement ps = conn.prepareStatement(
-                            "INSERT INTO events (title, description, event_date, location) VALUES (?, ?, ?, ?)",
-                            new String[] {"id"});
-                    ps.setString(1, title);
-                    ps.setString(2, description);
-                    ps.setString(3, eventDate);
-                    ps.setString(4, location);
-                    ps.executeUpdate();
-
-                    ResultSet rs = ps.getGeneratedKeys();
-                    if (rs.next()) {
-                        int eventId = rs.getInt(1);
-                        data.add(new EventData(eventId, title, description, eventDate, location));
-                        dialog.close();
-                    }
-                } catch (SQLException ex) {
-                    ex.printStackTrace();
-                }
+            if (!title.isEmpty() && !description.isEmpty() && eventDate != null && !location.isEmpty()
+                    && (capacity == null || capacity >= 0)) {
+                saveBtn.setDisable(true);
+                DataLoader.load(() -> Repositories.events().create(title, description, eventDate, location, capacity),
+                        eventId -> {
+                            reload.run();
+                            dialog.close();
+                        }, ex -> {
+                            saveBtn.setDisable(false);
+                            error.setText("Not saved: " + ex.getMessage());
+                        });
             }
         });
 
-        VBox layout = new VBox(10, titleField, descriptionField, eventDateField, locationField, saveBtn);
+        VBox layout = new VBox(10, titleField, descriptionField, eventDateField, locationField, capacityField, saveBtn, error);
         layout.setPadding(new Insets(20));
-        dialog.setScene(new Scene(layout, 300, 250));
+        dialog.setScene(new Scene(layout, 300, 320));
         dialog.show();
     }
 
-    // Update Event
-    private void updateEvent(EventData event) {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement ps = conn.prepareStatement("UPDATE events SET title=?, description=?, event_date=?, location=? WHERE id=?");
-            ps.setString(1, event.getTitle());
-            ps.setString(2, event.getDescription());
-            ps.setString(3, event.getEventDate());
-            ps.setString(4, event.getLocation());
-            ps.setInt(5, event.getId());
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    // Update Event: buffered, and written with the tab's other edits
+    private void updateEvent(EditBuffer<Integer, Event> edits, EventData event) {
+        edits.put(event.getId(), new Event(event.getId(), event.getTitle(), event.getDescription(),
+                event.getEventDate(), event.getLocation(), event.getCapacity(), event.getRsvps()));
     }
 
-    // Delete Event
-    private void deleteEvent(EventData event) {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement ps = conn.prepareStatement("DELETE FROM events WHERE id=?");
-            ps.setInt(1, event.getId());
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    // Save-now button and pending count for a tab's buffered edits, with the last flush's failures
+    private HBox editStatus(EditBuffer<Integer, ?> edits, Label errors) {
+        Label pending = new Label();
+        pending.textProperty().bind(Bindings.when(edits.pendingProperty().isEqualTo(0))
+                .then("All changes saved")
+                .otherwise(edits.pendingProperty().asString("%d unsaved change(s)")));
+        errors.setStyle("-fx-text-fill:#e74c3c;");
+
+        Button saveBtn = new Button("Save now");
+        saveBtn.disableProperty().bind(edits.pendingProperty().isEqualTo(0));
+        saveBtn.setOnAction(e -> edits.flush());
+
+        return new HBox(10, saveBtn, pending, errors);
     }
 
-    // Load Funding Data for Chart
-    private void loadFundingData(XYChart.Series<String, Number> fundingSeries) {
-        try (Connection conn = DBConnection.getConnection()) {
-            String query = "SELECT status, SUM(amount) as total_amount FROM funding GROUP BY status";
-            PreparedStatement ps = conn.prepareStatement(query);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                fundingSeries.getData().add(new XYChart.Data<>(rs.getString("status"), rs.getDouble("total_amount")));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    // Lists the rows a flush couldn't write; the tooltip has the database's reason for each
+    private static void showFailures(Label errors, Map<Integer, Throwable> failures) {
+        StringBuilder reasons = new StringBuilder();
+        failures.forEach((id, e) -> reasons.append("#").append(id).append(": ").append(e.getMessage()).append("\n"));
+        errors.setText(failures.size() + " row(s) not saved: #" + String.join(", #",
+                failures.keySet().stream().map(String::valueOf).toList()));
+        errors.setTooltip(new Tooltip(reasons.toString().trim()));
     }
 
+    // Delete Event, then reload the tab; a failure is shown in errors
+    private void deleteEvent(EventData event, Runnable reload, Label errors) {
+        DataLoader.load(() -> {
+            Repositories.events().delete(event.getId());
+            // Its places are gone too; RSVPs taken in this process are refused from now on
+            RsvpService.shared().forget(event.getId());
+            return true;
+        }, deleted -> reload.run(), e -> errors.setText("Event #" + event.getId() + " not deleted: " + e.getMessage()));
+    }
+
+    // Red text under a dialog's Save button for the reason a save failed
+    private static Label dialogError() {
+        Label error = new Label();
+        error.setStyle("-fx-text-fill:#e74c3c;");
+        error.setWrapText(true);
+        return error;
+    }
+
+    // Stands in for events whose page hasn't arrived yet
+    private static final EventData LOADING_EVENT = new EventData(null, "Loading...", "", null, "", null, 0);
+
     public static class EventData {
         private final Integer id;
-        private String title, description, eventDate, location;
+        private String title, description, location;
+        private LocalDate eventDate;
+        private Integer capacity;
+        private int rsvps;
 
-        public EventData(Integer id, String title, String description, String eventDate, String location) {
+        public EventData(Integer id, String title, String description, LocalDate eventDate, String location,
+                         Integer capacity, int rsvps) {
             this.id = id;
             this.title = title;
             this.description = description;
             this.eventDate = eventDate;
             this.location = location;
+            this.capacity = capacity;
+            this.rsvps = rsvps;
         }
 
         public Integer getId() { return id; }
         public String getTitle() { return title; }
         public String getDescription() { return description; }
-        public String getEventDate() { return eventDate; }
+        public LocalDate getEventDate() { return eventDate; }
         public String getLocation() { return location; }
+        public Integer getCapacity() { return capacity; }
+        public int getRsvps() { return rsvps; }
+        public String getRsvpText() { return id == null ? "" : capacity == null ? String.valueOf(rsvps) : rsvps + " / " + capacity; }
         public void setTitle(String title) { this.title = title; }
         public void setDescription(String description) { this.description = description; }
-        public void setEventDate(String eventDate) { this.eventDate = eventDate; }
+        public void setEventDate(LocalDate eventDate) { this.eventDate = eventDate; }
         public void setLocation(String location) { this.location = location; }
+        public void setCapacity(Integer capacity) { this.capacity = capacity; }
+        public void setRsvps(int rsvps) { this.rsvps = rsvps; }
     }
     private Tab createRoleTab(String title, String role) {
-        Tab tab = new Tab(title);
+        return new LazyTab(title, ADMIN_STALE_AFTER, tab -> buildRoleTab(tab, title, role));
+    }
+
+    private VBox buildRoleTab(LazyTab tab, String title, String role) {
         TableView<UserData> table = new TableView<>();
-        ObservableList<UserData> data = FXCollections.observableArrayList();
+        RolePageSource source = new RolePageSource(toDbRole(role));
+        PagedList<UserData> data = new PagedList<>(PAGE_SIZE, MAX_PAGES, source, i -> LOADING_ROW);
+        EditBuffer<Integer, User> edits = new EditBuffer<>(FLUSH_AFTER,
+                rows -> Repositories.users().updateContacts(role, rows),
+                row -> Repositories.users().updateContact(row.getId(), role, row.getName(), row.getEmail()));
+        editBuffers.add(edits);
+        // Pending edits go out first, so the reloaded rows include them
+        Runnable reload = () -> edits.flush().thenRun(data::reload);
+        Label editErrors = new Label();
+        edits.setOnSaved(() -> {
+            DirectoryCache.invalidate(role);
+            editErrors.setText("");
+        });
+        edits.setOnFailed(failures -> {
+            showFailures(editErrors, failures);
+            data.reload();
+        });
 
         TableColumn<UserData, Integer> idCol = new TableColumn<>("ID");
         idCol.setCellValueFactory(new PropertyValueFactory<>("id"));
@@ -269,8 +612,9 @@ public class AdminPage {
         nameCol.setCellFactory(TextFieldTableCell.forTableColumn());
         nameCol.setOnEditCommit(e -> {
             UserData u = e.getRowValue();
+            if (u == LOADING_ROW) return;
             u.setName(e.getNewValue());
-            updateUser(u, role);
+            updateUser(edits, u);
         });
 
         TableColumn<UserData, String> emailCol = new TableColumn<>("Email");
@@ -278,8 +622,9 @@ public class AdminPage {
         emailCol.setCellFactory(TextFieldTableCell.forTableColumn());
         emailCol.setOnEditCommit(e -> {
             UserData u = e.getRowValue();
+            if (u == LOADING_ROW) return;
             u.setEmail(e.getNewValue());
-            updateUser(u, role);
+            updateUser(edits, u);
         });
 
         table.getColumns().addAll(idCol, nameCol, emailCol);
@@ -289,50 +634,70 @@ public class AdminPage {
         emailCol.setEditable(true);
         table.setItems(data);
 
+        // Filtering and sorting run in the database, against the users (role, ...) indexes
+        FilterBar<UserData> filterBar = new FilterBar<>(table, query -> {
+            source.query = query;
+            reload.run();
+        });
+        filterBar.filter("id", "ID").filter("name", "Name starts with").filter("email", "Email starts with")
+                .sortable(idCol, "id").sortable(nameCol, "name").sortable(emailCol, "email");
+
         Button addBtn = new Button("Add " + title);
-        addBtn.setOnAction(e -> showAddDialog(role, data));
+        addBtn.setOnAction(e -> showAddDialog(role, reload));
 
         Button delBtn = new Button("Delete Selected");
         delBtn.setOnAction(e -> {
             UserData selected = table.getSelectionModel().getSelectedItem();
-            if (selected != null) {
-                deleteUser(selected, role);
-                data.remove(selected);
+            if (selected != null && selected != LOADING_ROW) {
+                // Pending edits go out first, so none of them lands after the delete
+                edits.flush().thenRun(() -> deleteUser(selected, role, reload, editErrors));
             }
         });
 
-        loadUsersByRole(data, role);
+        tab.setReloader(reload);
 
-        VBox layout = new VBox(10, table, new HBox(10, addBtn, delBtn));
+        VBox layout = new VBox(10, filterBar, table, new HBox(10, addBtn, delBtn), editStatus(edits, editErrors));
         layout.setPadding(new Insets(10));
-        tab.setContent(layout);
-        return tab;
+        return layout;
     }
 
-    private void loadUsersByRole(ObservableList<UserData> data, String role) {
-        data.clear();
-        try (Connection conn = DBConnection.getConnection()) {
-            String query = "SELECT id, name, email FROM users WHERE role = ?";
-            PreparedStatement ps = conn.prepareStatement(query);
-            // Use exact-case role to satisfy CHECK constraint
-            String dbRole = switch (role.toLowerCase()) {
-                case "admin" -> "Admin";
-                case "investor" -> "Investor";
-                case "mentor" -> "Mentor";
-                case "founder" -> "Founder";
-                default -> role;
-            };
-            ps.setString(1, dbRole);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                data.add(new UserData(rs.getInt("id"), rs.getString("name"), rs.getString("email")));
+    // Keyset pages of one role's users, filtered and ordered by the filter bar's query;
+    // dbRole must already be exact-case for the CHECK constraint
+    private static class RolePageSource implements PagedList.Source<UserData> {
+        private final String dbRole;
+        private volatile TableQuery query = TableQuery.BY_ID;
+
+        RolePageSource(String dbRole) {
+            this.dbRole = dbRole;
+        }
+
+        @Override
+        public PageLayout layout(int pageSize) throws SQLException {
+            return Repositories.users().pageLayoutByRole(dbRole, query, pageSize);
+        }
+
+        @Override
+        public List<UserData> page(Object afterKey, int limit) throws SQLException {
+            List<UserData> rows = new ArrayList<>(limit);
+            for (User user : Repositories.users().findPageByRole(dbRole, query, (TableQuery.Key) afterKey, limit)) {
+                rows.add(new UserData(user.getId(), user.getName(), user.getEmail()));
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return rows;
         }
     }
 
-    private void showAddDialog(String role, ObservableList<UserData> data) {
+    // Exact-case role names, as the users.role CHECK constraint expects
+    private static String toDbRole(String role) {
+        return switch (role.toLowerCase()) {
+            case "admin" -> "Admin";
+            case "investor" -> "Investor";
+            case "mentor" -> "Mentor";
+            case "founder" -> "Founder";
+            default -> role;
+        };
+    }
+
+    private void showAddDialog(String role, Runnable reload) {
         Stage dialog = new Stage();
         dialog.setTitle("Add New " + role);
 
@@ -345,6 +710,8 @@ public class AdminPage {
         PasswordField passwordField = new PasswordField();
         passwordField.setPromptText("Password");
 
+        Label error = dialogError();
+
         Button saveBtn = new Button("Save");
         saveBtn.setOnAction(e -> {
             String name = nameField.getText().trim();
@@ -352,87 +719,46 @@ public class AdminPage {
             String password = passwordField.getText().trim();
 
             if (!name.isEmpty() && !email.isEmpty() && !password.isEmpty()) {
-                try (Connection conn = DBConnection.getConnection()) {
-                    // Normalize role to match CHECK constraint
-                    String dbRole = switch (role.toLowerCase()) {
-                        case "admin" -> "Admin";
-                        case "investor" -> "Investor";
-                        case "mentor" -> "Mentor";
-                        case "founder" -> "Founder";
-                        default -> role;
-                    };
-
-                    // Insert into users table
-                    PreparedStatement ps = conn.prepareStatement(
-                            "INSERT INTO users (name, email, password, role) VALUES (?, ?, ?, ?)",
-                            new String[]{"id"}
-                    );
-                    ps.setString(1, name);
-                    ps.setString(2, email);
-                    ps.setString(3, password);
-                    ps.setString(4, dbRole);
-                    ps.executeUpdate();
-
-                    ResultSet rs = ps.getGeneratedKeys();
-                    if (rs.next()) {
-                        int userId = rs.getInt(1);
-
-                        // Insert into role-specific table
-                        PreparedStatement roleStmt = conn.prepareStatement(
-                                "INSERT INTO " + role + "s (user_id, name, email) VALUES (?, ?, ?)"
-                        );
-                        roleStmt.setInt(1, userId);
-                        roleStmt.setString(2, name);
-                        roleStmt.setString(3, email);
-                        roleStmt.executeUpdate();
-
-                        data.add(new UserData(userId, name, email));
-                        dialog.close();
-                    }
-                } catch (SQLException ex) {
-                    ex.printStackTrace();
-                }
+                saveBtn.setDisable(true);
+                DataLoader.load(() -> {
+                    // users row and role row in one transaction
+                    int userId = Repositories.registrations().register(
+                            new RegistrationRepository.Registration(name, email, password, role));
+                    DirectoryCache.invalidate(role);
+                    return userId;
+                }, userId -> {
+                    reload.run();
+                    dialog.close();
+                }, ex -> {
+                    saveBtn.setDisable(false);
+                    error.setText("Not saved: " + ex.getMessage());
+                });
             }
         });
 
-        VBox layout = new VBox(10, nameField, emailField, passwordField, saveBtn);
+        VBox layout = new VBox(10, nameField, emailField, passwordField, saveBtn, error);
         layout.setPadding(new Insets(20));
-        dialog.setScene(new Scene(layout, 300, 200));
+        dialog.setScene(new Scene(layout, 300, 230));
         dialog.show();
     }
 
-    private void updateUser(UserData user, String role) {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement ps = conn.prepareStatement("UPDATE users SET name=?, email=? WHERE id=?");
-            ps.setString(1, user.getName());
-            ps.setString(2, user.getEmail());
-            ps.setInt(3, user.getId());
-            ps.executeUpdate();
-
-            PreparedStatement roleStmt = conn.prepareStatement("UPDATE " + role + "s SET name=?, email=? WHERE user_id=?");
-            roleStmt.setString(1, user.getName());
-            roleStmt.setString(2, user.getEmail());
-            roleStmt.setInt(3, user.getId());
-            roleStmt.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    // Buffered, and written with the tab's other edits
+    private void updateUser(EditBuffer<Integer, User> edits, UserData user) {
+        edits.put(user.getId(), new User(user.getId(), user.getName(), user.getEmail(), null, null));
     }
 
-    private void deleteUser(UserData user, String role) {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement ps1 = conn.prepareStatement("DELETE FROM " + role + "s WHERE user_id=?");
-            ps1.setInt(1, user.getId());
-            ps1.executeUpdate();
-
-            PreparedStatement ps2 = conn.prepareStatement("DELETE FROM users WHERE id=?");
-            ps2.setInt(1, user.getId());
-            ps2.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    // Then reloads the tab; a failure is shown in errors
+    private void deleteUser(UserData user, String role, Runnable reload, Label errors) {
+        DataLoader.load(() -> {
+            Repositories.users().delete(user.getId(), role);
+            DirectoryCache.invalidate(role);
+            return true;
+        }, deleted -> reload.run(), e -> errors.setText("#" + user.getId() + " not deleted: " + e.getMessage()));
     }
 
+    // Stands in for rows whose page hasn't arrived yet
+    private static final UserData LOADING_ROW = new UserData(null, "Loading...", "");
+
     public static class UserData {
         private final Integer id;
         private String name, email;
@@ -0,0 +1,5 @@
+// support_id is the investor or mentor the application was sent to. Exactly one of fundingId and
+// mentorRequestId is set: the funding or mentor_requests row the application was submitted with.
+public record Application(int id, int founderId, String ideaDesc, String stage, String status,
+                          int supportId, String supportName, Integer fundingId, Integer mentorRequestId) {
+}
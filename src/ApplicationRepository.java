@@ -0,0 +1,12 @@
+import java.sql.SQLException;
+import java.util.List;
+
+// Reads of applications by key; applications are written with the funding or mentor request they
+// belong to (FundingRepository.submit, MentorRequestRepository.submit)
+public interface ApplicationRepository {
+    // Up to limit applications with id > afterId, by id (a primary key range read)
+    List<Application> findAfter(int afterId, int limit) throws SQLException;
+
+    // The applications with these ids that exist, in no particular order
+    List<Application> findByIds(List<Integer> ids) throws SQLException;
+}
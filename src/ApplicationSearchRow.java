@@ -0,0 +1,8 @@
+// One search result: an application with its relevance, formatted once at load
+public record ApplicationSearchRow(int applicationId, String founderName, String ideaDesc, String stage,
+                                   String status, String scoreText) {
+    public static ApplicationSearchRow of(Application application, double score) {
+        return new ApplicationSearchRow(application.id(), application.supportName(), application.ideaDesc(),
+                application.stage(), application.status(), String.format("%.2f", score));
+    }
+}
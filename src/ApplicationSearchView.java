@@ -0,0 +1,106 @@
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keyword search over the applications sent to one investor or mentor, past and pending, shared by
+// both dashboards. Each search first catches IdeaSearchIndex up with new applications (one primary
+// key range read), then ranks in memory and fetches the top rows by id.
+public final class ApplicationSearchView {
+    private static final int RESULTS = 50;
+
+    private record Results(List<ApplicationSearchRow> rows, int indexed, long micros) {
+    }
+
+    private ApplicationSearchView() {
+    }
+
+    public static VBox build(LazyTab tab, int supportId) {
+        VBox layout = new VBox(15);
+        layout.setPadding(new Insets(20));
+
+        Label header = new Label("Search Applications");
+        header.setFont(Font.font("Verdana", FontWeight.BOLD, 18));
+        header.setTextFill(Color.web("#34495e"));
+
+        TextField queryField = new TextField();
+        queryField.setPromptText("Keywords from the idea description, e.g. logistics marketplace");
+        queryField.setPrefColumnCount(40);
+        Button searchButton = new Button("Search");
+        HBox searchBar = new HBox(10, queryField, searchButton);
+        searchBar.setAlignment(Pos.CENTER_LEFT);
+
+        Label summary = new Label();
+        summary.setTextFill(Color.web("#7f8c8d"));
+
+        TableView<ApplicationSearchRow> table = ModernTable.create();
+        TableColumn<ApplicationSearchRow, ApplicationSearchRow> nameCol = TextColumns.of("Founder Name", ApplicationSearchRow::founderName);
+        nameCol.setStyle("-fx-font-weight:bold; -fx-text-fill:#2c3e50;");
+        table.getColumns().addAll(List.of(nameCol,
+                TextColumns.of("Idea Description", ApplicationSearchRow::ideaDesc),
+                TextColumns.of("Stage", ApplicationSearchRow::stage),
+                TextColumns.of("Status", ApplicationSearchRow::status),
+                TextColumns.of("Relevance", ApplicationSearchRow::scoreText)));
+        table.setPlaceholder(new Label("Search your applications by keyword"));
+
+        Runnable search = () -> {
+            String query = queryField.getText().trim();
+            if (query.isEmpty()) {
+                return;
+            }
+            searchButton.setDisable(true);
+            table.setPlaceholder(new Label(IdeaSearchIndex.shared().size() == 0 ? "Building the search index..." : "Searching..."));
+            DataLoader.load(() -> {
+                IdeaSearchIndex index = IdeaSearchIndex.shared();
+                index.refresh();
+                long started = System.nanoTime();
+                List<IdeaSearchIndex.Hit> hits = index.search(query, supportId, RESULTS);
+                long micros = (System.nanoTime() - started) / 1000;
+                List<Integer> ids = new ArrayList<>(hits.size());
+                for (IdeaSearchIndex.Hit hit : hits) {
+                    ids.add(hit.applicationId());
+                }
+                Map<Integer, Application> byId = new HashMap<>();
+                for (Application application : Repositories.applications().findByIds(ids)) {
+                    byId.put(application.id(), application);
+                }
+                List<ApplicationSearchRow> rows = new ArrayList<>(hits.size());
+                for (IdeaSearchIndex.Hit hit : hits) {
+                    Application application = byId.get(hit.applicationId());
+                    if (application != null) {
+                        rows.add(ApplicationSearchRow.of(application, hit.score()));
+                    }
+                }
+                return new Results(rows, index.size(), micros);
+            }, results -> {
+                searchButton.setDisable(false);
+                table.setPlaceholder(new Label("No application mentions those words"));
+                table.getItems().setAll(results.rows());
+                summary.setText(String.format("%d best matches of %,d applications indexed, ranked in %,d µs",
+                        results.rows().size(), results.indexed(), results.micros()));
+            }, e -> {
+                searchButton.setDisable(false);
+                table.setPlaceholder(new Label("Could not load data"));
+            });
+        };
+        searchButton.setOnAction(e -> search.run());
+        queryField.setOnAction(e -> search.run());
+        tab.setReloader(search);
+
+        layout.getChildren().addAll(header, searchBar, summary, table);
+        return layout;
+    }
+}
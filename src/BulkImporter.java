@@ -0,0 +1,229 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Headless cohort import: streams a CSV of name,email,password,role (header row first) and registers
+// each row as a user plus its founders/investors/mentors row. Rows are read one at a time, so
+// memory stays flat whatever the file size. Every batch is one registerAll call, i.e. one
+// transaction, and after each commit the number of lines done goes to a checkpoint file. A
+// rerun with the same checkpoint skips those lines. Rows that fail validation or are refused by
+// the database go to <csv>.rejects with their line number and reason, and the import carries on.
+//
+//   java BulkImporter cohort.csv [batchSize]       (-Dapp.backend=memory for a dry run)
+public class BulkImporter {
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final long REPORT_EVERY_NANOS = 5_000_000_000L;
+    private static final Pattern EMAIL = Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
+    private static final Set<String> ROLES = Set.of("investor", "mentor", "founder");
+
+    private final Path csv;
+    private final Path checkpoint;
+    private final Path rejects;
+    private final int batchSize;
+
+    private long imported;
+    private long rejected;
+    private long startedAt;
+    private long lastReportAt;
+
+    public BulkImporter(Path csv, int batchSize) {
+        this.csv = csv;
+        this.checkpoint = Path.of(csv + ".checkpoint");
+        this.rejects = Path.of(csv + ".rejects");
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("usage: java BulkImporter <file.csv> [batchSize]");
+            System.exit(2);
+        }
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_BATCH_SIZE;
+        if (Repositories.isOracle()) {
+            DBConnection.warmUp();
+        }
+        try {
+            new BulkImporter(Path.of(args[0]), batchSize).run();
+        } catch (IOException | SQLException e) {
+            e.printStackTrace();
+            System.err.println("Import stopped; rerun to resume from the last checkpoint.");
+            System.exit(1);
+        } finally {
+            if (Repositories.isOracle()) {
+                DBConnection.shutdown();
+            }
+        }
+    }
+
+    public void run() throws IOException, SQLException {
+        long done = readCheckpoint();
+        startedAt = lastReportAt = System.nanoTime();
+        try (BufferedReader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+             BufferedWriter rejectOut = Files.newBufferedWriter(rejects, StandardCharsets.UTF_8,
+                     StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            in.readLine(); // header
+            long line = 0;
+            while (line < done && in.readLine() != null) {
+                line++;
+            }
+            if (done > 0) {
+                System.out.println("Resuming after line " + done);
+            }
+
+            List<RegistrationRepository.Registration> batch = new ArrayList<>(batchSize);
+            List<Long> batchLines = new ArrayList<>(batchSize);
+            String text;
+            while ((text = in.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(parse(text));
+                    batchLines.add(line);
+                } catch (IllegalArgumentException e) {
+                    reject(rejectOut, line, e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    write(batch, batchLines, rejectOut);
+                    saveCheckpoint(line);
+                }
+            }
+            write(batch, batchLines, rejectOut);
+            saveCheckpoint(line);
+        }
+        report("Done");
+    }
+
+    private void write(List<RegistrationRepository.Registration> batch, List<Long> lines,
+                       BufferedWriter rejectOut) throws IOException, SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            Repositories.registrations().registerAll(batch);
+            imported += batch.size();
+        } catch (SQLException e) {
+            if (isConnectionFailure(e)) {
+                throw e;
+            }
+            // The batch was rolled back; register its rows one by one to find the ones the database refuses.
+            // Each row commits alone, so each is checkpointed alone: a resumed run must not register it again.
+            for (int i = 0; i < batch.size(); i++) {
+                RegistrationRepository.Registration r = batch.get(i);
+                try {
+                    Repositories.registrations().register(r);
+                    imported++;
+                } catch (SQLException rowError) {
+                    if (isConnectionFailure(rowError)) {
+                        throw rowError;
+                    }
+                    reject(rejectOut, lines.get(i), r.email() + ": " + rowError.getMessage());
+                }
+                rejectOut.flush();
+                saveCheckpoint(lines.get(i));
+            }
+        }
+        batch.clear();
+        lines.clear();
+        rejectOut.flush();
+        if (System.nanoTime() - lastReportAt >= REPORT_EVERY_NANOS) {
+            report("Progress");
+        }
+    }
+
+    private RegistrationRepository.Registration parse(String text) {
+        List<String> fields = splitCsv(text);
+        if (fields.size() != 4) {
+            throw new IllegalArgumentException("expected 4 fields, found " + fields.size());
+        }
+        String name = fields.get(0).trim();
+        String email = fields.get(1).trim();
+        String password = fields.get(2);
+        String role = fields.get(3).trim();
+        if (name.isEmpty() || password.isEmpty()) {
+            throw new IllegalArgumentException("name and password are required");
+        }
+        if (!EMAIL.matcher(email).matches()) {
+            throw new IllegalArgumentException("invalid email " + email);
+        }
+        if (!ROLES.contains(role.toLowerCase())) {
+            throw new IllegalArgumentException("role must be Investor, Mentor or Founder");
+        }
+        return new RegistrationRepository.Registration(name, email, password, role);
+    }
+
+    // RFC 4180 fields: commas separate, double quotes enclose, "" is a literal quote
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Lost connections stop the import (to resume later) instead of rejecting every row
+    private static boolean isConnectionFailure(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+
+    // Only the line number and reason are written; the CSV line itself has a password in it
+    private void reject(BufferedWriter out, long line, String reason) throws IOException {
+        rejected++;
+        out.write("line " + line + ": " + reason);
+        out.newLine();
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(checkpoint).trim());
+    }
+
+    // Written beside the real file and moved over it, so a crash never leaves half a number
+    private void saveCheckpoint(long line) throws IOException {
+        Path tmp = Path.of(checkpoint + ".tmp");
+        Files.writeString(tmp, Long.toString(line));
+        Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void report(String label) {
+        long now = System.nanoTime();
+        lastReportAt = now;
+        double seconds = Math.max((now - startedAt) / 1e9, 1e-9);
+        System.out.printf("%s: %d imported, %d rejected, %.0f rows/s%n",
+                label, imported, rejected, (imported + rejected) / seconds);
+    }
+}
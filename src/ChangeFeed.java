@@ -0,0 +1,274 @@
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// The app's one connection to a ChangeFeedServer, shared by every open view. Off unless started
+// with -Dfeed.address=host[:port]; then publish is a non-blocking hand-off to a writer thread, and
+// subscribers get the events that arrived together as one list, on the FX thread. After a lost
+// connection it reconnects with backoff, subscribes again and tells every subscriber to resync,
+// since anything published in between was missed. Events published before the first connection
+// or while reconnecting wait in the outbox and go out once connected. Publishing is still best
+// effort: events are dropped when more than OUTBOX_CAPACITY are waiting, so views keep a slow poll.
+public final class ChangeFeed {
+    private static final String ADDRESS = System.getProperty("feed.address");
+    private static final int OUTBOX_CAPACITY = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    // Funding submitted or decided, by funding id, for admin dashboards
+    public static final String ADMIN_TOPIC = "admin";
+    // Registrations stored for an event, by event id, for live RSVP counts
+    public static final String EVENTS_TOPIC = "events";
+    // Payloads: a request has arrived in an inbox, or its owner has accepted or rejected it
+    private static final String NEW = "new ";
+    private static final String DECIDED = "decided ";
+
+    private static final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private static final BlockingQueue<String> outbox = new ArrayBlockingQueue<>(OUTBOX_CAPACITY);
+    // Guarded by itself; the writer waits on it for the reader to connect
+    private static final Object connection = new Object();
+    private static SocketChannel channel;
+    private static boolean started;
+
+    private ChangeFeed() {
+    }
+
+    public static boolean isEnabled() {
+        return ADDRESS != null && !ADDRESS.isBlank();
+    }
+
+    // The topic of one user's inbox, e.g. investor:42
+    public static String inboxTopic(String role, int userId) {
+        return role + ":" + userId;
+    }
+
+    public static void publishNew(String topic, int id) {
+        publish(topic, NEW + id);
+    }
+
+    public static void publishDecided(String topic, int id) {
+        publish(topic, DECIDED + id);
+    }
+
+    // The id in a "decided" event, or -1 for any other event
+    public static int decidedId(String payload) {
+        return payload.startsWith(DECIDED) ? Integer.parseInt(payload.substring(DECIDED.length())) : -1;
+    }
+
+    public static void publish(String topic, String payload) {
+        if (!isEnabled()) {
+            return;
+        }
+        start();
+        if (!outbox.offer("PUB " + topic + " " + payload + "\n")) {
+            System.err.println("Change feed: dropped " + topic + " " + payload);
+        }
+    }
+
+    // onEvents gets the payloads of events on the topic that arrived together; onResync is called
+    // when events may have been missed. Both run on the FX thread.
+    public static Subscription subscribe(String topic, Consumer<List<String>> onEvents, Runnable onResync) {
+        Subscription subscription = new Subscription(topic, onEvents, onResync);
+        if (!isEnabled()) {
+            return subscription;
+        }
+        start();
+        List<Subscription> list = subscriptions.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>());
+        synchronized (list) {
+            if (list.isEmpty()) {
+                outbox.offer("SUB " + topic + "\n");
+            }
+            list.add(subscription);
+        }
+        return subscription;
+    }
+
+    // Subscribes a tab's view for as long as the tab is on screen. Events go to onEvents; a
+    // resync marks the tab's data out of date.
+    public static Subscription follow(LazyTab tab, String topic, Consumer<List<String>> onEvents) {
+        Subscription[] subscription = new Subscription[1];
+        subscription[0] = subscribe(topic, events -> {
+            if (tab.isOnScreen()) {
+                onEvents.accept(events);
+            } else {
+                subscription[0].close();
+            }
+        }, () -> {
+            if (tab.isOnScreen()) {
+                tab.invalidate();
+            } else {
+                subscription[0].close();
+            }
+        });
+        return subscription[0];
+    }
+
+    public static final class Subscription implements AutoCloseable {
+        private final String topic;
+        private final Consumer<List<String>> onEvents;
+        private final Runnable onResync;
+
+        private Subscription(String topic, Consumer<List<String>> onEvents, Runnable onResync) {
+            this.topic = topic;
+            this.onEvents = onEvents;
+            this.onResync = onResync;
+        }
+
+        @Override
+        public void close() {
+            List<Subscription> list = subscriptions.get(topic);
+            if (list == null) {
+                return;
+            }
+            synchronized (list) {
+                if (list.remove(this) && list.isEmpty()) {
+                    outbox.offer("UNSUB " + topic + "\n");
+                }
+            }
+        }
+    }
+
+    private static synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        Thread.ofVirtual().name("change-feed-reader").start(ChangeFeed::readLoop);
+        Thread.ofVirtual().name("change-feed-writer").start(ChangeFeed::writeLoop);
+    }
+
+    private static InetSocketAddress address() {
+        int colon = ADDRESS.lastIndexOf(':');
+        return colon < 0
+                ? new InetSocketAddress(ADDRESS.trim(), ChangeFeedServer.DEFAULT_PORT)
+                : new InetSocketAddress(ADDRESS.substring(0, colon).trim(), Integer.parseInt(ADDRESS.substring(colon + 1).trim()));
+    }
+
+    private static void readLoop() {
+        long backoff = 1000;
+        boolean reconnect = false;
+        while (true) {
+            try (SocketChannel ch = SocketChannel.open(address())) {
+                ch.socket().setTcpNoDelay(true);
+                // Published before the snapshot below, so a subscribe racing with it is sent at least once
+                connected(ch);
+                StringBuilder subs = new StringBuilder();
+                subscriptions.forEach((topic, list) -> {
+                    if (!list.isEmpty()) {
+                        subs.append("SUB ").append(topic).append('\n');
+                    }
+                });
+                ch.write(ByteBuffer.wrap(subs.toString().getBytes(StandardCharsets.UTF_8)));
+                backoff = 1000;
+                if (reconnect) {
+                    resyncAll();
+                }
+                reconnect = true;
+                read(ch);
+            } catch (IOException e) {
+                System.err.println("Change feed: " + e.getMessage() + "; retrying in " + backoff / 1000 + " s");
+            }
+            connected(null);
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    // Each read's complete lines are delivered together, grouped by topic
+    private static void read(SocketChannel ch) throws IOException {
+        ByteBuffer in = ByteBuffer.allocate(64 * 1024);
+        while (ch.read(in) >= 0) {
+            in.flip();
+            Map<String, List<String>> batch = new LinkedHashMap<>();
+            boolean resync = false;
+            int start = in.position();
+            for (int i = start; i < in.limit(); i++) {
+                if (in.get(i) == '\n') {
+                    String[] parts = new String(in.array(), start, i - start, StandardCharsets.UTF_8).split(" ", 3);
+                    if (parts[0].equals("EVT") && parts.length == 3) {
+                        batch.computeIfAbsent(parts[1], t -> new ArrayList<>()).add(parts[2]);
+                    } else if (parts[0].equals("RESYNC")) {
+                        resync = true;
+                    }
+                    start = i + 1;
+                }
+            }
+            in.position(start);
+            in.compact();
+            if (resync) {
+                resyncAll();
+            } else {
+                batch.forEach(ChangeFeed::deliver);
+            }
+        }
+    }
+
+    private static void deliver(String topic, List<String> payloads) {
+        for (Subscription subscription : subscriptions.getOrDefault(topic, List.of())) {
+            Platform.runLater(() -> subscription.onEvents.accept(payloads));
+        }
+    }
+
+    private static void resyncAll() {
+        subscriptions.values().forEach(list -> list.forEach(subscription -> Platform.runLater(subscription.onResync)));
+    }
+
+    private static void connected(SocketChannel ch) {
+        synchronized (connection) {
+            channel = ch;
+            connection.notifyAll();
+        }
+    }
+
+    // Blocks until there is a connection other than the one that just failed (null for none)
+    private static SocketChannel awaitConnection(SocketChannel failed) throws InterruptedException {
+        synchronized (connection) {
+            while (channel == null || channel == failed) {
+                connection.wait();
+            }
+            return channel;
+        }
+    }
+
+    // Writes whatever is waiting in one go, so a burst of publishes costs one write. Lines wait here
+    // until there is a connection; those whose write failed are sent again on the next one.
+    private static void writeLoop() {
+        List<String> lines = new ArrayList<>();
+        SocketChannel ch = null;
+        SocketChannel failed = null;
+        while (true) {
+            try {
+                if (lines.isEmpty()) {
+                    lines.add(outbox.take());
+                }
+                ch = awaitConnection(failed);
+                outbox.drainTo(lines);
+                ch.write(ByteBuffer.wrap(String.join("", lines).getBytes(StandardCharsets.UTF_8)));
+                lines.clear();
+                failed = null;
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                // The reader sees the broken connection, reconnects and subscribes again
+                System.err.println("Change feed: " + e.getMessage());
+                failed = ch;
+            }
+        }
+    }
+}
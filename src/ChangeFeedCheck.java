@@ -0,0 +1,88 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+// Runs a founder session against a ChangeFeedServer started in this process and checks that its
+// first funding submit reaches a subscribed investor at once. The founder side is this process's
+// ChangeFeed, which has not connected yet when the submit publishes, as in a fresh FounderPage; the
+// investor is a plain socket on the same server. Exits with status 1 if the event does not arrive
+// within -Dcheck.timeoutMillis (default 5000).
+//
+//   java -Dapp.backend=memory ChangeFeedCheck [port]     (default 7421)
+public class ChangeFeedCheck {
+    private static final int TIMEOUT_MILLIS = Integer.getInteger("check.timeoutMillis", 5000);
+
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : ChangeFeedServer.DEFAULT_PORT + 1;
+        // Before ChangeFeed is first used, so it reads this address
+        System.setProperty("feed.address", "127.0.0.1:" + port);
+        try {
+            ChangeFeedServer server = new ChangeFeedServer(new InetSocketAddress("127.0.0.1", port));
+            Thread.ofVirtual().name("change-feed-server").start(() -> {
+                try {
+                    server.run();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            });
+            System.exit(new ChangeFeedCheck().run(port) ? 0 : 1);
+        } catch (IOException | SQLException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    private boolean run(int port) throws IOException, SQLException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        int founder = Repositories.registrations().register(new RegistrationRepository.Registration(
+                "Feed Founder", "feed-founder-" + run + "@example.com", "feed", "founder"));
+        int investor = Repositories.registrations().register(new RegistrationRepository.Registration(
+                "Feed Investor", "feed-investor-" + run + "@example.com", "feed", "investor"));
+        String topic = ChangeFeed.inboxTopic("investor", investor);
+
+        try (Socket socket = new Socket("127.0.0.1", port)) {
+            socket.setSoTimeout(TIMEOUT_MILLIS);
+            OutputStream out = socket.getOutputStream();
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            // The server handles a connection's lines in order, so once the ping comes back the SUB is in place
+            String ping = "check-" + run;
+            out.write(("SUB " + topic + "\nSUB " + ping + "\nPUB " + ping + " ready\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            if (!awaitLine(in, "EVT " + ping + " ready")) {
+                System.out.println("FAILED: the investor's subscription was not confirmed");
+                return false;
+            }
+
+            long begun = System.nanoTime();
+            FundingRepository.Submission submitted = FounderPage.submitFunding(investor, founder, "Feed Founder",
+                    25_000, "Change feed check", "MVP");
+            String expected = "EVT " + topic + " new " + submitted.fundingId();
+            if (!awaitLine(in, expected)) {
+                System.out.println("FAILED: the first submit did not reach the investor within " + TIMEOUT_MILLIS + " ms");
+                return false;
+            }
+            System.out.printf("OK: first submit reached the investor in %.1f ms%n", (System.nanoTime() - begun) / 1e6);
+            return true;
+        }
+    }
+
+    private static boolean awaitLine(BufferedReader in, String expected) throws IOException {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.equals(expected)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (SocketTimeoutException e) {
+            return false;
+        }
+    }
+}
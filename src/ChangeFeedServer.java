@@ -0,0 +1,257 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+// Topic fan-out for open dashboards, one selector thread for every connection. Each app keeps a
+// single connection and speaks newline-terminated UTF-8 lines:
+//
+//   client -> server   SUB <topic> | UNSUB <topic> | PUB <topic> <payload>
+//   server -> client   EVT <topic> <payload> | RESYNC
+//
+// Everything published during one select round is queued per subscriber and written with one
+// gathering write, so a burst reaches each client in as few packets as it allows. A client that
+// stops reading may have up to feed.maxPendingBytes queued; past that its queue is dropped and it
+// is sent RESYNC instead, telling it to reload from the database. Nothing is stored: a client that
+// was not connected when a change was published finds it on its next reload.
+//
+// The feed carries ids, never row contents, and has no authentication; run it on localhost or a
+// trusted LAN.
+//
+//   java ChangeFeedServer [port] [bindAddress]     (default 7420 on 127.0.0.1; 0.0.0.0 for the LAN)
+public class ChangeFeedServer {
+    static final int DEFAULT_PORT = 7420;
+    // Longest line a client may send, topic and payload included
+    static final int MAX_LINE = 4096;
+    private static final int MAX_PENDING_BYTES = Integer.getInteger("feed.maxPendingBytes", 256 * 1024);
+    private static final byte[] RESYNC = "RESYNC\n".getBytes(StandardCharsets.UTF_8);
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Map<String, Set<Client>> subscribers = new HashMap<>();
+    // Clients given output this round, written once the round's input is all handled
+    private final Set<Client> dirty = new HashSet<>();
+
+    public ChangeFeedServer(InetSocketAddress address) throws IOException {
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(address);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String bind = args.length > 1 ? args[1] : "127.0.0.1";
+        try {
+            ChangeFeedServer feed = new ChangeFeedServer(new InetSocketAddress(bind, port));
+            System.out.println("Change feed listening on " + bind + ":" + port);
+            feed.run();
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    public void run() throws IOException {
+        while (server.isOpen()) {
+            selector.select();
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                try {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Client client = (Client) key.attachment();
+                        if (key.isReadable()) {
+                            client.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            dirty.add(client);
+                        }
+                    }
+                } catch (IOException e) {
+                    if (key.attachment() instanceof Client client) {
+                        client.close();
+                    }
+                }
+            }
+            for (Client client : dirty) {
+                client.flush();
+            }
+            dirty.clear();
+        }
+    }
+
+    public void close() throws IOException {
+        server.close();
+        selector.close();
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new Client(channel, key));
+    }
+
+    private void publish(String topic, String payload) {
+        Set<Client> clients = subscribers.get(topic);
+        if (clients == null) {
+            return;
+        }
+        byte[] line = ("EVT " + topic + " " + payload + "\n").getBytes(StandardCharsets.UTF_8);
+        for (Client client : clients) {
+            client.send(line);
+        }
+    }
+
+    private final class Client {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer in = ByteBuffer.allocate(MAX_LINE);
+        private final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        private final Set<String> topics = new HashSet<>();
+        private int pendingBytes;
+        // Set once the queue overflowed; later events are dropped until RESYNC has been written
+        private boolean resyncing;
+
+        Client(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        void read() throws IOException {
+            if (channel.read(in) < 0) {
+                close();
+                return;
+            }
+            in.flip();
+            int start = in.position();
+            for (int i = start; i < in.limit(); i++) {
+                if (in.get(i) == '\n') {
+                    handle(new String(in.array(), start, i - start, StandardCharsets.UTF_8));
+                    start = i + 1;
+                }
+            }
+            in.position(start);
+            in.compact();
+            if (!in.hasRemaining()) {
+                throw new IOException("Line longer than " + MAX_LINE + " bytes");
+            }
+        }
+
+        private void handle(String line) {
+            String[] parts = line.split(" ", 3);
+            switch (parts[0]) {
+                case "SUB" -> {
+                    if (parts.length == 2 && topics.add(parts[1])) {
+                        subscribers.computeIfAbsent(parts[1], t -> new HashSet<>()).add(this);
+                    }
+                }
+                case "UNSUB" -> {
+                    if (parts.length == 2 && topics.remove(parts[1])) {
+                        unsubscribe(parts[1]);
+                    }
+                }
+                case "PUB" -> {
+                    if (parts.length == 3) {
+                        publish(parts[1], parts[2]);
+                    }
+                }
+                default -> {
+                    // Unknown commands are ignored, so older servers tolerate newer clients
+                }
+            }
+        }
+
+        void send(byte[] line) {
+            if (resyncing) {
+                return;
+            }
+            if (pendingBytes + line.length > MAX_PENDING_BYTES) {
+                // Too far behind to catch up event by event: it will reload everything instead. A
+                // line already partly written is kept, so the stream stays whole lines.
+                ByteBuffer head = out.peek();
+                out.clear();
+                pendingBytes = 0;
+                if (head != null && head.position() > 0) {
+                    out.add(head);
+                    pendingBytes = head.capacity();
+                }
+                out.add(ByteBuffer.wrap(RESYNC));
+                pendingBytes += RESYNC.length;
+                resyncing = true;
+            } else {
+                out.add(ByteBuffer.wrap(line));
+                pendingBytes += line.length;
+            }
+            dirty.add(this);
+        }
+
+        void flush() {
+            if (!key.isValid()) {
+                return;
+            }
+            try {
+                channel.write(out.toArray(new ByteBuffer[0]));
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            while (!out.isEmpty() && !out.peek().hasRemaining()) {
+                pendingBytes -= out.poll().capacity();
+            }
+            if (out.isEmpty()) {
+                resyncing = false;
+                key.interestOps(SelectionKey.OP_READ);
+            } else {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        }
+
+        void close() {
+            for (String topic : new ArrayList<>(topics)) {
+                unsubscribe(topic);
+            }
+            topics.clear();
+            out.clear();
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        private void unsubscribe(String topic) {
+            Set<Client> clients = subscribers.get(topic);
+            if (clients != null) {
+                clients.remove(this);
+                if (clients.isEmpty()) {
+                    subscribers.remove(topic);
+                }
+            }
+        }
+    }
+}
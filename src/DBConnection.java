@@ -1,18 +1,393 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DBConnection {
     private static final String URL = "jdbc:oracle:thin:@localhost:1521:xe"; // Replace with your Oracle DB URL
     private static final String USER = "ponsivanesh"; // Replace with your Oracle username
     private static final String PASSWORD = "sivu"; // Replace with your Oracle password
 
-    public static Connection getConnection() throws SQLException {
+    // Pool settings, overridable with -Ddb.pool.<name>=<value>
+    private static final int MAX_SIZE = Integer.getInteger("db.pool.maxSize", 8);
+    private static final int MIN_IDLE = Integer.getInteger("db.pool.minIdle", 2);
+    private static final long ACQUIRE_TIMEOUT_MS = Long.getLong("db.pool.acquireTimeoutMs", 30_000);
+    private static final long IDLE_TIMEOUT_MS = Long.getLong("db.pool.idleTimeoutMs", 300_000);
+    private static final long VALIDATE_AFTER_MS = Long.getLong("db.pool.validateAfterMs", 30_000);
+    private static final long LEAK_THRESHOLD_MS = Long.getLong("db.pool.leakThresholdMs", 10_000);
+    private static final String VALIDATION_QUERY = "SELECT 1 FROM dual";
+
+    // Leased connections hold a permit; idle + leased never exceeds MAX_SIZE
+    private static final Semaphore permits = new Semaphore(MAX_SIZE, true);
+    private static final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private static final Set<PooledConnection> leased = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Set by shutdown(); connections handed back after it are closed, not kept. Guarded by idle.
+    private static boolean shutDown;
+    private static final ScheduledExecutorService housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "db-pool-housekeeper");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final AtomicLong acquired = new AtomicLong();
+    private static final AtomicLong created = new AtomicLong();
+    private static final AtomicLong evicted = new AtomicLong();
+    private static final AtomicLong validationFailures = new AtomicLong();
+    private static final AtomicLong leakedStatements = new AtomicLong();
+    private static final AtomicLong leakedResultSets = new AtomicLong();
+    private static final AtomicLong totalWaitNanos = new AtomicLong();
+    private static final AtomicLong maxWaitNanos = new AtomicLong();
+
+    static {
         try {
             Class.forName("oracle.jdbc.driver.OracleDriver");
         } catch (ClassNotFoundException e) {
             e.printStackTrace();
         }
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        housekeeper.scheduleWithFixedDelay(DBConnection::housekeep, 30, 30, TimeUnit.SECONDS);
+    }
+
+    // Borrows a pooled connection; close() hands it back to the pool instead of ending the session
+    public static Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + ACQUIRE_TIMEOUT_MS + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledConnection pc = takeIdle();
+            if (pc == null) {
+                pc = open();
+            }
+            pc.lease();
+            synchronized (idle) {
+                leased.add(pc);
+            }
+            acquired.incrementAndGet();
+            return pc.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Opens MIN_IDLE sessions in the background so the first dashboard doesn't pay for them. Each is
+    // opened under a permit, like any other, so warm-up never takes the pool past MAX_SIZE; it stops
+    // when none is free rather than make callers wait.
+    public static void warmUp() {
+        housekeeper.execute(() -> {
+            while (permits.tryAcquire()) {
+                try {
+                    synchronized (idle) {
+                        if (shutDown || idle.size() >= MIN_IDLE || idle.size() + leased.size() >= MAX_SIZE) {
+                            return;
+                        }
+                    }
+                    PooledConnection pc = open();
+                    boolean kept;
+                    synchronized (idle) {
+                        kept = !shutDown;
+                        if (kept) {
+                            idle.push(pc);
+                        }
+                    }
+                    if (!kept) {
+                        pc.closePhysical();
+                    }
+                } catch (SQLException e) {
+                    System.err.println("Connection pool warm-up failed: " + e.getMessage());
+                    return;
+                } finally {
+                    permits.release();
+                }
+            }
+        });
+    }
+
+    public static PoolStats getStats() {
+        synchronized (idle) {
+            long count = acquired.get();
+            return new PoolStats(
+                    idle.size() + leased.size(), idle.size(), leased.size(), permits.getQueueLength(),
+                    count, created.get(), evicted.get(), validationFailures.get(),
+                    leakedStatements.get(), leakedResultSets.get(),
+                    count == 0 ? 0 : totalWaitNanos.get() / count / 1_000_000.0,
+                    maxWaitNanos.get() / 1_000_000.0);
+        }
+    }
+
+    public static void shutdown() {
+        housekeeper.shutdownNow();
+        List<PooledConnection> toClose;
+        synchronized (idle) {
+            shutDown = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+        }
+        toClose.forEach(PooledConnection::closePhysical);
+    }
+
+    private static PooledConnection takeIdle() {
+        while (true) {
+            PooledConnection pc;
+            synchronized (idle) {
+                pc = idle.poll();
+            }
+            if (pc == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - pc.lastUsed < VALIDATE_AFTER_MS || pc.validate()) {
+                return pc;
+            }
+            validationFailures.incrementAndGet();
+            pc.closePhysical();
+        }
+    }
+
+    private static PooledConnection open() throws SQLException {
+        PooledConnection pc = new PooledConnection(DriverManager.getConnection(URL, USER, PASSWORD));
+        created.incrementAndGet();
+        return pc;
+    }
+
+    private static void release(PooledConnection pc) {
+        pc.closeLeakedResources();
+        boolean reusable = pc.reset();
+        synchronized (idle) {
+            leased.remove(pc);
+            // Once the pool is shut down nothing would ever close it
+            reusable &= !shutDown;
+            if (reusable) {
+                idle.push(pc);
+            }
+        }
+        if (!reusable) {
+            pc.closePhysical();
+        }
+        permits.release();
+    }
+
+    private static void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // Evicts long-idle sessions down to MIN_IDLE and reports connections held past the leak threshold
+    private static void housekeep() {
+        long now = System.currentTimeMillis();
+        List<PooledConnection> expired = new ArrayList<>();
+        List<PooledConnection> suspects = new ArrayList<>();
+        synchronized (idle) {
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && idle.size() > MIN_IDLE) {
+                PooledConnection pc = it.next();
+                if (now - pc.lastUsed > IDLE_TIMEOUT_MS) {
+                    it.remove();
+                    expired.add(pc);
+                }
+            }
+            for (PooledConnection pc : leased) {
+                if (!pc.leakReported && now - pc.leasedAt > LEAK_THRESHOLD_MS) {
+                    pc.leakReported = true;
+                    suspects.add(pc);
+                }
+            }
+        }
+        evicted.addAndGet(expired.size());
+        expired.forEach(PooledConnection::closePhysical);
+        for (PooledConnection pc : suspects) {
+            System.err.println("Possible connection leak: held for " + (now - pc.leasedAt) + " ms, acquired at:");
+            pc.leasedBy.printStackTrace();
+        }
+    }
+
+    public record PoolStats(int total, int idle, int active, int waiting,
+                            long acquired, long created, long evicted, long validationFailures,
+                            long leakedStatements, long leakedResultSets,
+                            double avgWaitMs, double maxWaitMs) {
+    }
+
+    private static class PooledConnection implements InvocationHandler {
+        private final Connection physical;
+        private final Connection proxy;
+        // Statements and result sets handed out during the current lease
+        private final Set<Object> openResources = Collections.newSetFromMap(new IdentityHashMap<>());
+        private volatile long lastUsed = System.currentTimeMillis();
+        private volatile long leasedAt;
+        private volatile Throwable leasedBy;
+        private volatile boolean leakReported;
+        private volatile boolean closed = true;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                    DBConnection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        void lease() {
+            leasedAt = System.currentTimeMillis();
+            leasedBy = new Throwable("Connection acquired");
+            leakReported = false;
+            closed = false;
+        }
+
+        boolean validate() {
+            try (Statement st = physical.createStatement()) {
+                st.setQueryTimeout(5);
+                st.execute(VALIDATION_QUERY);
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        // Closes whatever the caller forgot to, counting each one as a leak
+        void closeLeakedResources() {
+            List<Object> leftovers;
+            synchronized (openResources) {
+                leftovers = new ArrayList<>(openResources);
+                openResources.clear();
+            }
+            for (Object resource : leftovers) {
+                try {
+                    if (resource instanceof ResultSet rs) {
+                        if (!rs.isClosed()) {
+                            leakedResultSets.incrementAndGet();
+                            rs.close();
+                        }
+                    } else if (resource instanceof Statement st) {
+                        if (!st.isClosed()) {
+                            leakedStatements.incrementAndGet();
+                            st.close();
+                        }
+                    }
+                } catch (SQLException ignored) {
+                }
+            }
+        }
+
+        // Rolls back anything left uncommitted so the next borrower starts clean
+        boolean reset() {
+            try {
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                physical.clearWarnings();
+                lastUsed = System.currentTimeMillis();
+                return !physical.isClosed();
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException ignored) {
+            }
+        }
+
+        @Override
+        public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical.isClosed();
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : physical.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || physical.isWrapperFor((Class<?>) args[0]);
+                case "equals":
+                    return p == args[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "toString":
+                    return "Pooled" + physical;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection has been returned to the pool");
+            }
+            Object result = forward(physical, method, args);
+            if (result instanceof Statement st) {
+                return track(st);
+            }
+            return result;
+        }
+
+        private Object track(Statement st) {
+            Class<?> type = st instanceof CallableStatement ? CallableStatement.class
+                    : st instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            synchronized (openResources) {
+                openResources.add(st);
+            }
+            return Proxy.newProxyInstance(DBConnection.class.getClassLoader(), new Class<?>[]{type}, (sp, m, a) -> {
+                switch (m.getName()) {
+                    case "close":
+                        synchronized (openResources) {
+                            openResources.remove(st);
+                        }
+                        st.close();
+                        return null;
+                    case "getConnection":
+                        return proxy;
+                    case "equals":
+                        return sp == a[0];
+                    case "hashCode":
+                        return System.identityHashCode(sp);
+                    default:
+                        break;
+                }
+                Object result = forward(st, m, a);
+                if (result instanceof ResultSet rs) {
+                    synchronized (openResources) {
+                        openResources.add(rs);
+                    }
+                }
+                return result;
+            });
+        }
+
+        private static Object forward(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
     }
 }
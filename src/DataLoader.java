@@ -0,0 +1,55 @@
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableView;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+// Runs repository calls off the JavaFX application thread and hands results back on it.
+// Each call gets its own virtual thread, so a dashboard's tab queries all run at once and
+// only wait on the connection pool, never on each other.
+public final class DataLoader {
+    private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private DataLoader() {
+    }
+
+    @FunctionalInterface
+    public interface Query<T> {
+        T run() throws SQLException;
+    }
+
+    public static <T> CompletableFuture<T> load(Query<T> query, Consumer<T> onLoaded) {
+        return load(query, onLoaded, e -> { });
+    }
+
+    // onLoaded and onFailed both run on the FX thread
+    public static <T> CompletableFuture<T> load(Query<T> query, Consumer<T> onLoaded, Consumer<Throwable> onFailed) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                T result = query.run();
+                future.complete(result);
+                Platform.runLater(() -> onLoaded.accept(result));
+            } catch (Throwable e) {
+                e.printStackTrace();
+                future.completeExceptionally(e);
+                Platform.runLater(() -> onFailed.accept(e));
+            }
+        });
+        return future;
+    }
+
+    // Shows a loading placeholder, then fills the table once the rows arrive
+    public static <R> CompletableFuture<List<R>> loadInto(TableView<R> table, Query<List<R>> query) {
+        table.setPlaceholder(new Label("Loading..."));
+        return load(query, rows -> {
+            table.setPlaceholder(new Label("Nothing to show"));
+            table.getItems().setAll(rows);
+        }, e -> table.setPlaceholder(new Label("Could not load data")));
+    }
+}
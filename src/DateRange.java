@@ -0,0 +1,46 @@
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// Days from..to, both inclusive; either end may be null for an open range. A TableQuery carries
+// one as the filter text of a date column, written "yyyy-MM-dd..yyyy-MM-dd" with a blank open end.
+public record DateRange(LocalDate from, LocalDate to) {
+    private static final String SEPARATOR = "..";
+
+    // The days starting today, e.g. next(30) ends 29 days from now
+    public static DateRange next(int days) {
+        LocalDate today = LocalDate.now();
+        return new DateRange(today, today.plusDays(days - 1));
+    }
+
+    // The range a filter text stands for; a single date is that one day. Throws
+    // IllegalArgumentException for text that isn't a range.
+    public static DateRange parse(String text) {
+        int split = text.indexOf(SEPARATOR);
+        try {
+            if (split < 0) {
+                LocalDate day = LocalDate.parse(text.trim());
+                return new DateRange(day, day);
+            }
+            return new DateRange(date(text.substring(0, split)), date(text.substring(split + SEPARATOR.length())));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Not a date range: " + text, e);
+        }
+    }
+
+    public boolean contains(LocalDate day) {
+        return day != null && (from == null || !day.isBefore(from)) && (to == null || !day.isAfter(to));
+    }
+
+    public boolean isEmpty() {
+        return from != null && to != null && from.isAfter(to);
+    }
+
+    @Override
+    public String toString() {
+        return (from == null ? "" : from.toString()) + SEPARATOR + (to == null ? "" : to.toString());
+    }
+
+    private static LocalDate date(String text) {
+        return text.isBlank() ? null : LocalDate.parse(text.trim());
+    }
+}
@@ -0,0 +1,83 @@
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// Re-runs a view's delta query every interval while its tab is selected and still on screen. The
+// query is meant to read only rows past the view's high-water mark, so an idle view costs one
+// index seek that finds nothing per interval. Polls never overlap: the next interval starts when
+// the previous query is done. Polling stops for good once the tab's window shows another scene,
+// e.g. after signing out. pollNow runs the query straight away, e.g. when the change feed says
+// there is something new.
+public class DeltaPoller {
+    // -Dinbox.pollSeconds=N; 0 turns polling off. With a change feed, polling only covers events the
+    // feed dropped, so it is rarer by default.
+    public static final Duration INBOX_INTERVAL = Duration.seconds(
+            Integer.getInteger("inbox.pollSeconds", ChangeFeed.isEnabled() ? 300 : 15));
+
+    private final LazyTab tab;
+    private final Supplier<CompletableFuture<?>> poll;
+    private final PauseTransition timer;
+    private boolean stopped;
+    private boolean polling;
+    private boolean pollAgain;
+
+    // poll runs on the FX thread and returns the query it started, or null to skip this round
+    public DeltaPoller(LazyTab tab, Duration interval, Supplier<CompletableFuture<?>> poll) {
+        this.tab = tab;
+        this.poll = poll;
+        this.timer = new PauseTransition(interval);
+        if (interval.lessThanOrEqualTo(Duration.ZERO)) {
+            stopped = true;
+        }
+        timer.setOnFinished(e -> tick());
+        tab.selectedProperty().addListener((obs, wasSelected, isSelected) -> {
+            if (isSelected) {
+                schedule();
+            } else {
+                timer.stop();
+            }
+        });
+        schedule();
+    }
+
+    // Polls now, or right after the poll in flight if there is one
+    public void pollNow() {
+        if (polling) {
+            pollAgain = true;
+        } else {
+            timer.stop();
+            tick();
+        }
+    }
+
+    private void schedule() {
+        if (!stopped && !polling && tab.isSelected()) {
+            timer.playFromStart();
+        }
+    }
+
+    private void tick() {
+        if (!tab.isOnScreen()) {
+            stopped = true;
+            return;
+        }
+        CompletableFuture<?> query = poll.get();
+        if (query == null) {
+            schedule();
+        } else {
+            polling = true;
+            query.whenComplete((result, error) -> Platform.runLater(() -> {
+                polling = false;
+                if (pollAgain) {
+                    pollAgain = false;
+                    tick();
+                } else {
+                    schedule();
+                }
+            }));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+import java.sql.SQLException;
+import java.util.List;
+
+// Process-wide cache of the mentor and investor directories (mentors/investors JOIN users).
+// Entries live for -Ddirectory.cache.ttlSeconds (default 120) and the cache holds at most
+// -Ddirectory.cache.maxRows rows in total. Anything that changes a mentor or investor
+// must call invalidate(role) so the next read goes back to the database.
+public final class DirectoryCache {
+    private static final String MENTORS = "mentor";
+    private static final String INVESTORS = "investor";
+
+    private static final TtlCache<String, Directory<?>> cache = new TtlCache<>(
+            Long.getLong("directory.cache.ttlSeconds", 120) * 1000,
+            Long.getLong("directory.cache.maxRows", 500_000),
+            directory -> directory.rows().size());
+
+    // A directory's rows plus the id <-> name index built from them in the same load
+    private record Directory<T>(List<T> rows, DirectoryIndex index) {
+    }
+
+    private DirectoryCache() {
+    }
+
+    public static List<Mentor> mentors() throws SQLException {
+        return mentorDirectory().rows();
+    }
+
+    public static DirectoryIndex mentorIndex() throws SQLException {
+        return mentorDirectory().index();
+    }
+
+    public static List<Investor> investors() throws SQLException {
+        return investorDirectory().rows();
+    }
+
+    public static DirectoryIndex investorIndex() throws SQLException {
+        return investorDirectory().index();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Directory<Mentor> mentorDirectory() throws SQLException {
+        return (Directory<Mentor>) cache.get(MENTORS, () -> {
+            List<Mentor> rows = List.copyOf(Repositories.mentors().findAll());
+            return new Directory<>(rows, DirectoryIndex.of(rows, Mentor::userId, Mentor::name));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Directory<Investor> investorDirectory() throws SQLException {
+        return (Directory<Investor>) cache.get(INVESTORS, () -> {
+            List<Investor> rows = List.copyOf(Repositories.investors().findAll());
+            return new Directory<>(rows, DirectoryIndex.of(rows, Investor::userId, Investor::name));
+        });
+    }
+
+    // Drops the directory for a role ("Mentor", "investor", ...); other roles are ignored
+    public static void invalidate(String role) {
+        switch (role.toLowerCase()) {
+            case MENTORS -> cache.invalidate(MENTORS);
+            case INVESTORS -> cache.invalidate(INVESTORS);
+            default -> { }
+        }
+    }
+
+    public static TtlCache.Stats stats() {
+        return cache.stats();
+    }
+}
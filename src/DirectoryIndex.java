@@ -0,0 +1,70 @@
+import javafx.util.StringConverter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+// Bidirectional user id <-> display name index for pickers. Names shared by more than one
+// person are shown as "Name (#id)", so every display string maps back to exactly one id.
+public final class DirectoryIndex {
+    private final Map<Integer, String> displayById;
+    private final Map<String, Integer> idByDisplay;
+    private final List<Integer> ids;
+
+    private DirectoryIndex(Map<Integer, String> displayById) {
+        this.displayById = displayById;
+        this.idByDisplay = new HashMap<>(displayById.size() * 2);
+        displayById.forEach((id, display) -> idByDisplay.put(display, id));
+        this.ids = Collections.unmodifiableList(new ArrayList<>(displayById.keySet()));
+    }
+
+    public static <T> DirectoryIndex of(List<T> rows, ToIntFunction<T> id, Function<T, String> name) {
+        Map<String, Integer> nameCounts = new HashMap<>();
+        for (T row : rows) {
+            nameCounts.merge(name.apply(row), 1, Integer::sum);
+        }
+        Map<Integer, String> displayById = new LinkedHashMap<>(rows.size() * 2);
+        for (T row : rows) {
+            String n = name.apply(row);
+            int key = id.applyAsInt(row);
+            displayById.put(key, nameCounts.get(n) > 1 ? n + " (#" + key + ")" : n);
+        }
+        return new DirectoryIndex(displayById);
+    }
+
+    // Ids in directory order, for use as picker items
+    public List<Integer> ids() {
+        return ids;
+    }
+
+    public String display(int id) {
+        return displayById.get(id);
+    }
+
+    // The id shown as this string, or -1
+    public int id(String display) {
+        Integer id = idByDisplay.get(display);
+        return id == null ? -1 : id;
+    }
+
+    // Lets a ComboBox<Integer> hold ids while showing names
+    public StringConverter<Integer> converter() {
+        return new StringConverter<>() {
+            @Override
+            public String toString(Integer id) {
+                return id == null ? null : display(id);
+            }
+
+            @Override
+            public Integer fromString(String display) {
+                int id = id(display);
+                return id < 0 ? null : id;
+            }
+        };
+    }
+}
@@ -0,0 +1,124 @@
+import javafx.animation.PauseTransition;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.util.Duration;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+// Write-behind buffer for inline table edits. Edits are keyed by row, so editing the same row
+// again only replaces what will be written. A flush happens flushAfter after the first unsaved
+// edit, or on demand, and writes every buffered row as one batch in one transaction, off the FX
+// thread. If the batch fails it is retried row by row, so the rows at fault can be reported and
+// the rest still saved. Flushes never overlap, so a row's edits reach the database in order.
+// All methods are called on the FX thread.
+public final class EditBuffer<K, V> {
+    @FunctionalInterface
+    public interface Writer<T> {
+        void write(T value) throws SQLException;
+    }
+
+    private final Writer<List<V>> batchWriter;
+    private final Writer<V> rowWriter;
+    private final PauseTransition timer;
+    private final Map<K, V> queued = new LinkedHashMap<>();
+    private final ReadOnlyIntegerWrapper pending = new ReadOnlyIntegerWrapper();
+    private CompletableFuture<Map<K, Throwable>> inFlight;
+    private int writing;
+    private Consumer<Map<K, Throwable>> onFailed = failures -> { };
+    private Runnable onSaved = () -> { };
+
+    public EditBuffer(Duration flushAfter, Writer<List<V>> batchWriter, Writer<V> rowWriter) {
+        this.batchWriter = batchWriter;
+        this.rowWriter = rowWriter;
+        this.timer = new PauseTransition(flushAfter);
+        timer.setOnFinished(e -> flush());
+    }
+
+    // Called after a flush with the rows that could not be written and why; they are not retried
+    public void setOnFailed(Consumer<Map<K, Throwable>> onFailed) {
+        this.onFailed = onFailed;
+    }
+
+    // Called after a flush that wrote at least one row
+    public void setOnSaved(Runnable onSaved) {
+        this.onSaved = onSaved;
+    }
+
+    public void put(K key, V row) {
+        queued.put(key, row);
+        updatePending();
+        if (inFlight == null && timer.getStatus() != PauseTransition.Status.RUNNING) {
+            timer.playFromStart();
+        }
+    }
+
+    // Rows edited but not yet written, including any being written right now
+    public ReadOnlyIntegerProperty pendingProperty() {
+        return pending.getReadOnlyProperty();
+    }
+
+    // Completes on the FX thread once every edit made so far has been written or reported, with the
+    // rows that could not be written by the flushes it waited for
+    public CompletableFuture<Map<K, Throwable>> flush() {
+        timer.stop();
+        if (inFlight != null) {
+            return inFlight.thenCompose(earlier -> flush().thenApply(later -> {
+                Map<K, Throwable> failures = new LinkedHashMap<>(earlier);
+                failures.putAll(later);
+                return failures;
+            }));
+        }
+        if (queued.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        Map<K, V> batch = new LinkedHashMap<>(queued);
+        queued.clear();
+        CompletableFuture<Map<K, Throwable>> done = new CompletableFuture<>();
+        inFlight = done;
+        writing = batch.size();
+        DataLoader.load(() -> write(batch), failures -> {
+            inFlight = null;
+            writing = 0;
+            updatePending();
+            if (failures.size() < batch.size()) {
+                onSaved.run();
+            }
+            if (!failures.isEmpty()) {
+                onFailed.accept(failures);
+            }
+            if (!queued.isEmpty()) {
+                timer.playFromStart();
+            }
+            done.complete(failures);
+        });
+        return done;
+    }
+
+    private Map<K, Throwable> write(Map<K, V> batch) {
+        try {
+            batchWriter.write(new ArrayList<>(batch.values()));
+            return Map.of();
+        } catch (SQLException | RuntimeException e) {
+            // The batch was rolled back as a whole; retry each row alone to find the ones at fault
+            Map<K, Throwable> failures = new LinkedHashMap<>();
+            batch.forEach((key, row) -> {
+                try {
+                    rowWriter.write(row);
+                } catch (SQLException | RuntimeException ex) {
+                    failures.put(key, ex);
+                }
+            });
+            return failures;
+        }
+    }
+
+    private void updatePending() {
+        pending.set(queued.size() + writing);
+    }
+}
@@ -0,0 +1,12 @@
+import java.time.LocalDate;
+
+// eventDate is the day the event is on, or null if it hasn't been set. capacity is how many
+// founders can register (null for no limit); rsvpCount is how many have, and is only ever
+// changed by RsvpRepository, never by writing an Event.
+public record Event(int id, String title, String description, LocalDate eventDate, String location,
+                    Integer capacity, int rsvpCount) {
+    // Places still free, or -1 if there is no limit
+    public int placesLeft() {
+        return capacity == null ? -1 : Math.max(0, capacity - rsvpCount);
+    }
+}
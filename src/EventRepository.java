@@ -0,0 +1,26 @@
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EventRepository {
+    // The TableQuery column holding event dates. Filtered by a DateRange and sorted on, it is a
+    // range scan of events_date_ix, so a window of dates costs the same however many events lie outside it.
+    String EVENT_DATE = "eventDate";
+
+    // Row count under the query's filters, plus the key of every pageSize-th row
+    PageLayout pageLayout(TableQuery query, int pageSize) throws SQLException;
+
+    // Up to limit events after the given key (null for the first page), in query order
+    List<Event> findPage(TableQuery query, TableQuery.Key after, int limit) throws SQLException;
+
+    // Returns the generated id; capacity is null for no limit
+    int create(String title, String description, LocalDate eventDate, String location, Integer capacity) throws SQLException;
+
+    // Writes everything but rsvpCount; fails if capacity is below the registrations already taken
+    void update(Event event) throws SQLException;
+
+    // update for many events, as one batch in one transaction: all or none are written
+    void updateAll(List<Event> events) throws SQLException;
+
+    void delete(int id) throws SQLException;
+}
@@ -0,0 +1,8 @@
+// One line of the founder's events list; dateText and placesText are never null
+public record EventRow(int id, String title, String dateText, String description, String placesText) {
+    public static EventRow of(Event event) {
+        int left = event.placesLeft();
+        return new EventRow(event.id(), event.title(), event.eventDate() == null ? "" : event.eventDate().toString(),
+                event.description(), left < 0 ? "Open" : left == 0 ? "Full" : left + " left");
+    }
+}
@@ -0,0 +1,113 @@
+import javafx.animation.PauseTransition;
+import javafx.scene.control.Button;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.util.Duration;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Filter fields and column sorting for a table whose rows the database filters and orders.
+// Clicking a column header doesn't sort the loaded rows; it, like typing in a field, produces
+// a new TableQuery for onChange to run. Typing is debounced so each pause costs one query.
+public final class FilterBar<S> extends HBox {
+    private static final Duration TYPING_PAUSE = Duration.millis(300);
+
+    private final TableView<S> table;
+    private final Consumer<TableQuery> onChange;
+    private final Map<TableColumn<S, ?>, String> sortColumns = new HashMap<>();
+    private final Map<String, TextField> fields = new LinkedHashMap<>();
+    private final Map<String, DatePicker[]> dateRanges = new LinkedHashMap<>();
+    private final PauseTransition typing = new PauseTransition(TYPING_PAUSE);
+    private TableQuery query = TableQuery.BY_ID;
+
+    public FilterBar(TableView<S> table, Consumer<TableQuery> onChange) {
+        super(10);
+        this.table = table;
+        this.onChange = onChange;
+        typing.setOnFinished(e -> update());
+        table.setSortPolicy(t -> {
+            update();
+            return true;
+        });
+
+        Button clear = new Button("Clear");
+        clear.setOnAction(e -> {
+            fields.values().forEach(TextField::clear);
+            dateRanges.values().forEach(pickers -> {
+                pickers[0].setValue(null);
+                pickers[1].setValue(null);
+            });
+            table.getSortOrder().clear();
+            update();
+        });
+        getChildren().add(clear);
+    }
+
+    // Adds a field filtering on the given column of the TableQuery
+    public FilterBar<S> filter(String column, String prompt) {
+        TextField field = new TextField();
+        field.setPromptText(prompt);
+        field.textProperty().addListener((obs, old, text) -> typing.playFromStart());
+        field.setOnAction(e -> {
+            typing.stop();
+            update();
+        });
+        fields.put(column, field);
+        getChildren().add(getChildren().size() - 1, field);
+        return this;
+    }
+
+    // Adds from and to pickers filtering the given date column of the TableQuery to a DateRange;
+    // either may be left empty
+    public FilterBar<S> dateRange(String column, String fromPrompt, String toPrompt) {
+        DatePicker from = new DatePicker();
+        DatePicker to = new DatePicker();
+        from.setPromptText(fromPrompt);
+        to.setPromptText(toPrompt);
+        from.valueProperty().addListener((obs, old, day) -> update());
+        to.valueProperty().addListener((obs, old, day) -> update());
+        dateRanges.put(column, new DatePicker[]{from, to});
+        getChildren().addAll(getChildren().size() - 1, List.of(from, to));
+        return this;
+    }
+
+    // Lets the table column's header sort by the given column of the TableQuery
+    public FilterBar<S> sortable(TableColumn<S, ?> tableColumn, String column) {
+        sortColumns.put(tableColumn, column);
+        return this;
+    }
+
+    public TableQuery query() {
+        return query;
+    }
+
+    private void update() {
+        Map<String, String> filters = new HashMap<>();
+        fields.forEach((column, field) -> filters.put(column, field.getText()));
+        dateRanges.forEach((column, pickers) -> {
+            if (pickers[0].getValue() != null || pickers[1].getValue() != null) {
+                filters.put(column, new DateRange(pickers[0].getValue(), pickers[1].getValue()).toString());
+            }
+        });
+        String sortColumn = TableQuery.ID;
+        boolean descending = false;
+        if (!table.getSortOrder().isEmpty()) {
+            TableColumn<S, ?> first = table.getSortOrder().get(0);
+            sortColumn = sortColumns.getOrDefault(first, TableQuery.ID);
+            descending = first.getSortType() == TableColumn.SortType.DESCENDING;
+        }
+        TableQuery next = new TableQuery(filters, sortColumn, descending);
+        // The table also asks for a sort when its items change; only a different query reloads
+        if (!next.equals(query)) {
+            query = next;
+            onChange.accept(next);
+        }
+    }
+}
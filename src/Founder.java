@@ -0,0 +1,3 @@
+public record Founder(int userId, String name, String email, String startupName, String industry,
+                      String location, int teamSize, double fundingNeeded) {
+}
@@ -1,5 +1,6 @@
 import javafx.animation.FadeTransition;
-import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -11,9 +12,27 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 import javafx.util.Duration;
-import java.sql.*;
+import javafx.util.StringConverter;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public class FounderPage {
+    // How long a visited tab's rows are reused before revisiting it queries again
+    private static final Duration DIRECTORY_STALE_AFTER = Duration.minutes(5);
+    private static final Duration EVENTS_STALE_AFTER = Duration.minutes(10);
+    // Upcoming events are paged like the admin tables; the founder picks how many days ahead to look
+    private static final int EVENTS_PAGE_SIZE = 100;
+    private static final int EVENTS_MAX_PAGES = 20;
+    private static final List<Integer> UPCOMING_WINDOWS = List.of(7, 30, 90, 365);
+    private static final EventRow LOADING_EVENT = new EventRow(0, "Loading...", "", "", "");
+    private static final int RECOMMENDED_INVESTORS = 20;
+    private static final String ANY_DAY = "Any day";
+
     private final int userId;
     private final String userName;
 
@@ -43,12 +62,13 @@ public class FounderPage {
         tabPane.setStyle("-fx-background-color:#f0f2f5;");
 
         tabPane.getTabs().addAll(
-                new Tab("Profile", getProfileForm(stage)),
-                new Tab("Mentors", getMentorsList()),
-                new Tab("Investors", getInvestorsList()),
-                new Tab("Events", getEventsList()),
-                new Tab("Apply Funding", getFundingForm()),
-                new Tab("Request Mentor", getMentorRequestForm())
+                new LazyTab("Profile", Duration.INDEFINITE, tab -> getProfileForm(stage, tab)),
+                new LazyTab("Mentors", DIRECTORY_STALE_AFTER, this::getMentorsList),
+                new LazyTab("Investors", DIRECTORY_STALE_AFTER, this::getInvestorsList),
+                new LazyTab("Recommended Investors", DIRECTORY_STALE_AFTER, this::getRecommendedInvestors),
+                new LazyTab("Events", EVENTS_STALE_AFTER, this::getEventsList),
+                new LazyTab("Apply Funding", DIRECTORY_STALE_AFTER, this::getFundingForm),
+                new LazyTab("Request Mentor", DIRECTORY_STALE_AFTER, this::getMentorRequestForm)
         );
         tabPane.getSelectionModel().selectFirst();
         root.setCenter(tabPane);
@@ -64,29 +84,7 @@ public class FounderPage {
         ft.play();
     }
 
-    private TableView<Object[]> createModernTable() {
-        TableView<Object[]> table = new TableView<>();
-        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
-        table.setStyle("-fx-background-color:white; -fx-border-color:#ddd; -fx-border-radius:8; -fx-background-radius:8;");
-
-        // Zebra striping
-        table.setRowFactory(tv -> new TableRow<Object[]>() {
-            @Override
-            protected void updateItem(Object[] item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setStyle("");
-                } else if (getIndex() % 2 == 0) {
-                    setStyle("-fx-background-color:#f9f9f9;");
-                } else {
-                    setStyle("");
-                }
-            }
-        });
-        return table;
-    }
-
-    private VBox getInvestorsList() {
+    private VBox getInvestorsList(LazyTab tab) {
         VBox layout = new VBox(15);
         layout.setPadding(new Insets(20));
 
@@ -94,41 +92,103 @@ public class FounderPage {
         header.setFont(Font.font("Verdana", FontWeight.BOLD, 18));
         header.setTextFill(Color.web("#34495e"));
 
-        TableView<Object[]> table = createModernTable();
+        TableView<InvestorRow> table = ModernTable.create();
 
-        TableColumn<Object[], String> nameCol = new TableColumn<>("Name");
-        nameCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[0]));
+        TableColumn<InvestorRow, InvestorRow> nameCol = TextColumns.of("Name", InvestorRow::name);
         nameCol.setStyle("-fx-font-weight:bold; -fx-text-fill:#2c3e50;");
 
-        TableColumn<Object[], String> expertiseCol = new TableColumn<>("Expertise Area");
-        expertiseCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[1]));
+        TableColumn<InvestorRow, InvestorRow> expertiseCol = TextColumns.of("Expertise Area", InvestorRow::expertiseArea);
 
-        TableColumn<Object[], String> budgetCol = new TableColumn<>("Available Budget");
-        budgetCol.setCellValueFactory(data -> new ReadOnlyStringWrapper("$" + data.getValue()[2].toString()));
+        TableColumn<InvestorRow, InvestorRow> budgetCol = TextColumns.of("Available Budget", InvestorRow::budgetText);
 
         table.getColumns().addAll(nameCol, expertiseCol, budgetCol);
 
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT u.name, i.expertise_area, i.available_budget FROM investors i JOIN users u ON i.user_id = u.id"
-            );
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                table.getItems().add(new Object[]{
-                        rs.getString("name"),
-                        rs.getString("expertise_area"),
-                        rs.getDouble("available_budget")
-                });
+        tab.setReloader(() -> DataLoader.loadInto(table, () -> {
+            List<InvestorRow> rows = new ArrayList<>();
+            for (Investor investor : DirectoryCache.investors()) {
+                rows.add(InvestorRow.of(investor));
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            return rows;
+        }));
 
         layout.getChildren().addAll(header, table);
         return layout;
     }
 
-    private VBox getMentorsList() {
+    // The investors InvestorMatcher ranks best for this founder's industry, location and funding needed
+    private VBox getRecommendedInvestors(LazyTab tab) {
+        VBox layout = new VBox(15);
+        layout.setPadding(new Insets(20));
+
+        Label header = new Label("Recommended Investors");
+        header.setFont(Font.font("Verdana", FontWeight.BOLD, 18));
+        header.setTextFill(Color.web("#34495e"));
+
+        Label basis = new Label();
+        basis.setTextFill(Color.web("#7f8c8d"));
+
+        TableView<InvestorMatchRow> table = ModernTable.create();
+
+        TableColumn<InvestorMatchRow, InvestorMatchRow> nameCol = TextColumns.of("Name", InvestorMatchRow::name);
+        nameCol.setStyle("-fx-font-weight:bold; -fx-text-fill:#2c3e50;");
+
+        table.getColumns().addAll(List.of(nameCol,
+                TextColumns.of("Expertise Area", InvestorMatchRow::expertiseArea),
+                TextColumns.of("Available Budget", InvestorMatchRow::budgetText),
+                TextColumns.of("Fit", InvestorMatchRow::fitText),
+                TextColumns.of("Matched On", InvestorMatchRow::matchedText)));
+
+        tab.setReloader(() -> {
+            table.setPlaceholder(new Label("Loading..."));
+            DataLoader.load(() -> {
+                Founder founder = Repositories.founders().findByUserId(userId);
+                return founder == null ? null
+                        : new Recommendations(founder, InvestorMatcher.shared().recommend(founder, RECOMMENDED_INVESTORS));
+            }, recommendations -> {
+                if (recommendations == null || InvestorMatcher.terms(recommendations.founder().industry()).isEmpty()
+                        && InvestorMatcher.terms(recommendations.founder().location()).isEmpty()) {
+                    basis.setText("");
+                    table.setPlaceholder(new Label("Add your industry and location to your profile to get recommendations"));
+                    table.getItems().clear();
+                    return;
+                }
+                Founder founder = recommendations.founder();
+                basis.setText(String.format("Best matches for %s in %s, needing $%,.2f",
+                        blankToDash(founder.industry()), blankToDash(founder.location()), founder.fundingNeeded()));
+                table.setPlaceholder(new Label("No investor lists your industry or location yet"));
+                List<InvestorMatchRow> rows = new ArrayList<>();
+                for (InvestorMatcher.Match match : recommendations.matches()) {
+                    rows.add(InvestorMatchRow.of(match));
+                }
+                table.getItems().setAll(rows);
+            }, e -> table.setPlaceholder(new Label("Could not load data")));
+        });
+
+        layout.getChildren().addAll(header, basis, table);
+        return layout;
+    }
+
+    private record Recommendations(Founder founder, List<InvestorMatcher.Match> matches) {
+    }
+
+    // Stores a funding request and announces it to the investor's inbox and the admin dashboards.
+    // Funding row and application go in together, in one round trip and one transaction. Runs off
+    // the FX thread.
+    static FundingRepository.Submission submitFunding(int investorId, int founderId, String founderName,
+                                                      double amount, String idea, String stage) throws SQLException {
+        FundingRepository.Submission submitted = Repositories.funding().submit(investorId, founderId, founderName,
+                amount, idea, stage, "Investment Pending");
+        IdeaSearchIndex.shared().addNew(submitted.applicationId(), investorId, idea);
+        ChangeFeed.publishNew(ChangeFeed.inboxTopic("investor", investorId), submitted.fundingId());
+        ChangeFeed.publishNew(ChangeFeed.ADMIN_TOPIC, submitted.fundingId());
+        return submitted;
+    }
+
+    private static String blankToDash(String value) {
+        return value == null || value.isBlank() ? "-" : value;
+    }
+
+    private VBox getMentorsList(LazyTab tab) {
         VBox layout = new VBox(15);
         layout.setPadding(new Insets(20));
 
@@ -136,41 +196,30 @@ public class FounderPage {
         header.setFont(Font.font("Verdana", FontWeight.BOLD, 18));
         header.setTextFill(Color.web("#34495e"));
 
-        TableView<Object[]> table = createModernTable();
+        TableView<MentorRow> table = ModernTable.create();
 
-        TableColumn<Object[], String> nameCol = new TableColumn<>("Name");
-        nameCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[0]));
+        TableColumn<MentorRow, MentorRow> nameCol = TextColumns.of("Name", MentorRow::name);
         nameCol.setStyle("-fx-font-weight:bold; -fx-text-fill:#2c3e50;");
 
-        TableColumn<Object[], String> expertiseCol = new TableColumn<>("Expertise");
-        expertiseCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[1]));
+        TableColumn<MentorRow, MentorRow> expertiseCol = TextColumns.of("Expertise", MentorRow::expertise);
 
-        TableColumn<Object[], String> availabilityCol = new TableColumn<>("Availability");
-        availabilityCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[2]));
+        TableColumn<MentorRow, MentorRow> availabilityCol = TextColumns.of("Availability", MentorRow::availability);
 
         table.getColumns().addAll(nameCol, expertiseCol, availabilityCol);
 
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT u.name, m.expertise, m.availability FROM mentors m JOIN users u ON m.user_id = u.id"
-            );
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                table.getItems().add(new Object[]{
-                        rs.getString("name"),
-                        rs.getString("expertise"),
-                        rs.getString("availability")
-                });
+        tab.setReloader(() -> DataLoader.loadInto(table, () -> {
+            List<MentorRow> rows = new ArrayList<>();
+            for (Mentor mentor : DirectoryCache.mentors()) {
+                rows.add(MentorRow.of(mentor));
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+            return rows;
+        }));
 
         layout.getChildren().addAll(header, table);
         return layout;
     }
 
-    private VBox getEventsList() {
+    private VBox getEventsList(LazyTab tab) {
         VBox layout = new VBox(15);
         layout.setPadding(new Insets(20));
 
@@ -178,41 +227,106 @@ public class FounderPage {
         header.setFont(Font.font("Verdana", FontWeight.BOLD, 18));
         header.setTextFill(Color.web("#34495e"));
 
-        TableView<Object[]> table = createModernTable();
+        TableView<EventRow> table = ModernTable.create();
 
-        TableColumn<Object[], String> titleCol = new TableColumn<>("Title");
-        titleCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[0]));
+        TableColumn<EventRow, EventRow> titleCol = TextColumns.of("Title", EventRow::title);
         titleCol.setStyle("-fx-font-weight:bold; -fx-text-fill:#2c3e50;");
 
-        TableColumn<Object[], String> dateCol = new TableColumn<>("Event Date");
-        dateCol.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue()[1].toString()));
+        TableColumn<EventRow, EventRow> dateCol = TextColumns.of("Event Date", EventRow::dateText);
 
-        TableColumn<Object[], String> descCol = new TableColumn<>("Description");
-        descCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[2]));
+        TableColumn<EventRow, EventRow> descCol = TextColumns.of("Description", EventRow::description);
 
-        table.getColumns().addAll(titleCol, dateCol, descCol);
+        TableColumn<EventRow, EventRow> placesCol = TextColumns.of("Places", EventRow::placesText);
 
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT title, event_date, description FROM events ORDER BY event_date ASC"
-            );
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                table.getItems().add(new Object[]{
-                        rs.getString("title"),
-                        rs.getDate("event_date"),
-                        rs.getString("description")
-                });
+        table.getColumns().addAll(titleCol, dateCol, descCol, placesCol);
+
+        // Only the chosen window of dates is read, a page at a time, however many past events there are
+        UpcomingEvents source = new UpcomingEvents();
+        PagedList<EventRow> data = new PagedList<>(EVENTS_PAGE_SIZE, EVENTS_MAX_PAGES, source, i -> LOADING_EVENT);
+        table.setItems(data);
+
+        ComboBox<Integer> window = new ComboBox<>();
+        window.getItems().addAll(UPCOMING_WINDOWS);
+        window.setValue(source.days);
+        window.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Integer days) {
+                return days == null ? "" : "Next " + days + " days";
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
 
-        layout.getChildren().addAll(header, table);
+            @Override
+            public Integer fromString(String text) {
+                return null;
+            }
+        });
+        window.setOnAction(e -> {
+            source.days = window.getValue();
+            data.reload();
+        });
+
+        Label count = new Label();
+        data.addListener((ListChangeListener<EventRow>) c ->
+                count.setText(data.size() + " event(s) in the next " + source.days + " days"));
+
+        // Admitted or refused at once; the places column catches up once the registration is stored
+        Label rsvpStatus = new Label();
+        Button rsvpBtn = new Button("RSVP to Selected Event");
+        rsvpBtn.setStyle("-fx-background-color:#3498db; -fx-text-fill:white; -fx-font-weight:bold;");
+        rsvpBtn.setOnAction(e -> {
+            EventRow event = table.getSelectionModel().getSelectedItem();
+            if (event == null || event == LOADING_EVENT) {
+                rsvpStatus.setText("Select an event first.");
+                return;
+            }
+            DataLoader.load(() -> RsvpService.shared().rsvp(event.id(), userId), ticket -> {
+                rsvpStatus.setText(switch (ticket.status()) {
+                    case ACCEPTED -> "You're registered for " + event.title() + ".";
+                    case ALREADY_REGISTERED -> "You're already registered for " + event.title() + ".";
+                    case FULL -> event.title() + " is full.";
+                    case NO_SUCH_EVENT -> event.title() + " has been removed.";
+                });
+                if (ticket.status() == RsvpService.Status.ACCEPTED) {
+                    ticket.saved().whenComplete((status, error) -> Platform.runLater(() -> {
+                        if (error != null) {
+                            rsvpStatus.setText("Your registration for " + event.title() + " could not be saved. Please try again.");
+                        } else if (status == RsvpService.Status.FULL) {
+                            rsvpStatus.setText("Sorry, " + event.title() + " filled up before your place was saved.");
+                        }
+                        data.reload();
+                    }));
+                }
+            }, ex -> rsvpStatus.setText("Could not register for " + event.title() + "."));
+        });
+
+        tab.setReloader(data::reload);
+
+        layout.getChildren().addAll(header, new HBox(10, window, count), table, new HBox(10, rsvpBtn, rsvpStatus));
         return layout;
     }
 
-    private VBox getProfileForm(Stage stage) {
+    // Events in the next days days, in date order; the window starts from today on every reload
+    private static class UpcomingEvents implements PagedList.Source<EventRow> {
+        private int days = UPCOMING_WINDOWS.get(1);
+        private TableQuery query;
+
+        @Override
+        public PageLayout layout(int pageSize) throws SQLException {
+            query = new TableQuery(Map.of(EventRepository.EVENT_DATE, DateRange.next(days).toString()),
+                    EventRepository.EVENT_DATE, false);
+            return Repositories.events().pageLayout(query, pageSize);
+        }
+
+        @Override
+        public List<EventRow> page(Object afterKey, int limit) throws SQLException {
+            List<EventRow> rows = new ArrayList<>(limit);
+            for (Event event : Repositories.events().findPage(query, (TableQuery.Key) afterKey, limit)) {
+                rows.add(EventRow.of(event));
+            }
+            return rows;
+        }
+    }
+
+    private VBox getProfileForm(Stage stage, LazyTab tab) {
         VBox layout = new VBox(15);
         layout.setPadding(new Insets(20));
         layout.setAlignment(Pos.TOP_LEFT);
@@ -227,20 +341,15 @@ public class FounderPage {
         TextField teamSize = new TextField();
         TextField fundingNeeded = new TextField();
 
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement stmt = conn.prepareStatement("SELECT * FROM founders WHERE user_id = ?");
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                startupName.setText(rs.getString("startup_name"));
-                industry.setText(rs.getString("industry"));
-                location.setText(rs.getString("location"));
-                teamSize.setText(rs.getString("team_size"));
-                fundingNeeded.setText(rs.getString("funding_needed"));
+        tab.setReloader(() -> DataLoader.load(() -> Repositories.founders().findByUserId(userId), founder -> {
+            if (founder != null) {
+                startupName.setText(founder.startupName());
+                industry.setText(founder.industry());
+                location.setText(founder.location());
+                teamSize.setText(String.valueOf(founder.teamSize()));
+                fundingNeeded.setText(String.valueOf(founder.fundingNeeded()));
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        }));
 
         GridPane form = new GridPane();
         form.setVgap(10);
@@ -261,7 +370,7 @@ public class FounderPage {
         return layout;
     }
 
-    private VBox getFundingForm() {
+    private VBox getFundingForm(LazyTab tab) {
         VBox layout = new VBox(15);
         layout.setPadding(new Insets(20));
 
@@ -280,16 +389,14 @@ public class FounderPage {
         stageBox.getItems().addAll("Ideation", "MVP", "Scaling");
         stageBox.setPromptText("Select Startup Stage");
 
-        // ComboBox to choose Investor
-        ComboBox<String> investorCombo = new ComboBox<>();
-        investorCombo.setPromptText("Select Investor");
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement ps = conn.prepareStatement(
-                    "SELECT u.name FROM investors i JOIN users u ON i.user_id=u.id"
-            );
-            ResultSet rs=ps.executeQuery();
-            while(rs.next()) investorCombo.getItems().add(rs.getString(1));
-        } catch(SQLException ex){ex.printStackTrace();}
+        // ComboBox to choose Investor; items are investor user ids, shown by name
+        ComboBox<Integer> investorCombo = new ComboBox<>();
+        investorCombo.setPromptText("Loading investors...");
+        tab.setReloader(() -> DataLoader.load(() -> DirectoryCache.investorIndex(), index -> {
+            investorCombo.setConverter(index.converter());
+            investorCombo.getItems().setAll(index.ids());
+            investorCombo.setPromptText("Select Investor");
+        }));
 
         Button submitBtn = new Button("Submit Funding Request");
         submitBtn.setStyle("-fx-background-color:#3498db; -fx-text-fill:white; -fx-font-weight:bold;");
@@ -297,56 +404,28 @@ public class FounderPage {
             String amt=amountField.getText().trim();
             String idea=ideaField.getText().trim();
             String stg=stageBox.getValue();
-            String invName=investorCombo.getValue();
-            if(amt.isEmpty()||idea.isEmpty()||stg==null||invName==null) {
+            Integer invId=investorCombo.getValue();
+            if(amt.isEmpty()||idea.isEmpty()||stg==null||invId==null) {
                 showAlert("Error", "Fill all fields!", Alert.AlertType.ERROR);return;
             }
             double a;
             try{a=Double.parseDouble(amt);}catch(Exception ex){showAlert("Error", "Invalid amount", Alert.AlertType.ERROR);return;}
-            int invId=-1;
-            try(Connection c=DBConnection.getConnection()){
-                PreparedStatement p=c.prepareStatement(
-                        "SELECT user_id FROM investors i JOIN users u ON i.user_id=u.id WHERE u.name=?"
-                );p.setString(1,invName);
-                ResultSet r=p.executeQuery(); if(r.next()) invId=r.getInt(1);
-            }catch(Exception ex){ex.printStackTrace();}
-            if(invId<0){showAlert("Error", "Investor not found", Alert.AlertType.ERROR);return;}
-            try (Connection c = DBConnection.getConnection()) {
-                // Insert into funding table
-                PreparedStatement f = c.prepareStatement(
-                        "INSERT INTO funding(id, investor_id, founder_id, amount, status) " +
-                                "VALUES(funding_seq.NEXTVAL, ?, ?, ?, 'Investment Pending')"
-                );
-                f.setInt(1, invId);
-                f.setInt(2, userId);
-                f.setDouble(3, a);
-                f.executeUpdate();
-
-                // Insert into applications table with pair_id only
-                PreparedStatement ap = c.prepareStatement(
-                        "INSERT INTO applications(id, founder_id, idea_desc, stage, status, support_id,support_name ) " +
-                                "VALUES(applications_seq.NEXTVAL, ?, ?, ?, 'Investment Pending', ?,?)"
-                );
-                ap.setInt(1, userId);
-                ap.setString(2, idea);
-                ap.setString(3, stg);
-                ap.setInt(4, invId); // pair_id as investor's user_id
-                ap.setString(5, userName);
-                ap.executeUpdate();
-
+            submitBtn.setDisable(true);
+            DataLoader.load(() -> submitFunding(invId, userId, userName, a, idea, stg), submitted -> {
+                submitBtn.setDisable(false);
                 showAlert("Success", "Funding + Application submitted.", Alert.AlertType.INFORMATION);
                 amountField.clear(); ideaField.clear(); stageBox.getSelectionModel().clearSelection(); investorCombo.getSelectionModel().clearSelection();
-            } catch (SQLException ex) {
-                ex.printStackTrace();
+            }, ex -> {
+                submitBtn.setDisable(false);
                 showAlert("Error", "Submission failed.", Alert.AlertType.ERROR);
-            }
+            });
 
         });
 
         layout.getChildren().addAll(header, investorCombo, amountField, ideaField, stageBox, submitBtn);
         return layout;
     }
-    private VBox getMentorRequestForm() {
+    private VBox getMentorRequestForm(LazyTab tab) {
         VBox layout = new VBox(15);
         layout.setPadding(new Insets(20));
         layout.setAlignment(Pos.TOP_LEFT);
@@ -355,8 +434,26 @@ public class FounderPage {
         header.setFont(Font.font("Verdana", FontWeight.BOLD, 18));
         header.setTextFill(Color.web("#34495e"));
 
-        // Mentor Request Form Fields
-        ComboBox<String> mentorComboBox = new ComboBox<>();
+        // Finding a time: open mentor slots matching an expertise, day and part of the day
+        TextField expertiseField = new TextField();
+        expertiseField.setPromptText("Expertise, e.g. fintech");
+        ComboBox<String> dayComboBox = new ComboBox<>();
+        dayComboBox.getItems().add(ANY_DAY);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            dayComboBox.getItems().add(day.getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+        }
+        dayComboBox.setValue(ANY_DAY);
+        ComboBox<MentorSchedule.PartOfDay> partComboBox = new ComboBox<>();
+        partComboBox.getItems().addAll(MentorSchedule.PartOfDay.values());
+        partComboBox.setValue(MentorSchedule.PartOfDay.ANY);
+        Button findButton = new Button("Find Times");
+        HBox filters = new HBox(10, expertiseField, dayComboBox, partComboBox, findButton);
+        filters.setAlignment(Pos.CENTER_LEFT);
+
+        ListView<MentorSchedule.Opening> openings = new ListView<>();
+        openings.setPrefHeight(180);
+        openings.setPlaceholder(new Label("Loading open times..."));
+
         TextArea ideaDescription = new TextArea();
         ComboBox<String> stageComboBox = new ComboBox<>();
         Button submitButton = new Button("Submit Request");
@@ -364,86 +461,61 @@ public class FounderPage {
         // Setting stage options
         stageComboBox.getItems().addAll("Ideation", "MVP", "Scaling");
 
-        // Get available mentors for the ComboBox
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement stmt = conn.prepareStatement("SELECT u.name FROM mentors m JOIN users u ON m.user_id = u.id");
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                mentorComboBox.getItems().add(rs.getString("name"));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        Runnable find = () -> {
+            String expertise = expertiseField.getText();
+            DayOfWeek day = ANY_DAY.equals(dayComboBox.getValue()) ? null
+                    : DayOfWeek.valueOf(dayComboBox.getValue().toUpperCase(Locale.ROOT));
+            MentorSchedule.PartOfDay part = partComboBox.getValue();
+            openings.setPlaceholder(new Label("Loading open times..."));
+            DataLoader.load(() -> MentorSchedule.find(expertise, day, part), found -> {
+                openings.setPlaceholder(new Label("No mentor is free then; try another day or time"));
+                openings.getItems().setAll(found);
+            }, e -> openings.setPlaceholder(new Label("Could not load data")));
+        };
+        findButton.setOnAction(e -> find.run());
+        tab.setReloader(find);
 
         submitButton.setOnAction(event -> {
-            String selectedMentor = mentorComboBox.getValue();
+            MentorSchedule.Opening opening = openings.getSelectionModel().getSelectedItem();
             String description = ideaDescription.getText();
             String stage = stageComboBox.getValue();
 
-            if (selectedMentor == null || description.isEmpty() || stage == null) {
+            if (opening == null || description.isEmpty() || stage == null) {
                 showAlert("Error", "All fields are required.", Alert.AlertType.ERROR);
                 return;
             }
 
-            // Get mentor ID from the selected mentor name
-            int mentorId = getMentorIdFromName(selectedMentor);
-
-            // Insert into mentor_requests table
-            try (Connection conn = DBConnection.getConnection()) {
-                // Insert into mentor_requests
-                PreparedStatement stmt = conn.prepareStatement(
-                        "INSERT INTO mentor_requests (mentor_id, founder_id, status) VALUES (?, ?, ?)"
-                );
-                stmt.setInt(1, mentorId);
-                stmt.setInt(2, userId);
-                stmt.setString(3, "Mentor Pending");
-                stmt.executeUpdate();
-
-                // Insert into applications with only pair_id
-                stmt = conn.prepareStatement(
-                        "INSERT INTO applications (id, founder_id, idea_desc, stage, status, support_id,support_name) " +
-                                "VALUES (applications_seq.NEXTVAL, ?, ?, ?, ?, ?,?)"
-                );
-                stmt.setInt(1, userId);
-                stmt.setString(2, description);
-                stmt.setString(3, stage);
-                stmt.setString(4, "Mentor Pending");
-                stmt.setInt(5, mentorId); // pair_id = mentor's user_id
-                stmt.setString(6, userName); // support_name = mentor name
-
-                stmt.executeUpdate();
-
-                showAlert("Success", "Mentor request submitted successfully.", Alert.AlertType.INFORMATION);
-            } catch (SQLException e) {
-                e.printStackTrace();
-                showAlert("Error", "Failed to submit the mentor request.", Alert.AlertType.ERROR);
-            }
+            int mentorId = opening.slot().mentorId();
+            submitButton.setDisable(true);
+            // The mentor request and its application, with the slot booked, in one transaction
+            DataLoader.load(() -> Repositories.mentorRequests().submit(mentorId, opening.slot().id(), userId, userName,
+                    description, stage, "Mentor Pending"), submitted -> {
+                MentorSchedule.invalidate();
+                IdeaSearchIndex.shared().addNew(submitted.applicationId(), mentorId, description);
+                ChangeFeed.publishNew(ChangeFeed.inboxTopic("mentor", mentorId), submitted.requestId());
+                submitButton.setDisable(false);
+                openings.getItems().remove(opening);
+                showAlert("Success", "Mentor request submitted for " + opening.slot() + ".", Alert.AlertType.INFORMATION);
+            }, e -> {
+                submitButton.setDisable(false);
+                if (e instanceof MentorSlotRepository.SlotTakenException) {
+                    MentorSchedule.invalidate();
+                    find.run();
+                    showAlert("Error", "That time was just booked by someone else. Please pick another.", Alert.AlertType.ERROR);
+                } else {
+                    showAlert("Error", "Failed to submit the mentor request.", Alert.AlertType.ERROR);
+                }
+            });
 
         });
 
-        layout.getChildren().addAll(header, new Label("Select Mentor:"), mentorComboBox,
+        layout.getChildren().addAll(header, new Label("Find a Mentor Time:"), filters, openings,
                 new Label("Describe Your Idea:"), ideaDescription,
                 new Label("Stage of Your Startup:"), stageComboBox, submitButton);
 
         return layout;
     }
 
-    private int getMentorIdFromName(String mentorName) {
-        int mentorId = -1;
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement stmt = conn.prepareStatement(
-                    "SELECT m.user_id FROM mentors m JOIN users u ON m.user_id = u.id WHERE u.name = ?"
-            );
-            stmt.setString(1, mentorName);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                mentorId = rs.getInt("user_id");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return mentorId;
-    }
     private void showAlert(String s, String msg, Alert.AlertType error) {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setContentText(msg);
@@ -0,0 +1,5 @@
+import java.sql.SQLException;
+
+public interface FounderRepository {
+    Founder findByUserId(int userId) throws SQLException;
+}
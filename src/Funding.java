@@ -0,0 +1,8 @@
+import java.time.Instant;
+import java.time.LocalDate;
+
+// industry is the founder's industry when the request was sent, kept for the rollups; updatedAt
+// moves on every insert and status change
+public record Funding(int id, int investorId, int founderId, double amount, String status,
+                      LocalDate createdOn, String industry, Instant updatedAt) {
+}
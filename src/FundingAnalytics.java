@@ -0,0 +1,404 @@
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Process-wide columnar copy of funding, with each request's stage and its founder's location, for
+// ad-hoc slicing on the admin Analytics tab. Every attribute is a primitive array indexed by row;
+// text attributes hold codes into a per-column dictionary, so a row costs a few dozen bytes and a
+// group-by compares ints. Queries split the rows across the common fork/join pool and merge the
+// partial groups. refresh() reads only funding rows whose updated_at moved past the last one seen
+// and updates or appends them in place.
+//
+// Scope: the snapshot is funding only. Applications and founders are not snapshotted as tables of
+// their own, because neither has a change stamp to refresh by. Of applications, only the stage of
+// each funding row's own application is carried, since the two are 1:1 and stamped together. Mentor
+// applications, and anything counted per application rather than per funding request, can't be
+// sliced here. Founder location is copied when the founder's request last changed. The app never
+// edits it, so it goes stale only after a direct SQL update, and a restart then reloads it.
+public final class FundingAnalytics {
+    private static final FundingAnalytics shared = new FundingAnalytics();
+
+    // Rows changed this long before the newest change seen are read again on the next refresh, in
+    // case a transaction that stamped them earlier committed later
+    private static final Duration OVERLAP = Duration.ofSeconds(60);
+    // Below this many rows a task scans instead of splitting
+    private static final int SEQUENTIAL_ROWS = 16_384;
+    // Group keys pack one dictionary code per column into a long
+    private static final int MAX_GROUP_COLUMNS = 3;
+    private static final int CODE_BITS = 21;
+    // Up to this many possible groups, a scan keeps its aggregates in an array indexed by the codes
+    private static final int MAX_DENSE_GROUPS = 4096;
+    private static final String ACCEPTED = "Accepted";
+
+    public enum Column {
+        STATUS("Status"), STAGE("Stage"), INDUSTRY("Industry"), LOCATION("Location"), MONTH("Month");
+
+        private final String label;
+
+        Column(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    // Groups by up to three columns, over the rows whose columns equal the filter values
+    public record Query(List<Column> groupBy, Map<Column, String> filters) {
+        public Query {
+            if (groupBy.size() > MAX_GROUP_COLUMNS) {
+                throw new IllegalArgumentException("At most " + MAX_GROUP_COLUMNS + " group-by columns");
+            }
+            groupBy = List.copyOf(groupBy);
+            filters = Map.copyOf(filters);
+        }
+    }
+
+    // acceptanceRate is the share of the group's requests that were accepted
+    public record Group(List<String> key, int count, double total, double median, double acceptanceRate) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Dictionary[] dictionaries = new Dictionary[Column.values().length];
+    private final int[][] codes = new int[Column.values().length][];
+    private final Map<Integer, Integer> rowOf = new HashMap<>();
+    private int[] ids = new int[1024];
+    private double[] amounts = new double[1024];
+    private int size;
+    private Instant watermark = Instant.EPOCH;
+
+    private FundingAnalytics() {
+        for (Column column : Column.values()) {
+            dictionaries[column.ordinal()] = new Dictionary();
+            codes[column.ordinal()] = new int[ids.length];
+        }
+    }
+
+    public static FundingAnalytics shared() {
+        return shared;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Reads rows changed since the last refresh and applies them; returns how many were read
+    public synchronized int refresh() throws SQLException {
+        Instant since = watermark.equals(Instant.EPOCH) ? Instant.EPOCH : watermark.minus(OVERLAP);
+        List<FundingRepository.FundingFact> changed = Repositories.funding().findFactsChangedSince(since);
+        lock.writeLock().lock();
+        try {
+            for (FundingRepository.FundingFact fact : changed) {
+                Integer row = rowOf.get(fact.id());
+                if (row == null) {
+                    row = append(fact.id());
+                }
+                amounts[row] = fact.amount();
+                set(Column.STATUS, row, fact.status());
+                set(Column.STAGE, row, fact.stage());
+                set(Column.INDUSTRY, row, fact.industry());
+                set(Column.LOCATION, row, fact.location());
+                set(Column.MONTH, row, fact.createdOn() == null ? null : fact.createdOn().toString().substring(0, 7));
+                if (fact.updatedAt().isAfter(watermark)) {
+                    watermark = fact.updatedAt();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return changed.size();
+    }
+
+    // The values a column takes, sorted, e.g. for a filter picker
+    public List<String> values(Column column) {
+        lock.readLock().lock();
+        try {
+            List<String> values = new ArrayList<>(dictionaries[column.ordinal()].values);
+            values.sort(null);
+            return values;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Group> query(Query query) {
+        lock.readLock().lock();
+        try {
+            int[] filterColumns = new int[query.filters().size()];
+            int[] filterCodes = new int[filterColumns.length];
+            int f = 0;
+            for (Map.Entry<Column, String> filter : query.filters().entrySet()) {
+                Integer code = dictionaries[filter.getKey().ordinal()].codes.get(filter.getValue());
+                if (code == null) {
+                    return List.of(); // No row has that value
+                }
+                filterColumns[f] = filter.getKey().ordinal();
+                filterCodes[f++] = code;
+            }
+            int[] groupColumns = query.groupBy().stream().mapToInt(Column::ordinal).toArray();
+            Integer accepted = dictionaries[Column.STATUS.ordinal()].codes.get(ACCEPTED);
+            long possibleGroups = 1;
+            for (int column : groupColumns) {
+                possibleGroups *= dictionaries[column].values.size();
+            }
+            int denseGroups = possibleGroups <= MAX_DENSE_GROUPS ? (int) possibleGroups : 0;
+
+            Map<Long, Aggregate> groups = ForkJoinPool.commonPool().invoke(new GroupTask(
+                    0, size, groupColumns, filterColumns, filterCodes, accepted == null ? -1 : accepted, denseGroups));
+
+            List<Group> result = new ArrayList<>(groups.size());
+            groups.forEach((key, aggregate) -> {
+                List<String> labels = new ArrayList<>(groupColumns.length);
+                for (int i = 0; i < groupColumns.length; i++) {
+                    int code = (int) (key >>> (i * CODE_BITS)) & ((1 << CODE_BITS) - 1);
+                    labels.add(dictionaries[groupColumns[i]].values.get(code));
+                }
+                result.add(new Group(labels, aggregate.count, aggregate.sum, aggregate.median(),
+                        (double) aggregate.accepted / aggregate.count));
+            });
+            result.sort((a, b) -> Double.compare(b.total(), a.total()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int append(int id) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            for (int c = 0; c < codes.length; c++) {
+                codes[c] = Arrays.copyOf(codes[c], capacity);
+            }
+        }
+        ids[size] = id;
+        rowOf.put(id, size);
+        return size++;
+    }
+
+    private void set(Column column, int row, String value) {
+        codes[column.ordinal()][row] = dictionaries[column.ordinal()].encode(
+                value == null || value.isBlank() ? FundingRepository.UNKNOWN : value);
+    }
+
+    // Each distinct string of a column once, numbered in order of first appearance
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                if (code >= 1 << CODE_BITS) {
+                    throw new IllegalStateException("Too many distinct values");
+                }
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+    }
+
+    private static final class Aggregate {
+        private int count;
+        private int accepted;
+        private double sum;
+        private double[] amounts = new double[8];
+
+        void add(double amount, boolean isAccepted) {
+            if (count == amounts.length) {
+                amounts = Arrays.copyOf(amounts, count * 2);
+            }
+            amounts[count++] = amount;
+            sum += amount;
+            if (isAccepted) {
+                accepted++;
+            }
+        }
+
+        void merge(Aggregate other) {
+            if (count + other.count > amounts.length) {
+                amounts = Arrays.copyOf(amounts, Math.max(amounts.length * 2, count + other.count));
+            }
+            System.arraycopy(other.amounts, 0, amounts, count, other.count);
+            count += other.count;
+            accepted += other.accepted;
+            sum += other.sum;
+        }
+
+        // Selects rather than sorts: linear in the group's size, and the amounts are no longer needed
+        double median() {
+            int mid = count / 2;
+            double upper = select(amounts, 0, count - 1, mid);
+            if (count % 2 == 1) {
+                return upper;
+            }
+            // After selecting, everything below mid is no larger than upper; the largest of it is the other middle
+            double lower = amounts[0];
+            for (int i = 1; i < mid; i++) {
+                lower = Math.max(lower, amounts[i]);
+            }
+            return (lower + upper) / 2;
+        }
+
+        // Hoare-style quickselect: reorders values[lo..hi] so that values[k] is the k-th smallest
+        private static double select(double[] values, int lo, int hi, int k) {
+            while (lo < hi) {
+                double pivot = values[(lo + hi) >>> 1];
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (values[i] < pivot) {
+                        i++;
+                    }
+                    while (values[j] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        double swap = values[i];
+                        values[i++] = values[j];
+                        values[j--] = swap;
+                    }
+                }
+                if (k <= j) {
+                    hi = j;
+                } else if (k >= i) {
+                    lo = i;
+                } else {
+                    break;
+                }
+            }
+            return values[k];
+        }
+    }
+
+    // Groups rows [from, to): halves the range until it is small enough to scan, then merges upwards
+    private final class GroupTask extends RecursiveTask<Map<Long, Aggregate>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int[] groupColumns;
+        private final int[] filterColumns;
+        private final int[] filterCodes;
+        private final int acceptedCode;
+        // How many groups the group-by columns' dictionaries allow, or 0 if too many for an array
+        private final int denseGroups;
+
+        GroupTask(int from, int to, int[] groupColumns, int[] filterColumns, int[] filterCodes, int acceptedCode,
+                  int denseGroups) {
+            this.from = from;
+            this.to = to;
+            this.groupColumns = groupColumns;
+            this.filterColumns = filterColumns;
+            this.filterCodes = filterCodes;
+            this.acceptedCode = acceptedCode;
+            this.denseGroups = denseGroups;
+        }
+
+        @Override
+        protected Map<Long, Aggregate> compute() {
+            if (to - from <= SEQUENTIAL_ROWS) {
+                return scan();
+            }
+            int mid = (from + to) >>> 1;
+            GroupTask left = new GroupTask(from, mid, groupColumns, filterColumns, filterCodes, acceptedCode, denseGroups);
+            left.fork();
+            Map<Long, Aggregate> right = new GroupTask(mid, to, groupColumns, filterColumns, filterCodes, acceptedCode, denseGroups)
+                    .compute();
+            Map<Long, Aggregate> merged = left.join();
+            if (merged.size() < right.size()) {
+                Map<Long, Aggregate> swap = merged;
+                merged = right;
+                right = swap;
+            }
+            Map<Long, Aggregate> into = merged;
+            right.forEach((key, aggregate) -> into.merge(key, aggregate, (a, b) -> {
+                a.merge(b);
+                return a;
+            }));
+            return into;
+        }
+
+        private Map<Long, Aggregate> scan() {
+            return denseGroups > 0 ? scanDense() : scanSparse();
+        }
+
+        // Aggregates indexed by the codes as digits of a mixed-radix number; no per-row boxing or hashing
+        private Map<Long, Aggregate> scanDense() {
+            Aggregate[] dense = new Aggregate[denseGroups];
+            int[] radix = new int[groupColumns.length];
+            for (int g = 0; g < groupColumns.length; g++) {
+                radix[g] = dictionaries[groupColumns[g]].values.size();
+            }
+            int[] status = codes[Column.STATUS.ordinal()];
+            rows:
+            for (int row = from; row < to; row++) {
+                for (int f = 0; f < filterColumns.length; f++) {
+                    if (codes[filterColumns[f]][row] != filterCodes[f]) {
+                        continue rows;
+                    }
+                }
+                int index = 0;
+                for (int g = groupColumns.length - 1; g >= 0; g--) {
+                    index = index * radix[g] + codes[groupColumns[g]][row];
+                }
+                Aggregate aggregate = dense[index];
+                if (aggregate == null) {
+                    aggregate = dense[index] = new Aggregate();
+                }
+                aggregate.add(amounts[row], status[row] == acceptedCode);
+            }
+            Map<Long, Aggregate> groups = new HashMap<>();
+            for (int index = 0; index < dense.length; index++) {
+                if (dense[index] != null) {
+                    long key = 0;
+                    int rest = index;
+                    for (int g = 0; g < groupColumns.length; g++) {
+                        key |= (long) (rest % radix[g]) << (g * CODE_BITS);
+                        rest /= radix[g];
+                    }
+                    groups.put(key, dense[index]);
+                }
+            }
+            return groups;
+        }
+
+        private Map<Long, Aggregate> scanSparse() {
+            Map<Long, Aggregate> groups = new HashMap<>();
+            int[] status = codes[Column.STATUS.ordinal()];
+            rows:
+            for (int row = from; row < to; row++) {
+                for (int f = 0; f < filterColumns.length; f++) {
+                    if (codes[filterColumns[f]][row] != filterCodes[f]) {
+                        continue rows;
+                    }
+                }
+                long key = 0;
+                for (int g = 0; g < groupColumns.length; g++) {
+                    key |= (long) codes[groupColumns[g]][row] << (g * CODE_BITS);
+                }
+                groups.computeIfAbsent(key, k -> new Aggregate()).add(amounts[row], status[row] == acceptedCode);
+            }
+            return groups;
+        }
+    }
+}
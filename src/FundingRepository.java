@@ -0,0 +1,48 @@
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface FundingRepository {
+    // Bucket for funding whose stage or founder industry is not known
+    String UNKNOWN = "Unknown";
+
+    // A founder's funding request: the funding row and its application (whose funding_id points at
+    // it), inserted together in one transaction (both or neither) with the rollups updated to match.
+    // founderName is stored on the application as support_name.
+    Submission submit(int investorId, int founderId, String founderName, double amount,
+                      String ideaDesc, String stage, String status) throws SQLException;
+
+    // Sets the status on the funding row and the application linked to it, and moves the funding
+    // between status rollups, in one transaction
+    void updateStatus(int fundingId, String status) throws SQLException;
+
+    // Up to limit of an investor's pending funding requests with id > afterFundingId (0 for the
+    // first page), by id, each with the details of its application
+    List<InvestmentRequest> findPendingForInvestor(int investorId, int afterFundingId, int limit) throws SQLException;
+
+    // Funding rows whose updated_at is after since, oldest change first, with the application's stage
+    // and the founder's current location
+    List<FundingFact> findFactsChangedSince(Instant since) throws SQLException;
+
+    // The maintained funding totals, by dimension, bucket and status; buckets with no requests are left out
+    List<Rollup> rollups() throws SQLException;
+
+    record Submission(int fundingId, int applicationId) {
+    }
+
+    // What a rollup groups funding by: TOTAL has the single bucket "*", MONTH buckets are YYYY-MM of
+    // the request, STAGE the application's stage and INDUSTRY the founder's industry when it was sent
+    enum Dimension { TOTAL, MONTH, STAGE, INDUSTRY }
+
+    record Rollup(Dimension dimension, String bucket, String status, int count, double total) {
+    }
+
+    record FundingFact(int id, double amount, String status, String stage, String industry, String location,
+                       LocalDate createdOn, Instant updatedAt) {
+    }
+
+    record InvestmentRequest(int fundingId, String founderName, String ideaDesc, String stage,
+                             double amount, String status) {
+    }
+}
@@ -0,0 +1,260 @@
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Process-wide full-text index over applications.idea_desc, so investors and mentors can search the
+// applications sent to them by keyword without a LIKE scan in Oracle. Descriptions are split into
+// lower-case words (stop words dropped, plurals folded). Searches are always within the
+// applications sent to one investor or mentor, so the index is partitioned by support_id: in each
+// partition every word keeps a posting list of the documents containing it, in the order they were
+// indexed, with the word's count in each. A search walks its partition's lists for its words side
+// by side, scores each document with BM25 (over that partition's statistics) and keeps the best in
+// a TopK. refresh() reads only applications past the highest id indexed, by primary key; ids skipped
+// when it last read (e.g. a transaction that committed after a later one) are re-read for
+// GAP_WAIT in case they turn up. Applications are never edited, so nothing is re-indexed.
+public final class IdeaSearchIndex {
+    private static final IdeaSearchIndex shared = new IdeaSearchIndex();
+
+    // BM25 term-frequency saturation and length normalisation
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int BATCH = 10_000;
+    private static final long GAP_WAIT = TimeUnit.SECONDS.toNanos(60);
+    // A jump in ids wider than this is a sequence gap, not rows still to commit
+    private static final int MAX_TRACKED_GAP = 100;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "have", "in", "is", "it",
+            "its", "of", "on", "or", "our", "that", "the", "their", "this", "to", "we", "will", "with", "you", "your");
+
+    public record Hit(int applicationId, double score) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Partition> partitions = new HashMap<>();
+    // Which application ids are indexed
+    private final BitSet indexed = new BitSet();
+    // By document number, in indexing order
+    private int[] applicationIds = new int[1024];
+    private int[] lengths = new int[1024];
+    private int documents;
+    private boolean loaded;
+    // Highest application id read, and ids below it not seen yet, with when they were first missed
+    private int watermark;
+    private final TreeMap<Integer, Long> gaps = new TreeMap<>();
+
+    private IdeaSearchIndex() {
+    }
+
+    public static IdeaSearchIndex shared() {
+        return shared;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Indexes applications added since the last refresh; the first call reads them all. Returns how
+    // many were indexed.
+    public synchronized int refresh() throws SQLException {
+        long now = System.nanoTime();
+        gaps.values().removeIf(missedAt -> now - missedAt > GAP_WAIT);
+        int after = gaps.isEmpty() ? watermark : gaps.firstKey() - 1;
+        int added = 0;
+        List<Application> batch;
+        do {
+            batch = Repositories.applications().findAfter(after, BATCH);
+            lock.writeLock().lock();
+            try {
+                for (Application application : batch) {
+                    int id = application.id();
+                    gaps.remove(id);
+                    if (loaded && id > watermark + 1 && id - watermark - 1 <= MAX_TRACKED_GAP) {
+                        for (int missing = watermark + 1; missing < id; missing++) {
+                            gaps.put(missing, now);
+                        }
+                    }
+                    watermark = Math.max(watermark, id);
+                    if (add(application.id(), application.supportId(), application.ideaDesc())) {
+                        added++;
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) {
+                after = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == BATCH);
+        loaded = true;
+        return added;
+    }
+
+    // Indexes one application straight away, e.g. right after this process inserted it; a no-op
+    // until the first refresh, which will read it anyway
+    public void addNew(int applicationId, int supportId, String ideaDesc) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                add(applicationId, supportId, ideaDesc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The best-scoring applications sent to supportId for the words of the query, best first
+    public List<Hit> search(String query, int supportId, int limit) {
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(words(query)));
+        lock.readLock().lock();
+        try {
+            Partition partition = partitions.get(supportId);
+            if (partition == null) {
+                return List.of();
+            }
+            List<Postings> lists = new ArrayList<>();
+            for (String word : words) {
+                Postings list = partition.postings.get(word);
+                if (list != null) {
+                    lists.add(list);
+                }
+            }
+            if (lists.isEmpty()) {
+                return List.of();
+            }
+            // Rarer words weigh more
+            double[] idfs = new double[lists.size()];
+            for (int t = 0; t < idfs.length; t++) {
+                int df = lists.get(t).size;
+                idfs[t] = Math.log(1 + (partition.documents - df + 0.5) / (df + 0.5));
+            }
+            double averageLength = (double) partition.totalLength / partition.documents;
+            TopK best = new TopK(limit);
+
+            // Document at a time: every list is in document order, so the smallest document under
+            // any cursor is the next one to score, and each cursor only moves forward
+            int[] cursors = new int[lists.size()];
+            while (true) {
+                int doc = Integer.MAX_VALUE;
+                for (int t = 0; t < cursors.length; t++) {
+                    Postings list = lists.get(t);
+                    if (cursors[t] < list.size) {
+                        doc = Math.min(doc, list.docs[cursors[t]]);
+                    }
+                }
+                if (doc == Integer.MAX_VALUE) {
+                    break;
+                }
+                double score = 0;
+                double lengthNorm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                for (int t = 0; t < cursors.length; t++) {
+                    Postings list = lists.get(t);
+                    if (cursors[t] < list.size && list.docs[cursors[t]] == doc) {
+                        int tf = list.counts[cursors[t]] & 0xFF;
+                        score += idfs[t] * tf * (K1 + 1) / (tf + lengthNorm);
+                        cursors[t]++;
+                    }
+                }
+                best.offer(doc, score);
+            }
+
+            TopK.Ranking ranking = best.ranking();
+            List<Hit> hits = new ArrayList<>(ranking.size());
+            for (int i = 0; i < ranking.size(); i++) {
+                hits.add(new Hit(applicationIds[ranking.items()[i]], ranking.scores()[i]));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lower-case words of letters and digits, stop words dropped and simple plurals folded
+    // ("startups" -> "startup", "companies" -> "company"); repeats kept, for counting
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() < 2 || STOP_WORDS.contains(word)) {
+                continue;
+            }
+            if (word.length() > 4 && word.endsWith("ies")) {
+                word = word.substring(0, word.length() - 3) + "y";
+            } else if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")
+                    && !word.endsWith("us") && !word.endsWith("is")) {
+                word = word.substring(0, word.length() - 1);
+            }
+            words.add(word);
+        }
+        return words;
+    }
+
+    // Appends a document unless the application is already indexed; call with the write lock held
+    private boolean add(int applicationId, int supportId, String ideaDesc) {
+        if (indexed.get(applicationId)) {
+            return false;
+        }
+        indexed.set(applicationId);
+        if (documents == applicationIds.length) {
+            int capacity = documents * 2;
+            applicationIds = Arrays.copyOf(applicationIds, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+        int doc = documents++;
+        List<String> words = words(ideaDesc);
+        applicationIds[doc] = applicationId;
+        lengths[doc] = words.size();
+        Partition partition = partitions.computeIfAbsent(supportId, id -> new Partition());
+        partition.documents++;
+        partition.totalLength += words.size();
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (String word : words) {
+            counts.merge(word, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            partition.postings.computeIfAbsent(count.getKey(), w -> new Postings()).add(doc, count.getValue());
+        }
+        return true;
+    }
+
+    // The applications sent to one investor or mentor
+    private static final class Partition {
+        private final Map<String, Postings> postings = new HashMap<>();
+        private int documents;
+        private long totalLength;
+    }
+
+    // The documents containing one word, in document order, with the word's count in each (capped at 255)
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private byte[] counts = new byte[4];
+        private int size;
+
+        void add(int doc, int count) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            docs[size] = doc;
+            counts[size++] = (byte) Math.min(count, 255);
+        }
+    }
+}
@@ -0,0 +1,901 @@
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+// In-process backend mirroring db/schema.sql, for offline runs, profiling and load tests.
+// Tables are id-ordered maps; each sequence is an AtomicInteger.
+public class InMemoryRepositories {
+    private static final Set<String> ROLES = Set.of("Admin", "Investor", "Mentor", "Founder");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<Integer, User> users = new TreeMap<>();
+    private final Map<String, Integer> userIdByEmail = new HashMap<>();
+    private final Map<String, NavigableSet<Integer>> userIdsByRole = new HashMap<>();
+    private final NavigableMap<Integer, Founder> founders = new TreeMap<>();
+    private final NavigableMap<Integer, Investor> investors = new TreeMap<>();
+    private final NavigableMap<Integer, Mentor> mentors = new TreeMap<>();
+    private final NavigableMap<Integer, Funding> funding = new TreeMap<>();
+    private final Map<Integer, NavigableSet<Integer>> fundingIdsByInvestor = new HashMap<>();
+    // funding_rollups, keyed and ordered by (dimension, bucket, status)
+    private final NavigableMap<RollupKey, FundingRepository.Rollup> rollups = new TreeMap<>(
+            Comparator.comparing(RollupKey::dimension).thenComparing(RollupKey::bucket).thenComparing(RollupKey::status));
+    private final NavigableMap<Integer, Application> applications = new TreeMap<>();
+    private final Map<Integer, Integer> applicationIdByFunding = new HashMap<>();
+    private final Map<Integer, Integer> applicationIdByMentorRequest = new HashMap<>();
+    private final NavigableMap<Integer, MentorRequest> mentorRequests = new TreeMap<>();
+    private final Map<Integer, NavigableSet<Integer>> mentorRequestIdsByMentor = new HashMap<>();
+    private final NavigableMap<Integer, MentorSlot> mentorSlots = new TreeMap<>();
+    private final Map<Integer, NavigableSet<Integer>> mentorSlotIdsByMentor = new HashMap<>();
+    private final NavigableMap<Integer, Event> events = new TreeMap<>();
+    private final NavigableMap<LocalDate, NavigableSet<Integer>> eventIdsByDate = new TreeMap<>();
+    // event_rsvps: the founders registered for each event
+    private final Map<Integer, Set<Integer>> rsvpFoundersByEvent = new HashMap<>();
+
+    private final AtomicInteger usersSeq = new AtomicInteger();
+    private final AtomicInteger fundingSeq = new AtomicInteger();
+    private final AtomicInteger applicationsSeq = new AtomicInteger();
+    private final AtomicInteger mentorRequestsId = new AtomicInteger();
+    private final AtomicInteger mentorSlotsId = new AtomicInteger();
+    private final AtomicInteger eventsId = new AtomicInteger();
+
+    private final UserRepository userRepository = new Users();
+    private final RegistrationRepository registrationRepository = new Registrations();
+    private final FounderRepository founderRepository = new Founders();
+    private final InvestorRepository investorRepository = new Investors();
+    private final MentorRepository mentorRepository = new Mentors();
+    private final FundingRepository fundingRepository = new Fundings();
+    private final MentorRequestRepository mentorRequestRepository = new MentorRequests();
+    private final MentorSlotRepository mentorSlotRepository = new MentorSlots();
+    private final ApplicationRepository applicationRepository = new Applications();
+    private final EventRepository eventRepository = new Events();
+    private final RsvpRepository rsvpRepository = new Rsvps();
+
+    public UserRepository users() { return userRepository; }
+    public RegistrationRepository registrations() { return registrationRepository; }
+    public FounderRepository founders() { return founderRepository; }
+    public InvestorRepository investors() { return investorRepository; }
+    public MentorRepository mentors() { return mentorRepository; }
+    public FundingRepository funding() { return fundingRepository; }
+    public MentorRequestRepository mentorRequests() { return mentorRequestRepository; }
+    public MentorSlotRepository mentorSlots() { return mentorSlotRepository; }
+    public ApplicationRepository applications() { return applicationRepository; }
+    public EventRepository events() { return eventRepository; }
+    public RsvpRepository rsvps() { return rsvpRepository; }
+
+    // A login for every role, so the UI can be driven without a database server
+    public void seedDemoData() throws SQLException {
+        // Admins have no role table, so no registration; their users row goes in alone
+        write(() -> insertUser("Admin", "admin@gmail.com", "admin", "Admin"));
+        registrationRepository.registerAll(List.of(
+                new RegistrationRepository.Registration("Demo Founder", "founder@gmail.com", "founder", "Founder"),
+                new RegistrationRepository.Registration("Demo Investor", "investor@gmail.com", "investor", "Investor"),
+                new RegistrationRepository.Registration("Demo Mentor", "mentor@gmail.com", "mentor", "Mentor")));
+    }
+
+    // The users row alone, with the constraints Oracle puts on it; callers hold the write lock
+    private int insertUser(String name, String email, String password, String role) throws SQLException {
+        if (!ROLES.contains(role)) {
+            throw new SQLIntegrityConstraintViolationException("check constraint violated: role " + role);
+        }
+        if (userIdByEmail.containsKey(email)) {
+            throw new SQLIntegrityConstraintViolationException("unique constraint violated: users.email " + email);
+        }
+        int id = usersSeq.incrementAndGet();
+        users.put(id, new User(id, name, email, password, role));
+        userIdByEmail.put(email, id);
+        userIdsByRole.computeIfAbsent(role, r -> new TreeSet<>()).add(id);
+        return id;
+    }
+
+    private <T> T read(SqlSupplier<T> body) throws SQLException {
+        lock.readLock().lock();
+        try {
+            return body.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(SqlSupplier<T> body) throws SQLException {
+        lock.writeLock().lock();
+        try {
+            return body.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private interface SqlSupplier<T> {
+        T get() throws SQLException;
+    }
+
+    private NavigableMap<Integer, ?> roleTable(String role) {
+        return switch (role.toLowerCase()) {
+            case "investor" -> investors;
+            case "mentor" -> mentors;
+            case "founder" -> founders;
+            default -> throw new IllegalArgumentException("No role table for " + role);
+        };
+    }
+
+    // TableQuery evaluation over rows held here, ordered the way Oracle orders them:
+    // NULLs last ascending and first descending, with id breaking ties
+    private static final class Keyset<T> {
+        private final ToIntFunction<T> id;
+        private final Map<String, Function<T, Object>> columns;
+
+        Keyset(ToIntFunction<T> id, Map<String, Function<T, Object>> columns) {
+            this.id = id;
+            this.columns = columns;
+        }
+
+        PageLayout layout(Collection<T> rows, TableQuery query, int pageSize) {
+            List<T> matching = sorted(rows, query);
+            if (matching.isEmpty()) {
+                return PageLayout.EMPTY;
+            }
+            List<Object> afterKeys = new ArrayList<>();
+            afterKeys.add(null);
+            for (int rn = pageSize; rn < matching.size(); rn += pageSize) {
+                afterKeys.add(key(matching.get(rn - 1), query));
+            }
+            return new PageLayout(matching.size(), afterKeys);
+        }
+
+        List<T> page(Collection<T> rows, TableQuery query, TableQuery.Key after, int limit) {
+            Comparator<TableQuery.Key> order = order(query);
+            List<T> result = new ArrayList<>(limit);
+            for (T row : sorted(rows, query)) {
+                if (result.size() == limit) {
+                    break;
+                }
+                if (after == null || order.compare(key(row, query), after) > 0) {
+                    result.add(row);
+                }
+            }
+            return result;
+        }
+
+        private List<T> sorted(Collection<T> rows, TableQuery query) {
+            Comparator<TableQuery.Key> order = order(query);
+            List<T> matching = new ArrayList<>();
+            for (T row : rows) {
+                if (matches(row, query)) {
+                    matching.add(row);
+                }
+            }
+            matching.sort((a, b) -> order.compare(key(a, query), key(b, query)));
+            return matching;
+        }
+
+        private boolean matches(T row, TableQuery query) {
+            for (Map.Entry<String, String> filter : query.filters().entrySet()) {
+                Object value = column(filter.getKey()).apply(row);
+                String text = filter.getValue();
+                if (value instanceof Number n) {
+                    if (!text.equals(String.valueOf(n.longValue()))) {
+                        return false;
+                    }
+                } else if (value instanceof LocalDate date) {
+                    try {
+                        if (!DateRange.parse(text).contains(date)) {
+                            return false;
+                        }
+                    } catch (IllegalArgumentException e) {
+                        return false;
+                    }
+                } else if (value == null || !value.toString().toUpperCase().startsWith(text.toUpperCase())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private TableQuery.Key key(T row, TableQuery query) {
+            int rowId = id.applyAsInt(row);
+            return new TableQuery.Key(query.sortsById() ? rowId : column(query.sortColumn()).apply(row), rowId);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Comparator<TableQuery.Key> order(TableQuery query) {
+            Comparator<Object> values = Comparator.nullsLast((a, b) -> ((Comparable) a).compareTo(b));
+            Comparator<TableQuery.Key> asc = Comparator.comparing(TableQuery.Key::value, values)
+                    .thenComparingInt(TableQuery.Key::id);
+            return query.descending() ? asc.reversed() : asc;
+        }
+
+        private Function<T, Object> column(String name) {
+            Function<T, Object> column = columns.get(name);
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown column: " + name);
+            }
+            return column;
+        }
+    }
+
+    private static final Keyset<User> ROLE_PAGES = new Keyset<>(User::getId, Map.of(
+            "id", User::getId,
+            "name", User::getName,
+            "email", User::getEmail));
+
+    private static final Keyset<Event> EVENT_PAGES = new Keyset<>(Event::id, Map.of(
+            "id", Event::id,
+            "title", Event::title,
+            "location", Event::location,
+            EventRepository.EVENT_DATE, Event::eventDate));
+
+    private List<User> usersInRole(String role) {
+        List<User> rows = new ArrayList<>();
+        for (Integer id : userIdsByRole.getOrDefault(role, Collections.emptyNavigableSet())) {
+            rows.add(users.get(id));
+        }
+        return rows;
+    }
+
+    // funding and applications with the indexes db/schema.sql puts on them
+    private void addFunding(Funding f) {
+        funding.put(f.id(), f);
+        fundingIdsByInvestor.computeIfAbsent(f.investorId(), k -> new TreeSet<>()).add(f.id());
+    }
+
+    private void addApplication(Application a) {
+        applications.put(a.id(), a);
+        if (a.fundingId() != null) {
+            applicationIdByFunding.put(a.fundingId(), a.id());
+        }
+        if (a.mentorRequestId() != null) {
+            applicationIdByMentorRequest.put(a.mentorRequestId(), a.id());
+        }
+    }
+
+    private record RollupKey(FundingRepository.Dimension dimension, String bucket, String status) {
+    }
+
+    private void addToRollups(Funding f, String stage, String status, int count, double amount) {
+        Map<FundingRepository.Dimension, String> buckets = Map.of(
+                FundingRepository.Dimension.TOTAL, "*",
+                FundingRepository.Dimension.MONTH, YearMonth.from(f.createdOn()).toString(),
+                FundingRepository.Dimension.STAGE, orUnknown(stage),
+                FundingRepository.Dimension.INDUSTRY, orUnknown(f.industry()));
+        buckets.forEach((dimension, bucket) -> rollups.merge(new RollupKey(dimension, bucket, status),
+                new FundingRepository.Rollup(dimension, bucket, status, count, amount),
+                (a, b) -> new FundingRepository.Rollup(dimension, bucket, status, a.count() + b.count(), a.total() + b.total())));
+    }
+
+    // Oracle stores '' as NULL, so blank buckets are unknown too
+    private static String orUnknown(String bucket) {
+        return bucket == null || bucket.isBlank() ? FundingRepository.UNKNOWN : bucket;
+    }
+
+    // Sets the status of the application linked through the given index, if there is one
+    private void setApplicationStatus(Map<Integer, Integer> index, int key, String status) {
+        Integer id = index.get(key);
+        if (id != null) {
+            applications.computeIfPresent(id, (k, a) -> new Application(k, a.founderId(), a.ideaDesc(), a.stage(),
+                    status, a.supportId(), a.supportName(), a.fundingId(), a.mentorRequestId()));
+        }
+    }
+
+    private String userName(int id) {
+        User u = users.get(id);
+        return u == null ? null : u.getName();
+    }
+
+    private class Users implements UserRepository {
+        @Override
+        public User findByCredentials(String email, String password) throws SQLException {
+            return read(() -> {
+                Integer id = userIdByEmail.get(email);
+                User u = id == null ? null : users.get(id);
+                if (u == null || !u.getPassword().equals(password)) {
+                    return null;
+                }
+                return new User(u.getId(), u.getName(), u.getEmail(), null, u.getRole());
+            });
+        }
+
+        @Override
+        public PageLayout pageLayoutByRole(String role, TableQuery query, int pageSize) throws SQLException {
+            return read(() -> ROLE_PAGES.layout(usersInRole(role), query, pageSize));
+        }
+
+        @Override
+        public List<User> findPageByRole(String role, TableQuery query, TableQuery.Key after, int limit) throws SQLException {
+            return read(() -> {
+                List<User> result = new ArrayList<>(limit);
+                for (User u : ROLE_PAGES.page(usersInRole(role), query, after, limit)) {
+                    result.add(new User(u.getId(), u.getName(), u.getEmail(), null, role));
+                }
+                return result;
+            });
+        }
+
+        @Override
+        public void updateContact(int id, String role, String name, String email) throws SQLException {
+            write(() -> {
+                Integer owner = userIdByEmail.get(email);
+                if (owner != null && owner != id) {
+                    throw new SQLIntegrityConstraintViolationException("unique constraint violated: users.email " + email);
+                }
+                applyContact(id, role, name, email);
+                return null;
+            });
+        }
+
+        @Override
+        public void updateContacts(String role, List<User> batch) throws SQLException {
+            write(() -> {
+                // Check the whole batch against the emails it leaves behind before touching any row
+                Map<String, Integer> emails = new HashMap<>(userIdByEmail);
+                for (User b : batch) {
+                    User u = users.get(b.getId());
+                    if (u != null) {
+                        emails.remove(u.getEmail(), u.getId());
+                    }
+                }
+                for (User b : batch) {
+                    Integer owner = emails.putIfAbsent(b.getEmail(), b.getId());
+                    if (owner != null && owner != b.getId()) {
+                        throw new SQLIntegrityConstraintViolationException("unique constraint violated: users.email " + b.getEmail());
+                    }
+                }
+                roleTable(role);
+                for (User b : batch) {
+                    applyContact(b.getId(), role, b.getName(), b.getEmail());
+                }
+                return null;
+            });
+        }
+
+        private void applyContact(int id, String role, String name, String email) {
+            User u = users.get(id);
+            if (u != null) {
+                userIdByEmail.remove(u.getEmail(), id);
+                userIdByEmail.put(email, id);
+                u.setName(name);
+                u.setEmail(email);
+            }
+            switch (role.toLowerCase()) {
+                case "investor" -> investors.computeIfPresent(id, (k, i) ->
+                        new Investor(k, name, email, i.expertiseArea(), i.availableBudget()));
+                case "mentor" -> mentors.computeIfPresent(id, (k, m) ->
+                        new Mentor(k, name, email, m.expertise(), m.availability()));
+                case "founder" -> founders.computeIfPresent(id, (k, f) ->
+                        new Founder(k, name, email, f.startupName(), f.industry(), f.location(), f.teamSize(), f.fundingNeeded()));
+                default -> throw new IllegalArgumentException("No role table for " + role);
+            }
+        }
+
+        @Override
+        public void delete(int id, String role) throws SQLException {
+            write(() -> {
+                roleTable(role).remove(id);
+                for (Integer slotId : mentorSlotIdsByMentor.getOrDefault(id, Collections.emptyNavigableSet())) {
+                    mentorSlots.remove(slotId); // ON DELETE CASCADE
+                }
+                mentorSlotIdsByMentor.remove(id);
+                // event_rsvps ON DELETE CASCADE, giving the places back
+                rsvpFoundersByEvent.forEach((eventId, founders) -> {
+                    if (founders.remove(id)) {
+                        Event e = events.get(eventId);
+                        putEvent(new Event(e.id(), e.title(), e.description(), e.eventDate(), e.location(),
+                                e.capacity(), e.rsvpCount() - 1));
+                    }
+                });
+                User u = users.remove(id);
+                if (u != null) {
+                    userIdByEmail.remove(u.getEmail());
+                    userIdsByRole.get(u.getRole()).remove(id);
+                }
+                return null;
+            });
+        }
+    }
+
+    private class Registrations implements RegistrationRepository {
+        @Override
+        public int register(Registration r) throws SQLException {
+            return registerAll(List.of(r)).get(0);
+        }
+
+        @Override
+        public List<Integer> registerAll(List<Registration> registrations) throws SQLException {
+            return write(() -> {
+                // Check every row before inserting any, so a failure leaves nothing behind
+                Set<String> emails = new HashSet<>();
+                for (Registration r : registrations) {
+                    if (userIdByEmail.containsKey(r.email()) || !emails.add(r.email())) {
+                        throw new SQLIntegrityConstraintViolationException("unique constraint violated: users.email " + r.email());
+                    }
+                }
+                List<Integer> ids = new ArrayList<>(registrations.size());
+                for (Registration r : registrations) {
+                    int id = insertUser(r.name(), r.email(), r.password(), r.role());
+                    // The role row with an empty profile
+                    switch (r.role()) {
+                        case "Investor" -> investors.put(id, new Investor(id, r.name(), r.email(), "", 0.0));
+                        case "Mentor" -> mentors.put(id, new Mentor(id, r.name(), r.email(), "", ""));
+                        case "Founder" -> founders.put(id, new Founder(id, r.name(), r.email(), "", "", "", 1, 0.0));
+                        default -> throw new IllegalArgumentException("No role table for " + r.role());
+                    }
+                    ids.add(id);
+                }
+                return ids;
+            });
+        }
+    }
+
+    private class Founders implements FounderRepository {
+        @Override
+        public Founder findByUserId(int userId) throws SQLException {
+            return read(() -> founders.get(userId));
+        }
+    }
+
+    private class Investors implements InvestorRepository {
+        @Override
+        public List<Investor> findAll() throws SQLException {
+            return read(() -> {
+                List<Investor> result = new ArrayList<>();
+                for (Investor i : investors.values()) {
+                    String name = userName(i.userId());
+                    if (name != null) {
+                        result.add(new Investor(i.userId(), name, users.get(i.userId()).getEmail(),
+                                i.expertiseArea(), i.availableBudget()));
+                    }
+                }
+                return result;
+            });
+        }
+
+        @Override
+        public Investor findByUserId(int userId) throws SQLException {
+            return read(() -> investors.get(userId));
+        }
+
+        @Override
+        public void updateProfile(int userId, String expertiseArea, double availableBudget) throws SQLException {
+            write(() -> investors.computeIfPresent(userId, (k, i) ->
+                    new Investor(k, i.name(), i.email(), expertiseArea, availableBudget)));
+        }
+    }
+
+    private class Mentors implements MentorRepository {
+        @Override
+        public List<Mentor> findAll() throws SQLException {
+            return read(() -> {
+                List<Mentor> result = new ArrayList<>();
+                for (Mentor m : mentors.values()) {
+                    String name = userName(m.userId());
+                    if (name != null) {
+                        result.add(new Mentor(m.userId(), name, users.get(m.userId()).getEmail(),
+                                m.expertise(), m.availability()));
+                    }
+                }
+                return result;
+            });
+        }
+
+        @Override
+        public Mentor findByUserId(int userId) throws SQLException {
+            return read(() -> mentors.get(userId));
+        }
+    }
+
+    private class Fundings implements FundingRepository {
+        @Override
+        public Submission submit(int investorId, int founderId, String founderName, double amount,
+                                 String ideaDesc, String stage, String status) throws SQLException {
+            return write(() -> {
+                int fundingId = fundingSeq.incrementAndGet();
+                int applicationId = applicationsSeq.incrementAndGet();
+                Founder founder = founders.get(founderId);
+                Funding f = new Funding(fundingId, investorId, founderId, amount, status, LocalDate.now(),
+                        founder == null ? null : founder.industry(), Instant.now());
+                addFunding(f);
+                addApplication(new Application(applicationId, founderId, ideaDesc, stage, status,
+                        investorId, founderName, fundingId, null));
+                addToRollups(f, stage, status, 1, amount);
+                return new Submission(fundingId, applicationId);
+            });
+        }
+
+        @Override
+        public void updateStatus(int fundingId, String status) throws SQLException {
+            write(() -> {
+                Funding f = funding.get(fundingId);
+                if (f == null || f.status().equals(status)) {
+                    return null;
+                }
+                funding.put(fundingId, new Funding(f.id(), f.investorId(), f.founderId(), f.amount(), status,
+                        f.createdOn(), f.industry(), Instant.now()));
+                setApplicationStatus(applicationIdByFunding, fundingId, status);
+                Integer appId = applicationIdByFunding.get(fundingId);
+                String stage = appId == null ? null : applications.get(appId).stage();
+                addToRollups(f, stage, f.status(), -1, -f.amount());
+                addToRollups(f, stage, status, 1, f.amount());
+                return null;
+            });
+        }
+
+        @Override
+        public List<InvestmentRequest> findPendingForInvestor(int investorId, int afterFundingId, int limit) throws SQLException {
+            return read(() -> {
+                List<InvestmentRequest> result = new ArrayList<>(limit);
+                NavigableSet<Integer> ids = fundingIdsByInvestor.getOrDefault(investorId, Collections.emptyNavigableSet());
+                for (Integer id : ids.tailSet(afterFundingId, false)) {
+                    if (result.size() == limit) {
+                        break;
+                    }
+                    Funding f = funding.get(id);
+                    if (!"Investment Pending".equals(f.status())) {
+                        continue;
+                    }
+                    Integer appId = applicationIdByFunding.get(id);
+                    if (appId != null) {
+                        Application a = applications.get(appId);
+                        result.add(new InvestmentRequest(f.id(), a.supportName(), a.ideaDesc(), a.stage(),
+                                f.amount(), f.status()));
+                    }
+                }
+                return result;
+            });
+        }
+
+        @Override
+        public List<FundingFact> findFactsChangedSince(Instant since) throws SQLException {
+            return read(() -> {
+                List<FundingFact> result = new ArrayList<>();
+                for (Funding f : funding.values()) {
+                    if (f.updatedAt().isAfter(since)) {
+                        Integer appId = applicationIdByFunding.get(f.id());
+                        Founder founder = founders.get(f.founderId());
+                        result.add(new FundingFact(f.id(), f.amount(), f.status(),
+                                appId == null ? null : applications.get(appId).stage(), f.industry(),
+                                founder == null ? null : founder.location(), f.createdOn(), f.updatedAt()));
+                    }
+                }
+                result.sort(Comparator.comparing(FundingFact::updatedAt));
+                return result;
+            });
+        }
+
+        @Override
+        public List<Rollup> rollups() throws SQLException {
+            return read(() -> {
+                List<Rollup> result = new ArrayList<>();
+                for (Rollup r : rollups.values()) {
+                    if (r.count() > 0) {
+                        result.add(r);
+                    }
+                }
+                return result;
+            });
+        }
+    }
+
+    private class Applications implements ApplicationRepository {
+        @Override
+        public List<Application> findAfter(int afterId, int limit) throws SQLException {
+            return read(() -> {
+                List<Application> result = new ArrayList<>(Math.min(limit, applications.size()));
+                for (Application a : applications.tailMap(afterId, false).values()) {
+                    if (result.size() == limit) {
+                        break;
+                    }
+                    result.add(a);
+                }
+                return result;
+            });
+        }
+
+        @Override
+        public List<Application> findByIds(List<Integer> ids) throws SQLException {
+            return read(() -> {
+                List<Application> result = new ArrayList<>(ids.size());
+                for (Integer id : ids) {
+                    Application a = applications.get(id);
+                    if (a != null) {
+                        result.add(a);
+                    }
+                }
+                return result;
+            });
+        }
+    }
+
+    private class MentorRequests implements MentorRequestRepository {
+        @Override
+        public Submission submit(int mentorId, int slotId, int founderId, String founderName, String ideaDesc,
+                                 String stage, String status) throws SQLException {
+            return write(() -> {
+                MentorSlot slot = mentorSlots.get(slotId);
+                if (slot == null || slot.mentorId() != mentorId || !slot.isOpen()) {
+                    throw new MentorSlotRepository.SlotTakenException(slotId);
+                }
+                int requestId = mentorRequestsId.incrementAndGet();
+                int applicationId = applicationsSeq.incrementAndGet();
+                mentorRequests.put(requestId, new MentorRequest(requestId, mentorId, founderId, status));
+                mentorRequestIdsByMentor.computeIfAbsent(mentorId, k -> new TreeSet<>()).add(requestId);
+                mentorSlots.put(slotId, withBooking(slot, requestId));
+                addApplication(new Application(applicationId, founderId, ideaDesc, stage, status,
+                        mentorId, founderName, null, requestId));
+                return new Submission(requestId, applicationId);
+            });
+        }
+
+        @Override
+        public void updateStatus(int requestId, String status) throws SQLException {
+            write(() -> {
+                MentorRequest request = mentorRequests.computeIfPresent(requestId, (k, r) ->
+                        new MentorRequest(k, r.mentorId(), r.founderId(), status));
+                setApplicationStatus(applicationIdByMentorRequest, requestId, status);
+                if ("Rejected".equals(status) && request != null) {
+                    for (Integer slotId : mentorSlotIdsByMentor.getOrDefault(request.mentorId(), Collections.emptyNavigableSet())) {
+                        MentorSlot slot = mentorSlots.get(slotId);
+                        if (Integer.valueOf(requestId).equals(slot.bookedRequestId())) {
+                            mentorSlots.put(slotId, withBooking(slot, null));
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+
+        @Override
+        public List<MentorshipRequest> findPendingForMentor(int mentorId, int afterRequestId) throws SQLException {
+            return read(() -> {
+                List<MentorshipRequest> result = new ArrayList<>();
+                for (Integer id : mentorRequestIdsByMentor.getOrDefault(mentorId, Collections.emptyNavigableSet())
+                        .tailSet(afterRequestId, false)) {
+                    MentorRequest r = mentorRequests.get(id);
+                    Integer appId = applicationIdByMentorRequest.get(id);
+                    if ("Mentor Pending".equals(r.status()) && appId != null) {
+                        Application a = applications.get(appId);
+                        result.add(new MentorshipRequest(r.id(), a.supportName(), a.ideaDesc(), r.status()));
+                    }
+                }
+                return result;
+            });
+        }
+    }
+
+    private static MentorSlot withBooking(MentorSlot slot, Integer requestId) {
+        return new MentorSlot(slot.id(), slot.mentorId(), slot.day(), slot.startMinute(), slot.endMinute(), requestId);
+    }
+
+    private class MentorSlots implements MentorSlotRepository {
+        @Override
+        public List<MentorSlot> findOpen() throws SQLException {
+            return read(() -> {
+                List<MentorSlot> result = new ArrayList<>();
+                for (MentorSlot slot : mentorSlots.values()) {
+                    if (slot.isOpen()) {
+                        result.add(slot);
+                    }
+                }
+                return result;
+            });
+        }
+
+        @Override
+        public List<MentorSlot> findForMentor(int mentorId) throws SQLException {
+            return read(() -> {
+                List<MentorSlot> result = new ArrayList<>();
+                for (Integer id : mentorSlotIdsByMentor.getOrDefault(mentorId, Collections.emptyNavigableSet())) {
+                    result.add(mentorSlots.get(id));
+                }
+                result.sort(Comparator.comparingInt(MentorSlot::weekStart));
+                return result;
+            });
+        }
+
+        @Override
+        public List<MentorSlot> saveProfile(int mentorId, String expertise, List<MentorSlot> openSlots) throws SQLException {
+            return write(() -> {
+                NavigableSet<Integer> ids = mentorSlotIdsByMentor.computeIfAbsent(mentorId, k -> new TreeSet<>());
+                ids.removeIf(id -> mentorSlots.get(id).isOpen() && mentorSlots.remove(id) != null);
+                List<MentorSlot> all = new ArrayList<>();
+                for (Integer id : ids) {
+                    all.add(mentorSlots.get(id));
+                }
+                List<MentorSlot> refused = new ArrayList<>();
+                for (MentorSlot slot : openSlots) {
+                    if (all.stream().anyMatch(slot::overlaps)) {
+                        refused.add(slot);
+                        continue;
+                    }
+                    int id = mentorSlotsId.incrementAndGet();
+                    MentorSlot saved = new MentorSlot(id, mentorId, slot.day(), slot.startMinute(), slot.endMinute(), null);
+                    mentorSlots.put(id, saved);
+                    ids.add(id);
+                    all.add(saved);
+                }
+                mentors.computeIfPresent(mentorId, (k, m) ->
+                        new Mentor(k, m.name(), m.email(), expertise, MentorSlot.summary(all)));
+                return refused;
+            });
+        }
+    }
+
+    private class Events implements EventRepository {
+        @Override
+        public PageLayout pageLayout(TableQuery query, int pageSize) throws SQLException {
+            return read(() -> EVENT_PAGES.layout(candidates(query), query, pageSize));
+        }
+
+        @Override
+        public List<Event> findPage(TableQuery query, TableQuery.Key after, int limit) throws SQLException {
+            return read(() -> EVENT_PAGES.page(candidates(query), query, after, limit));
+        }
+
+        // Under a date filter, only the events in that range of the date index, as events_date_ix
+        // serves it in Oracle; Keyset still applies the other filters
+        private Collection<Event> candidates(TableQuery query) {
+            String dates = query.filters().get(EVENT_DATE);
+            if (dates == null) {
+                return events.values();
+            }
+            DateRange range;
+            try {
+                range = DateRange.parse(dates);
+            } catch (IllegalArgumentException e) {
+                return List.of();
+            }
+            if (range.isEmpty() || eventIdsByDate.isEmpty()) {
+                return List.of();
+            }
+            LocalDate from = range.from() == null ? eventIdsByDate.firstKey() : range.from();
+            LocalDate to = range.to() == null ? eventIdsByDate.lastKey() : range.to();
+            if (from.isAfter(to)) {
+                return List.of();
+            }
+            List<Event> rows = new ArrayList<>();
+            for (NavigableSet<Integer> ids : eventIdsByDate.subMap(from, true, to, true).values()) {
+                for (Integer id : ids) {
+                    rows.add(events.get(id));
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        public int create(String title, String description, LocalDate eventDate, String location, Integer capacity) throws SQLException {
+            return write(() -> {
+                int id = eventsId.incrementAndGet();
+                putEvent(new Event(id, title, description, eventDate, location, capacity, 0));
+                return id;
+            });
+        }
+
+        @Override
+        public void update(Event event) throws SQLException {
+            updateAll(List.of(event));
+        }
+
+        @Override
+        public void updateAll(List<Event> batch) throws SQLException {
+            write(() -> {
+                List<Event> rows = new ArrayList<>();
+                for (Event event : batch) {
+                    Event old = events.get(event.id());
+                    if (old == null) {
+                        continue;
+                    }
+                    // rsvp_count isn't written, and may not pass capacity (events_capacity_ck)
+                    if (event.capacity() != null && (event.capacity() < 0 || event.capacity() < old.rsvpCount())) {
+                        throw new SQLIntegrityConstraintViolationException(
+                                "check constraint violated: events_capacity_ck " + event.id());
+                    }
+                    rows.add(new Event(event.id(), event.title(), event.description(), event.eventDate(),
+                            event.location(), event.capacity(), old.rsvpCount()));
+                }
+                rows.forEach(InMemoryRepositories.this::putEvent);
+                return null;
+            });
+        }
+
+        @Override
+        public void delete(int id) throws SQLException {
+            write(() -> {
+                removeEvent(id);
+                rsvpFoundersByEvent.remove(id); // ON DELETE CASCADE
+                return null;
+            });
+        }
+    }
+
+    private class Rsvps implements RsvpRepository {
+        @Override
+        public Seats findSeats(int eventId) throws SQLException {
+            return read(() -> {
+                Event event = events.get(eventId);
+                if (event == null) {
+                    return null;
+                }
+                return new Seats(event.capacity(), new HashSet<>(rsvpFoundersByEvent.getOrDefault(eventId, Set.of())));
+            });
+        }
+
+        @Override
+        public Map<Integer, Integer> countAll(List<Integer> eventIds) throws SQLException {
+            return read(() -> {
+                Map<Integer, Integer> counts = new HashMap<>();
+                for (Integer id : eventIds) {
+                    Event event = events.get(id);
+                    if (event != null) {
+                        counts.put(id, event.rsvpCount());
+                    }
+                }
+                return counts;
+            });
+        }
+
+        @Override
+        public Set<Rsvp> saveAll(List<Rsvp> rsvps) throws SQLException {
+            return write(() -> {
+                Set<Rsvp> refused = new HashSet<>();
+                for (Rsvp rsvp : rsvps) {
+                    Event event = events.get(rsvp.eventId());
+                    if (event == null) {
+                        refused.add(rsvp);
+                        continue;
+                    }
+                    Set<Integer> founders = rsvpFoundersByEvent.computeIfAbsent(rsvp.eventId(), id -> new HashSet<>());
+                    if (founders.contains(rsvp.founderId())) {
+                        continue;
+                    }
+                    if (event.capacity() != null && event.rsvpCount() >= event.capacity()) {
+                        refused.add(rsvp);
+                        continue;
+                    }
+                    founders.add(rsvp.founderId());
+                    putEvent(new Event(event.id(), event.title(), event.description(), event.eventDate(),
+                            event.location(), event.capacity(), event.rsvpCount() + 1));
+                }
+                return refused;
+            });
+        }
+    }
+
+    // events with the date index db/schema.sql puts on them
+    private void putEvent(Event event) {
+        removeEvent(event.id());
+        events.put(event.id(), event);
+        if (event.eventDate() != null) {
+            eventIdsByDate.computeIfAbsent(event.eventDate(), d -> new TreeSet<>()).add(event.id());
+        }
+    }
+
+    private void removeEvent(int id) {
+        Event old = events.remove(id);
+        if (old != null && old.eventDate() != null) {
+            NavigableSet<Integer> ids = eventIdsByDate.get(old.eventDate());
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                eventIdsByDate.remove(old.eventDate());
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+// Immutable index of half-open int intervals [start, end) for "what overlaps this range" lookups.
+// The items are sorted by start and read as a balanced binary tree (each range's middle item is its
+// root), with each subtree's largest end alongside, so a lookup skips any subtree that ends before
+// the range and everything starting after it: O(log n + matches).
+public final class IntervalTree<T> {
+    private final List<T> items;
+    private final int[] starts;
+    private final int[] ends;
+    // Largest end in the subtree rooted at each position
+    private final int[] maxEnds;
+
+    private IntervalTree(List<T> items, int[] starts, int[] ends) {
+        this.items = items;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new int[items.size()];
+        maxEnd(0, items.size() - 1);
+    }
+
+    public static <T> IntervalTree<T> of(List<T> items, ToIntFunction<T> start, ToIntFunction<T> end) {
+        List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingInt(start));
+        int[] starts = new int[sorted.size()];
+        int[] ends = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            starts[i] = start.applyAsInt(sorted.get(i));
+            ends[i] = end.applyAsInt(sorted.get(i));
+        }
+        return new IntervalTree<>(List.copyOf(sorted), starts, ends);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    // Items overlapping [from, to), in start order
+    public List<T> overlapping(int from, int to) {
+        List<T> result = new ArrayList<>();
+        collect(0, items.size() - 1, from, to, result);
+        return result;
+    }
+
+    private int maxEnd(int lo, int hi) {
+        if (lo > hi) {
+            return Integer.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        maxEnds[mid] = Math.max(ends[mid], Math.max(maxEnd(lo, mid - 1), maxEnd(mid + 1, hi)));
+        return maxEnds[mid];
+    }
+
+    private void collect(int lo, int hi, int from, int to, List<T> result) {
+        if (lo > hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnds[mid] <= from) {
+            return; // Everything here ends before the range
+        }
+        collect(lo, mid - 1, from, to, result);
+        if (starts[mid] >= to) {
+            return; // This and everything after it starts after the range
+        }
+        if (ends[mid] > from) {
+            result.add(items.get(mid));
+        }
+        collect(mid + 1, hi, from, to, result);
+    }
+}
@@ -0,0 +1,8 @@
+// One line of the investor's inbox; amountText is formatted once, at load
+public record InvestmentRequestRow(int fundingId, String founderName, String ideaDesc, String stage,
+                                   String status, double amount, String amountText) {
+    public static InvestmentRequestRow of(FundingRepository.InvestmentRequest request) {
+        return new InvestmentRequestRow(request.fundingId(), request.founderName(), request.ideaDesc(),
+                request.stage(), request.status(), request.amount(), String.format("$%,.2f", request.amount()));
+    }
+}
@@ -0,0 +1,2 @@
+public record Investor(int userId, String name, String email, String expertiseArea, double availableBudget) {
+}
@@ -0,0 +1,10 @@
+// One line of the founder's recommended investors; the texts are formatted once, at load
+public record InvestorMatchRow(int userId, String name, String expertiseArea, String budgetText, String fitText,
+                               String matchedText) {
+    public static InvestorMatchRow of(InvestorMatcher.Match match) {
+        Investor investor = match.investor();
+        return new InvestorMatchRow(investor.userId(), investor.name(), investor.expertiseArea(),
+                String.format("$%,.2f", investor.availableBudget()), String.format("%.0f%%", match.score() * 100),
+                String.join(", ", match.matchedTerms()));
+    }
+}
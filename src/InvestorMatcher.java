@@ -0,0 +1,251 @@
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Ranks investors for a founder: expertise terms matching the founder's industry (and, more
+// weakly, location) scored by how rare the term is, blended with how much of the funding needed
+// the investor's budget covers. Process-wide; an inverted index from expertise term to investor
+// slots means a query only touches investors sharing a term with the founder, and a k-sized
+// TopK keeps the best of them. The index follows DirectoryCache: each query syncs it with the
+// directory's current rows, re-indexing only investors whose profile changed.
+public final class InvestorMatcher {
+    private static final InvestorMatcher shared = new InvestorMatcher();
+
+    // Share of the score that comes from budget rather than expertise
+    private static final double BUDGET_WEIGHT = 0.3;
+    // A location term counts this much relative to an industry term
+    private static final double LOCATION_WEIGHT = 0.5;
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "for", "in", "of", "on", "or", "the", "to", "with");
+
+    // score is between 0 and 1; matchedTerms are the founder's terms in the investor's expertise
+    public record Match(Investor investor, double score, List<String> matchedTerms) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Integer, Integer> slotOf = new HashMap<>();
+    private Investor[] investors = new Investor[1024];
+    private String[][] terms = new String[1024][];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+    // The directory rows last synced, so an unchanged directory costs one identity check
+    private List<Investor> source;
+    // Per-slot score arrays for top(), all zero while pooled. Queries run side by side, each on a
+    // fresh virtual thread, so they borrow one from here rather than from a thread-local.
+    private final ConcurrentLinkedQueue<double[]> scoreArrays = new ConcurrentLinkedQueue<>();
+
+    private InvestorMatcher() {
+    }
+
+    public static InvestorMatcher shared() {
+        return shared;
+    }
+
+    // The k best investors for the founder, best first; empty if the profile has no industry or location
+    public List<Match> recommend(Founder founder, int k) throws SQLException {
+        sync(DirectoryCache.investors());
+        Map<String, Double> weights = new LinkedHashMap<>();
+        for (String term : terms(founder.location())) {
+            weights.put(term, LOCATION_WEIGHT);
+        }
+        for (String term : terms(founder.industry())) {
+            weights.put(term, 1.0);
+        }
+        lock.readLock().lock();
+        try {
+            return top(weights, founder.fundingNeeded(), k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Brings the index in line with the directory; returns how many investors were added, changed or removed
+    public int sync(List<Investor> directory) {
+        lock.writeLock().lock();
+        try {
+            if (directory == source) {
+                return 0;
+            }
+            int changed = 0;
+            boolean[] seen = new boolean[slotCount];
+            for (Investor investor : directory) {
+                Integer slot = slotOf.get(investor.userId());
+                if (slot == null) {
+                    slot = allocate();
+                    if (slot < seen.length) {
+                        seen[slot] = true; // A reused slot, not one to sweep below
+                    }
+                    slotOf.put(investor.userId(), slot);
+                    index(slot, investor);
+                    changed++;
+                } else {
+                    seen[slot] = true;
+                    if (!investors[slot].equals(investor)) {
+                        unindex(slot);
+                        index(slot, investor);
+                        changed++;
+                    }
+                }
+            }
+            for (int slot = 0; slot < seen.length; slot++) {
+                if (!seen[slot] && investors[slot] != null) {
+                    slotOf.remove(investors[slot].userId());
+                    unindex(slot);
+                    investors[slot] = null;
+                    release(slot);
+                    changed++;
+                }
+            }
+            source = directory;
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Match> top(Map<String, Double> weights, double fundingNeeded, int k) {
+        int live = slotOf.size();
+        // Borrowed rather than allocated, so a query costs the postings it touches, not the directory size
+        double[] text = scoreArrays.poll();
+        if (text == null || text.length < slotCount) {
+            text = new double[investors.length];
+        }
+        int[] touched = new int[Math.min(slotCount, 1024)];
+        int touchedCount = 0;
+        double bestText = 0;
+        for (Map.Entry<String, Double> weight : weights.entrySet()) {
+            Postings list = postings.get(weight.getKey());
+            if (list == null) {
+                continue;
+            }
+            // Rare terms say more about a fit than ones half the directory lists
+            double termScore = weight.getValue() * Math.log(1 + (double) live / list.size);
+            bestText += termScore;
+            for (int i = 0; i < list.size; i++) {
+                int slot = list.slots[i];
+                if (text[slot] == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, Math.min(slotCount, touchedCount * 2));
+                    }
+                    touched[touchedCount++] = slot;
+                }
+                text[slot] += termScore;
+            }
+        }
+
+        TopK best = new TopK(k);
+        for (int t = 0; t < touchedCount; t++) {
+            int slot = touched[t];
+            best.offer(slot, (1 - BUDGET_WEIGHT) * text[slot] / bestText
+                    + BUDGET_WEIGHT * budgetFit(investors[slot].availableBudget(), fundingNeeded));
+            text[slot] = 0;
+        }
+        scoreArrays.offer(text);
+
+        TopK.Ranking ranking = best.ranking();
+        List<Match> matches = new ArrayList<>(ranking.size());
+        for (int i = 0; i < ranking.size(); i++) {
+            int slot = ranking.items()[i];
+            List<String> matched = new ArrayList<>();
+            for (String term : terms[slot]) {
+                if (weights.containsKey(term)) {
+                    matched.add(term);
+                }
+            }
+            matches.add(new Match(investors[slot], ranking.scores()[i], matched));
+        }
+        return matches;
+    }
+
+    // 1 when the budget covers what the founder needs, less in proportion when it falls short
+    private static double budgetFit(double budget, double needed) {
+        if (needed <= 0) {
+            return 1;
+        }
+        return Math.max(0, Math.min(1, budget / needed));
+    }
+
+    // Lower-case words of letters and digits, without stop words or repeats
+    static List<String> terms(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty() && !STOP_WORDS.contains(word) && !terms.contains(word)) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    private void index(int slot, Investor investor) {
+        investors[slot] = investor;
+        List<String> words = terms(investor.expertiseArea());
+        terms[slot] = words.toArray(new String[0]);
+        for (String term : words) {
+            postings.computeIfAbsent(term, t -> new Postings()).add(slot);
+        }
+    }
+
+    private void unindex(int slot) {
+        for (String term : terms[slot]) {
+            Postings list = postings.get(term);
+            list.remove(slot);
+            if (list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        terms[slot] = null;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == investors.length) {
+            investors = Arrays.copyOf(investors, slotCount * 2);
+            terms = Arrays.copyOf(terms, slotCount * 2);
+        }
+        return slotCount++;
+    }
+
+    private void release(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    // The slots of the investors listing one term, in no particular order
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,4 @@
 import javafx.animation.FadeTransition;
-import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -11,9 +10,16 @@ import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
-import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class InvestorPage {
+    // Revisiting the inbox after this long queries it again
+    private static final Duration INBOX_STALE_AFTER = Duration.seconds(30);
+    private static final int INBOX_PAGE_SIZE = 50;
+
     private final int userId;
     private final String userName;
 
@@ -27,10 +33,11 @@ public class InvestorPage {
         tabPane.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
         tabPane.setStyle("-fx-background-color:#f0f2f5;");
 
-        Tab profileTab = new Tab("Profile", getProfileForm(stage));
-        Tab investmentTab = new Tab("Investment Requests", getInvestmentRequestsTab(stage));
+        Tab profileTab = new LazyTab("Profile", Duration.INDEFINITE, tab -> getProfileForm(stage, tab));
+        Tab investmentTab = new LazyTab("Investment Requests", INBOX_STALE_AFTER, tab -> getInvestmentRequestsTab(stage, tab));
+        Tab searchTab = new LazyTab("Search Applications", Duration.INDEFINITE, tab -> ApplicationSearchView.build(tab, userId));
 
-        tabPane.getTabs().addAll(profileTab, investmentTab);
+        tabPane.getTabs().addAll(profileTab, investmentTab, searchTab);
         tabPane.getSelectionModel().select(profileTab);
 
         Scene scene = new Scene(tabPane, 900, 600);
@@ -44,7 +51,7 @@ public class InvestorPage {
         ft.play();
     }
 
-    private VBox getProfileForm(Stage stage) {
+    private VBox getProfileForm(Stage stage, LazyTab tab) {
         VBox layout = new VBox(15);
         layout.setPadding(new Insets(20));
         layout.setAlignment(Pos.TOP_LEFT);
@@ -56,17 +63,12 @@ public class InvestorPage {
         TextField expertiseArea = new TextField();
         TextField availableBudget = new TextField();
 
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement stmt = conn.prepareStatement("SELECT * FROM investors WHERE user_id = ?");
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                expertiseArea.setText(rs.getString("expertise_area"));
-                availableBudget.setText(rs.getString("available_budget"));
+        tab.setReloader(() -> DataLoader.load(() -> Repositories.investors().findByUserId(userId), investor -> {
+            if (investor != null) {
+                expertiseArea.setText(investor.expertiseArea());
+                availableBudget.setText(String.valueOf(investor.availableBudget()));
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        }));
 
         Button updateButton = new Button("Update Profile");
         updateButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-padding: 10 20;");
@@ -91,20 +93,18 @@ public class InvestorPage {
     }
 
     private void updateProfile(String expertiseArea, String availableBudget) {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement stmt = conn.prepareStatement(
-                    "UPDATE investors SET expertise_area = ?, available_budget = ? WHERE user_id = ?");
-            stmt.setString(1, expertiseArea);
-            stmt.setString(2, availableBudget);
-            stmt.setInt(3, userId);
-
-            int rowsUpdated = stmt.executeUpdate();
-            if (rowsUpdated > 0) {
-                System.out.println("Profile updated successfully.");
-            }
-        } catch (SQLException e) {
+        double budget;
+        try {
+            budget = Double.parseDouble(availableBudget.trim());
+        } catch (NumberFormatException e) {
             e.printStackTrace();
+            return;
         }
+        DataLoader.load(() -> {
+            Repositories.investors().updateProfile(userId, expertiseArea, budget);
+            DirectoryCache.invalidate("investor");
+            return true;
+        }, updated -> System.out.println("Profile updated successfully."));
     }
 
     private void signOut(Stage stage) {
@@ -114,7 +114,7 @@ public class InvestorPage {
     }
 
 
-    private VBox getInvestmentRequestsTab(Stage stage) {
+    private VBox getInvestmentRequestsTab(Stage stage, LazyTab tab) {
         VBox layout = new VBox(15);
         layout.setPadding(new Insets(20));
 
@@ -122,183 +122,123 @@ public class InvestorPage {
         header.setFont(Font.font("Verdana", FontWeight.BOLD, 18));
         header.setTextFill(Color.web("#34495e"));
 
-        TableView<Object[]> table = createModernTable();
+        TableView<InvestmentRequestRow> table = ModernTable.create();
 
-        TableColumn<Object[], String> nameCol = new TableColumn<>("Founder Name");
-        nameCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[0]));
+        TableColumn<InvestmentRequestRow, InvestmentRequestRow> nameCol = TextColumns.of("Founder Name", InvestmentRequestRow::founderName);
 
-        TableColumn<Object[], String> ideaDescCol = new TableColumn<>("Idea Description");
-        ideaDescCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[1]));
+        TableColumn<InvestmentRequestRow, InvestmentRequestRow> ideaDescCol = TextColumns.of("Idea Description", InvestmentRequestRow::ideaDesc);
 
-        TableColumn<Object[], String> stageCol = new TableColumn<>("Stage");
-        stageCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[2]));
+        TableColumn<InvestmentRequestRow, InvestmentRequestRow> stageCol = TextColumns.of("Stage", InvestmentRequestRow::stage);
 
-        TableColumn<Object[], String> statusCol = new TableColumn<>("Status");
-        statusCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[3]));
+        TableColumn<InvestmentRequestRow, InvestmentRequestRow> statusCol = TextColumns.of("Status", InvestmentRequestRow::status);
 
-        TableColumn<Object[], Void> actionCol = new TableColumn<>("Action");
-        actionCol.setCellFactory(param -> new TableCell<>() {
-            private final Button acceptButton = new Button("Accept");
-            private final Button rejectButton = new Button("Reject");
+        TableColumn<InvestmentRequestRow, Void> actionCol = new TableColumn<>("Action");
+        actionCol.setCellFactory(ModernTable.actions(
+                new ModernTable.Action<>("Accept", "accept-button", row -> {
+                    acceptInvestment(row.fundingId());
+                    table.getItems().remove(row);
+                }),
+                new ModernTable.Action<>("Reject", "reject-button", row -> {
+                    rejectInvestment(row.fundingId());
+                    table.getItems().remove(row);
+                })));
 
-            {
-                acceptButton.setStyle("-fx-background-color: #27ae60; -fx-text-fill: white;");
-                rejectButton.setStyle("-fx-background-color: #c0392b; -fx-text-fill: white;");
-
-                acceptButton.setOnAction(event -> {
-                    Object[] row = getTableRow().getItem();
-                    int fundingId = (Integer) row[4];
-                    acceptInvestment(fundingId);
-                    getTableView().getItems().remove(row);
-                });
+        table.getColumns().addAll(nameCol, ideaDescCol, stageCol, statusCol, actionCol);
 
-                rejectButton.setOnAction(event -> {
-                    Object[] row = getTableRow().getItem();
-                    int fundingId = (Integer) row[4];
-                    rejectInvestment(fundingId);
-                    getTableView().getItems().remove(row);
-                });
-            }
+        // ✅ Fetch investment requests from the database, a page at a time. The cursor is the last
+        // funding id fetched, not the last row shown, since accepted and rejected rows leave the table.
+        // Once the last page is in, the cursor is also the high-water mark the poller reads past.
+        int[] after = {0};
+        int[] generation = {0};
+        Button loadMore = new Button("Load more");
+        loadMore.setVisible(false);
+        Supplier<CompletableFuture<?>> appendNext = () -> {
+            loadMore.setDisable(true);
+            int loadedFor = generation[0];
+            return DataLoader.load(() -> Repositories.funding().findPendingForInvestor(userId, after[0], INBOX_PAGE_SIZE + 1), page -> {
+                if (loadedFor == generation[0]) {
+                    table.getItems().addAll(showPage(page, after, loadMore));
+                }
+            }, ex -> loadMore.setDisable(false));
+        };
+        loadMore.setOnAction(e -> appendNext.get());
+
+        tab.setReloader(() -> {
+            generation[0]++;
+            after[0] = 0;
+            loadMore.setVisible(false);
+            loadMore.setDisable(true);
+            int loadedFor = generation[0];
+            table.setPlaceholder(new Label("Loading..."));
+            DataLoader.load(() -> Repositories.funding().findPendingForInvestor(userId, 0, INBOX_PAGE_SIZE + 1), page -> {
+                if (loadedFor == generation[0]) {
+                    table.setPlaceholder(new Label("Nothing to show"));
+                    table.getItems().setAll(showPage(page, after, loadMore));
+                }
+            }, ex -> {
+                table.setPlaceholder(new Label("Could not load data"));
+                loadMore.setDisable(false);
+            });
+        });
 
-            @Override
-            public void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty) {
-                    setGraphic(null);
+        // New requests arrive past the high-water mark. While older pages are still unread, or a page
+        // is being fetched, the poll is skipped; Load more reaches the new rows in order.
+        DeltaPoller poller = new DeltaPoller(tab, DeltaPoller.INBOX_INTERVAL,
+                () -> loadMore.isVisible() || loadMore.isDisabled() ? null : appendNext.get());
+
+        // With a change feed, new requests are fetched as soon as a founder submits them, and ones
+        // decided in another session of this investor leave the table
+        ChangeFeed.follow(tab, ChangeFeed.inboxTopic("investor", userId), events -> {
+            boolean arrived = false;
+            for (String event : events) {
+                int decided = ChangeFeed.decidedId(event);
+                if (decided < 0) {
+                    arrived = true;
                 } else {
-                    HBox actionBox = new HBox(10, acceptButton, rejectButton);
-                    actionBox.setAlignment(Pos.CENTER);
-                    setGraphic(actionBox);
+                    table.getItems().removeIf(row -> row.fundingId() == decided);
                 }
             }
-        });
-
-        table.getColumns().addAll(nameCol, ideaDescCol, stageCol, statusCol, actionCol);
-
-        // ✅ Fetch investment requests from the database
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql =
-                    "SELECT " +
-                            "  a.support_name, " +                  // the founder’s name stored on the application
-                            "  a.idea_desc, " +
-                            "  a.stage, " +
-                            "  f.amount, " +
-                            "  f.funding_status, " +
-                            "  f.funding_id " +                     // now included!
-                            "FROM applications a " +
-                            "LEFT JOIN ( " +
-                            "  SELECT * FROM ( " +
-                            "    SELECT " +
-                            "      f.id           AS funding_id, " +
-                            "      f.investor_id, " +
-                            "      f.founder_id, " +
-                            "      f.amount, " +
-                            "      f.status       AS funding_status, " +
-                            "      ROW_NUMBER() OVER ( " +
-                            "        PARTITION BY f.founder_id, f.investor_id " +
-                            "        ORDER BY f.id" +
-                            "      ) AS rn " +
-                            "    FROM funding f " +
-                            "  ) sub " +
-                            "  WHERE rn = 1 " +                    // pick only the most recent funding per pair
-                            ") f " +
-                            "  ON f.founder_id = a.founder_id " +
-                            "  AND f.investor_id = a.support_id " +
-                            "WHERE f.investor_id    = ? " +         // only your own requests
-                            "  AND f.funding_status = 'Investment Pending' " +
-                            "  AND a.status         = 'Investment Pending'";
-
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, userId);  // your logged‑in investor’s ID
-
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                String founderName  = rs.getString("support_name");
-                String ideaDesc     = rs.getString("idea_desc");
-                String stages        = rs.getString("stage");
-                String fundStatus   = rs.getString("funding_status");
-                int    fundingId    = rs.getInt   ("funding_id");
-
-                table.getItems().add(new Object[]{
-                        founderName,
-                        ideaDesc,
-                        stages,
-                        fundStatus,
-                        fundingId
-                });
+            if (arrived) {
+                poller.pollNow();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        });
 
-        layout.getChildren().addAll(header, table);
+        layout.getChildren().addAll(header, table, loadMore);
         return layout;
     }
 
 
-    private void acceptInvestment(int fundingId) {
-        try (Connection conn = DBConnection.getConnection()) {
-            conn.setAutoCommit(false);
-
-            // Update the status of the funding
-            PreparedStatement updateFundingStmt = conn.prepareStatement(
-                    "UPDATE funding SET status = 'Accepted' WHERE id = ?"
-            );
-            updateFundingStmt.setInt(1, fundingId);
-            updateFundingStmt.executeUpdate();
-
-            // Update the status of the application
-            PreparedStatement updateAppStmt = conn.prepareStatement(
-                    "UPDATE applications SET status = 'Accepted' WHERE id = ?"
-            );
-            updateAppStmt.setInt(1, fundingId); // Use the same ID for applications
-            updateAppStmt.executeUpdate();
-
-            conn.commit();
-        } catch (SQLException e) {
-            e.printStackTrace();
+    // Rows to show from a page fetched one longer than INBOX_PAGE_SIZE; the extra row only says there is more
+    private static List<InvestmentRequestRow> showPage(List<FundingRepository.InvestmentRequest> page, int[] after, Button loadMore) {
+        boolean more = page.size() > INBOX_PAGE_SIZE;
+        List<InvestmentRequestRow> rows = new ArrayList<>(INBOX_PAGE_SIZE);
+        for (FundingRepository.InvestmentRequest request : page.subList(0, Math.min(page.size(), INBOX_PAGE_SIZE))) {
+            rows.add(InvestmentRequestRow.of(request));
+            after[0] = request.fundingId();
         }
+        loadMore.setVisible(more);
+        loadMore.setDisable(false);
+        return rows;
+    }
+
+    private void acceptInvestment(int fundingId) {
+        // Updates the funding and its application together
+        DataLoader.load(() -> {
+            Repositories.funding().updateStatus(fundingId, "Accepted");
+            return true;
+        }, updated -> publishDecided(fundingId));
     }
 
     private void rejectInvestment(int fundingId) {
-        try (Connection conn = DBConnection.getConnection()) {
-            // Update the status of the funding to 'Rejected'
-            PreparedStatement updateFundingStmt = conn.prepareStatement(
-                    "UPDATE funding SET status = 'Rejected' WHERE id = ?"
-            );
-            updateFundingStmt.setInt(1, fundingId);
-            updateFundingStmt.executeUpdate();
-
-            // Update the status of the application to 'Rejected'
-            PreparedStatement updateAppStmt = conn.prepareStatement(
-                    "UPDATE applications SET status = 'Rejected' WHERE id = ?"
-            );
-            updateAppStmt.setInt(1, fundingId); // Use the same ID for applications
-            updateAppStmt.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        // Update the status of the funding and its application to 'Rejected'
+        DataLoader.load(() -> {
+            Repositories.funding().updateStatus(fundingId, "Rejected");
+            return true;
+        }, updated -> publishDecided(fundingId));
     }
 
-    private TableView<Object[]> createModernTable() {
-        TableView<Object[]> table = new TableView<>();
-        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
-        table.setStyle("-fx-background-color:white; -fx-border-color:#ddd; -fx-border-radius:8; -fx-background-radius:8;");
-
-        // Zebra striping
-        table.setRowFactory(tv -> new TableRow<Object[]>() {
-            @Override
-            protected void updateItem(Object[] item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setStyle("");
-                } else if (getIndex() % 2 == 0) {
-                    setStyle("-fx-background-color:#f9f9f9;");
-                } else {
-                    setStyle("");
-                }
-            }
-        });
-        return table;
+    private void publishDecided(int fundingId) {
+        ChangeFeed.publishDecided(ChangeFeed.inboxTopic("investor", userId), fundingId);
+        ChangeFeed.publishDecided(ChangeFeed.ADMIN_TOPIC, fundingId);
     }
 }
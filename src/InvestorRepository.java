@@ -0,0 +1,11 @@
+import java.sql.SQLException;
+import java.util.List;
+
+public interface InvestorRepository {
+    // Every investor, named from the users table
+    List<Investor> findAll() throws SQLException;
+
+    Investor findByUserId(int userId) throws SQLException;
+
+    void updateProfile(int userId, String expertiseArea, double availableBudget) throws SQLException;
+}
@@ -0,0 +1,7 @@
+// One line of the founder's investor directory; budgetText is formatted once, at load
+public record InvestorRow(int userId, String name, String expertiseArea, double availableBudget, String budgetText) {
+    public static InvestorRow of(Investor investor) {
+        return new InvestorRow(investor.userId(), investor.name(), investor.expertiseArea(),
+                investor.availableBudget(), String.format("$%,.2f", investor.availableBudget()));
+    }
+}
@@ -0,0 +1,166 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Compiles a TableQuery into parameterized Oracle SQL over one table. Only the columns named in
+// the whitelist can be filtered or sorted on, and user text only ever reaches the database as a
+// bind value. Pages seek past a (sort value, id) key, so no page costs more than its own rows
+// given an index on (sort column, id).
+final class KeysetSql {
+    enum Kind { NUMBER, TEXT, DATE, SORT_ONLY }
+
+    record Column(String expr, Kind kind) {
+    }
+
+    private final String table;
+    private final String selectList;
+    private final String baseWhere;
+    private final Map<String, Column> columns;
+
+    // baseWhere may hold ? placeholders; their values are passed as baseParams on every call
+    KeysetSql(String table, String selectList, String baseWhere, Map<String, Column> columns) {
+        this.table = table;
+        this.selectList = selectList;
+        this.baseWhere = baseWhere;
+        this.columns = columns;
+    }
+
+    // Row count plus the key of every pageSize-th row, read in one pass
+    PageLayout layout(Connection conn, TableQuery query, int pageSize, Object... baseParams) throws SQLException {
+        List<Object> params = new ArrayList<>(List.of(baseParams));
+        String where = where(query, params);
+        String sql = "SELECT sort_key, id, rn, cnt FROM (" +
+                "  SELECT " + sortExpr(query) + " AS sort_key, id, ROW_NUMBER() OVER (ORDER BY " + orderBy(query) + ") AS rn," +
+                "  COUNT(*) OVER () AS cnt FROM " + table + " WHERE " + where +
+                ") WHERE MOD(rn, ?) = 0 OR rn = cnt ORDER BY rn";
+        params.add(pageSize);
+        int count = 0;
+        List<Object> afterKeys = new ArrayList<>();
+        afterKeys.add(null);
+        try (PreparedStatement ps = prepare(conn, sql, params);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                count = rs.getInt("cnt");
+                if (rs.getInt("rn") < count) {
+                    afterKeys.add(new TableQuery.Key(rs.getObject("sort_key"), rs.getInt("id")));
+                }
+            }
+        }
+        return count == 0 ? PageLayout.EMPTY : new PageLayout(count, afterKeys);
+    }
+
+    // The select list for up to limit rows after the given key (null for the first page)
+    PreparedStatement page(Connection conn, TableQuery query, TableQuery.Key after, int limit, Object... baseParams) throws SQLException {
+        List<Object> params = new ArrayList<>(List.of(baseParams));
+        String where = where(query, params);
+        if (after != null) {
+            where += " AND " + seekPast(query, after, params);
+        }
+        params.add(limit);
+        String sql = "SELECT " + selectList + " FROM " + table + " WHERE " + where +
+                " ORDER BY " + orderBy(query) + " FETCH FIRST ? ROWS ONLY";
+        return prepare(conn, sql, params);
+    }
+
+    private String where(TableQuery query, List<Object> params) {
+        StringBuilder where = new StringBuilder(baseWhere);
+        query.filters().forEach((name, text) -> {
+            Column column = column(name);
+            where.append(" AND ");
+            switch (column.kind()) {
+                case NUMBER -> {
+                    try {
+                        params.add(Long.parseLong(text));
+                        where.append(column.expr()).append(" = ?");
+                    } catch (NumberFormatException e) {
+                        where.append("1 = 0");
+                    }
+                }
+                case TEXT -> {
+                    // Prefix match on UPPER(column), which a function-based index can serve
+                    params.add(escapeLike(text.toUpperCase()) + "%");
+                    where.append("UPPER(").append(column.expr()).append(") LIKE ? ESCAPE '\\'");
+                }
+                case DATE -> {
+                    // A DateRange; a half-open range on the column itself, which an index on it can serve
+                    try {
+                        DateRange range = DateRange.parse(text);
+                        where.append("1 = 1");
+                        if (range.from() != null) {
+                            params.add(java.sql.Date.valueOf(range.from()));
+                            where.append(" AND ").append(column.expr()).append(" >= ?");
+                        }
+                        if (range.to() != null) {
+                            params.add(java.sql.Date.valueOf(range.to().plusDays(1)));
+                            where.append(" AND ").append(column.expr()).append(" < ?");
+                        }
+                    } catch (IllegalArgumentException e) {
+                        where.append("1 = 0");
+                    }
+                }
+                case SORT_ONLY -> throw new IllegalArgumentException("Column cannot be filtered: " + name);
+            }
+        });
+        return where.toString();
+    }
+
+    private String sortExpr(TableQuery query) {
+        return query.sortsById() ? "id" : column(query.sortColumn()).expr();
+    }
+
+    private String orderBy(TableQuery query) {
+        String dir = query.descending() ? " DESC" : "";
+        return query.sortsById() ? "id" + dir : sortExpr(query) + dir + ", id" + dir;
+    }
+
+    // Rows strictly after the key in query order. Oracle puts NULLs last ascending and first
+    // descending, so a NULL sort value is spelled out rather than compared.
+    private String seekPast(TableQuery query, TableQuery.Key after, List<Object> params) {
+        String c = sortExpr(query);
+        String cmp = query.descending() ? "<" : ">";
+        if (query.sortsById()) {
+            params.add(after.id());
+            return "id " + cmp + " ?";
+        }
+        if (after.value() == null) {
+            params.add(after.id());
+            return query.descending()
+                    ? "(" + c + " IS NOT NULL OR id < ?)"
+                    : "(" + c + " IS NULL AND id > ?)";
+        }
+        params.add(after.value());
+        params.add(after.value());
+        params.add(after.id());
+        String seek = c + " " + cmp + " ? OR (" + c + " = ? AND id " + cmp + " ?)";
+        return query.descending() ? "(" + seek + ")" : "(" + seek + " OR " + c + " IS NULL)";
+    }
+
+    private Column column(String name) {
+        Column column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown column: " + name);
+        }
+        return column;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static PreparedStatement prepare(Connection conn, String sql, List<Object> params) throws SQLException {
+        PreparedStatement ps = conn.prepareStatement(sql);
+        try {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+        } catch (SQLException e) {
+            ps.close();
+            throw e;
+        }
+        return ps;
+    }
+}
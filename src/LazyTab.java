@@ -0,0 +1,83 @@
+import javafx.scene.Node;
+import javafx.scene.control.Tab;
+import javafx.util.Duration;
+
+import java.util.function.Function;
+
+// A tab whose content is built, and whose data is first queried, only when it is first selected.
+// On later visits the reloader runs again only if the data is older than staleAfter:
+// Duration.ZERO reloads on every visit, Duration.INDEFINITE never does.
+public final class LazyTab extends Tab {
+    private final Duration staleAfter;
+    private final Function<LazyTab, Node> builder;
+    private Runnable reloader;
+    private long loadedAt;
+    private boolean built;
+    private boolean invalidated;
+
+    public LazyTab(String title, Duration staleAfter, Function<LazyTab, Node> builder) {
+        super(title);
+        this.staleAfter = staleAfter;
+        this.builder = builder;
+        selectedProperty().addListener((obs, wasSelected, isSelected) -> {
+            if (isSelected) {
+                materialize();
+            }
+        });
+    }
+
+    // Called by the builder to register the query that fills the tab
+    public void setReloader(Runnable reloader) {
+        this.reloader = reloader;
+    }
+
+    public boolean isBuilt() {
+        return built;
+    }
+
+    // Marks the data out of date: reloads now if the tab is showing, otherwise on its next visit
+    public void invalidate() {
+        if (isSelected()) {
+            refresh();
+        } else {
+            invalidated = true;
+        }
+    }
+
+    // False once the tab's window has been closed or shows another scene, e.g. after signing out
+    public boolean isOnScreen() {
+        return getTabPane() != null
+                && getTabPane().getScene() != null
+                && getTabPane().getScene().getWindow() != null
+                && getTabPane().getScene().getWindow().isShowing();
+    }
+
+    // Re-runs the query now, regardless of staleness
+    public void refresh() {
+        if (built && reloader != null) {
+            invalidated = false;
+            loadedAt = System.nanoTime();
+            reloader.run();
+        }
+    }
+
+    private void materialize() {
+        if (!built) {
+            built = true;
+            setContent(builder.apply(this));
+            refresh();
+        } else if (isStale()) {
+            refresh();
+        }
+    }
+
+    private boolean isStale() {
+        if (invalidated) {
+            return true;
+        }
+        if (staleAfter.isIndefinite()) {
+            return false;
+        }
+        return (System.nanoTime() - loadedAt) / 1_000_000 >= staleAfter.toMillis();
+    }
+}
@@ -9,12 +9,17 @@ import javafx.scene.text.Font;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
-import java.sql.*;
+import java.sql.SQLException;
 import java.util.regex.Pattern;
 
 public class LoginPage {
 
     public void show(Stage stage) {
+        // Open pooled sessions in the background while the user types their credentials
+        if (Repositories.isOracle()) {
+            DBConnection.warmUp();
+        }
+
         Label title = new Label("Login");
         title.setFont(Font.font("Arial", 24));
         title.setTextFill(Color.CYAN);
@@ -55,16 +60,13 @@ public class LoginPage {
             return;
         }
 
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement stmt = conn.prepareStatement("SELECT id, name, role FROM users WHERE email = ? AND password = ?");
-            stmt.setString(1, email);
-            stmt.setString(2, password);
-            ResultSet rs = stmt.executeQuery();
+        try {
+            User user = Repositories.users().findByCredentials(email, password);
 
-            if (rs.next()) {
-                int userId = rs.getInt("id");
-                String userName = rs.getString("name");
-                String role = rs.getString("role");
+            if (user != null) {
+                int userId = user.getId();
+                String userName = user.getName();
+                String role = user.getRole();
 
                 if ("Founder".equalsIgnoreCase(role)) {
                     FounderPage founderPage = new FounderPage(userId, userName);
@@ -127,64 +129,12 @@ public class LoginPage {
                 return;
             }
 
-            try (Connection conn = DBConnection.getConnection()) {
-                PreparedStatement userStmt = conn.prepareStatement(
-                        "INSERT INTO users (id, name, email, password, role) VALUES (users_seq.NEXTVAL, ?, ?, ?, ?)"
-                );
-                userStmt.setString(1, name);
-                userStmt.setString(2, email);
-                userStmt.setString(3, password);
-                userStmt.setString(4, role);
-                userStmt.executeUpdate();
-
-                PreparedStatement getIdStmt = conn.prepareStatement("SELECT users_seq.CURRVAL FROM dual");
-                ResultSet rs = getIdStmt.executeQuery();
-                int userId = -1;
-                if (rs.next()) {
-                    userId = rs.getInt(1);
-                }
-
-                PreparedStatement roleStmt = null;
-                switch (role.toLowerCase()) {
-                    case "investor":
-                        roleStmt = conn.prepareStatement("INSERT INTO investors (user_id, name, email, expertise_area, available_budget) VALUES (?, ?, ?, ?, ?)");
-                        roleStmt.setInt(1, userId);
-                        roleStmt.setString(2, name);
-                        roleStmt.setString(3, email);
-                        roleStmt.setString(4, "");
-                        roleStmt.setDouble(5, 0.0);
-                        break;
-
-                    case "mentor":
-                        roleStmt = conn.prepareStatement("INSERT INTO mentors (user_id, name, email, expertise, availability) VALUES (?, ?, ?, ?, ?)");
-                        roleStmt.setInt(1, userId);
-                        roleStmt.setString(2, name);
-                        roleStmt.setString(3, email);
-                        roleStmt.setString(4, "");
-                        roleStmt.setString(5, "");
-                        break;
-
-                    case "founder":
-                        roleStmt = conn.prepareStatement("INSERT INTO founders (user_id, name, email, startup_name, industry, location, team_size, funding_needed) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
-                        roleStmt.setInt(1, userId);
-                        roleStmt.setString(2, name);
-                        roleStmt.setString(3, email);
-                        roleStmt.setString(4, "");
-                        roleStmt.setString(5, "");
-                        roleStmt.setString(6, "");
-                        roleStmt.setInt(7, 1);
-                        roleStmt.setDouble(8, 0.0);
-                        break;
-
-                    default:
-                        showAlert("Unknown role: " + role);
-                        return;
-                }
-
-                if (roleStmt != null) {
-                    roleStmt.executeUpdate();
-                }
+            try {
+                // users row and role row in one transaction
+                int userId = Repositories.registrations().register(
+                        new RegistrationRepository.Registration(name, email, password, role));
 
+                DirectoryCache.invalidate(role);
                 showAlert("Registration successful!");
                 switch (role.toLowerCase()) {
                     case "investor": new InvestorPage(userId,name).show(stage); break;
@@ -7,6 +7,11 @@ public class Main extends Application {
         new LoginPage().show(primaryStage);
     }
 
+    @Override
+    public void stop() {
+        DBConnection.shutdown();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -0,0 +1,2 @@
+public record Mentor(int userId, String name, String email, String expertise, String availability) {
+}
@@ -1,5 +1,4 @@
 import javafx.animation.FadeTransition;
-import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -11,9 +10,18 @@ import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
-import java.sql.*;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class MentorPage {
+    // Revisiting the inbox after this long queries it again
+    private static final Duration INBOX_STALE_AFTER = Duration.seconds(30);
+
     private final int userId;
     private final String userName;
 
@@ -27,10 +35,11 @@ public class MentorPage {
         tabPane.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
         tabPane.setStyle("-fx-background-color:#f0f2f5;");
 
-        Tab profileTab = new Tab("Profile", getProfileForm(stage));
-        Tab mentorshipTab = new Tab("Mentorship Requests", getMentorshipRequestsTab(stage));
+        Tab profileTab = new LazyTab("Profile", Duration.INDEFINITE, tab -> getProfileForm(stage, tab));
+        Tab mentorshipTab = new LazyTab("Mentorship Requests", INBOX_STALE_AFTER, tab -> getMentorshipRequestsTab(stage, tab));
+        Tab searchTab = new LazyTab("Search Applications", Duration.INDEFINITE, tab -> ApplicationSearchView.build(tab, userId));
 
-        tabPane.getTabs().addAll(profileTab, mentorshipTab);
+        tabPane.getTabs().addAll(profileTab, mentorshipTab, searchTab);
         tabPane.getSelectionModel().select(profileTab);
 
         Scene scene = new Scene(tabPane, 900, 600);
@@ -44,7 +53,7 @@ public class MentorPage {
         ft.play();
     }
 
-    private VBox getProfileForm(Stage stage) {
+    private VBox getProfileForm(Stage stage, LazyTab tab) {
         VBox layout = new VBox(15);
         layout.setPadding(new Insets(20));
         layout.setAlignment(Pos.TOP_LEFT);
@@ -54,26 +63,74 @@ public class MentorPage {
         header.setTextFill(Color.web("#34495e"));
 
         TextField expertise = new TextField();
-        TextField availability = new TextField();
         TextField email = new TextField();
         email.setDisable(true); // Email should not be editable
 
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement stmt = conn.prepareStatement("SELECT * FROM mentors WHERE user_id = ?");
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                expertise.setText(rs.getString("expertise"));
-                availability.setText(rs.getString("availability"));
-                email.setText(rs.getString("email"));
+        // Weekly availability as slots; booked ones are shown but cannot be removed here
+        ListView<MentorSlot> slots = new ListView<>();
+        slots.setPrefHeight(160);
+        slots.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(MentorSlot slot, boolean empty) {
+                super.updateItem(slot, empty);
+                setText(empty || slot == null ? null : slot + (slot.isOpen() ? "" : "  (booked)"));
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        });
+        ComboBox<DayOfWeek> day = new ComboBox<>();
+        day.getItems().addAll(DayOfWeek.values());
+        day.setPromptText("Day");
+        TextField from = new TextField();
+        from.setPromptText("From (HH:mm)");
+        from.setPrefColumnCount(6);
+        TextField to = new TextField();
+        to.setPromptText("To (HH:mm)");
+        to.setPrefColumnCount(6);
+        Button addSlot = new Button("Add");
+        Button removeSlot = new Button("Remove Selected");
+        addSlot.setOnAction(e -> {
+            MentorSlot slot;
+            try {
+                slot = new MentorSlot(0, userId, day.getValue(), MentorSlot.parseTime(from.getText()),
+                        MentorSlot.parseTime(to.getText()), null);
+            } catch (RuntimeException ex) {
+                showAlert("Enter a day and a time range such as 14:00 to 16:00.");
+                return;
+            }
+            for (MentorSlot existing : slots.getItems()) {
+                if (existing.overlaps(slot)) {
+                    showAlert("That overlaps " + existing + ".");
+                    return;
+                }
+            }
+            slots.getItems().add(slot);
+            slots.getItems().sort(Comparator.comparingInt(MentorSlot::weekStart));
+            from.clear();
+            to.clear();
+        });
+        removeSlot.setOnAction(e -> {
+            MentorSlot selected = slots.getSelectionModel().getSelectedItem();
+            if (selected != null && !selected.isOpen()) {
+                showAlert("A booked slot opens again when its request is rejected.");
+            } else if (selected != null) {
+                slots.getItems().remove(selected);
+            }
+        });
+        HBox slotEditor = new HBox(10, day, from, to, addSlot, removeSlot);
+        slotEditor.setAlignment(Pos.CENTER_LEFT);
+
+        tab.setReloader(() -> {
+            DataLoader.load(() -> Repositories.mentors().findByUserId(userId), mentor -> {
+                if (mentor != null) {
+                    expertise.setText(mentor.expertise());
+                    email.setText(mentor.email());
+                }
+            });
+            DataLoader.load(() -> Repositories.mentorSlots().findForMentor(userId), mine -> slots.getItems().setAll(mine));
+        });
 
         Button updateButton = new Button("Update Profile");
         updateButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-padding: 10 20;");
-        updateButton.setOnAction(e -> updateProfile(expertise.getText(), availability.getText()));
+        updateButton.setOnAction(e -> updateProfile(expertise.getText(), slots));
 
         // Sign out Button
         Button signOutButton = new Button("Sign Out");
@@ -86,30 +143,45 @@ public class MentorPage {
 
         form.add(new Label("Expertise:"), 0, 0);
         form.add(expertise, 1, 0);
-        form.add(new Label("Availability:"), 0, 1);
-        form.add(availability, 1, 1);
-        form.add(new Label("Email:"), 0, 2);
-        form.add(email, 1, 2);
+        form.add(new Label("Email:"), 0, 1);
+        form.add(email, 1, 1);
+        form.add(new Label("Weekly Availability:"), 0, 2);
+        form.add(slots, 1, 2);
+        form.add(slotEditor, 1, 3);
 
         layout.getChildren().addAll(header, form, updateButton, signOutButton);
         return layout;
     }
 
-    private void updateProfile(String expertise, String availability) {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement stmt = conn.prepareStatement(
-                    "UPDATE mentors SET expertise = ?, availability = ? WHERE user_id = ?");
-            stmt.setString(1, expertise);
-            stmt.setString(2, availability);
-            stmt.setInt(3, userId);
-
-            int rowsUpdated = stmt.executeUpdate();
-            if (rowsUpdated > 0) {
-                System.out.println("Profile updated successfully.");
+    // Saves the open slots with the profile; mentors.availability is kept as their summary, for the
+    // directory views. The list is re-read afterwards, since founders may have booked slots meanwhile.
+    private void updateProfile(String expertise, ListView<MentorSlot> slots) {
+        List<MentorSlot> open = new ArrayList<>();
+        for (MentorSlot slot : slots.getItems()) {
+            if (slot.isOpen()) {
+                open.add(slot);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
+        DataLoader.load(() -> {
+            List<MentorSlot> refused = Repositories.mentorSlots().saveProfile(userId, expertise, open);
+            DirectoryCache.invalidate("mentor");
+            MentorSchedule.invalidate();
+            return Map.entry(refused, Repositories.mentorSlots().findForMentor(userId));
+        }, saved -> {
+            slots.getItems().setAll(saved.getValue());
+            if (saved.getKey().isEmpty()) {
+                System.out.println("Profile updated successfully.");
+            } else {
+                showAlert("Profile updated, but these slots overlap ones booked meanwhile and were not saved: "
+                        + saved.getKey().stream().map(MentorSlot::toString).collect(Collectors.joining(", ")));
+            }
+        });
+    }
+
+    private void showAlert(String message) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setContentText(message);
+        alert.showAndWait();
     }
 
     private void signOut(Stage stage) {
@@ -119,7 +191,7 @@ public class MentorPage {
     }
 
 
-    private VBox getMentorshipRequestsTab(Stage stage) {
+    private VBox getMentorshipRequestsTab(Stage stage, LazyTab tab) {
         VBox layout = new VBox(15);
         layout.setPadding(new Insets(20));
 
@@ -127,135 +199,105 @@ public class MentorPage {
         header.setFont(Font.font("Verdana", FontWeight.BOLD, 18));
         header.setTextFill(Color.web("#34495e"));
 
-        TableView<Object[]> table = createModernTable();
+        TableView<MentorshipRequestRow> table = ModernTable.create();
 
-        TableColumn<Object[], String> nameCol = new TableColumn<>("Mentee Name");
-        nameCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[0]));
+        TableColumn<MentorshipRequestRow, MentorshipRequestRow> nameCol = TextColumns.of("Mentee Name", MentorshipRequestRow::menteeName);
 
-        TableColumn<Object[], String> requestDescCol = new TableColumn<>("Request Description");
-        requestDescCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[1]));
+        TableColumn<MentorshipRequestRow, MentorshipRequestRow> requestDescCol = TextColumns.of("Request Description", MentorshipRequestRow::ideaDesc);
 
-        TableColumn<Object[], String> statusCol = new TableColumn<>("Status");
-        statusCol.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[2]));
+        TableColumn<MentorshipRequestRow, MentorshipRequestRow> statusCol = TextColumns.of("Status", MentorshipRequestRow::status);
 
-        TableColumn<Object[], Void> actionCol = new TableColumn<>("Action");
-        actionCol.setCellFactory(param -> new TableCell<>() {
-            private final Button acceptButton = new Button("Accept");
-            private final Button rejectButton = new Button("Reject");
+        TableColumn<MentorshipRequestRow, Void> actionCol = new TableColumn<>("Action");
+        actionCol.setCellFactory(ModernTable.actions(
+                new ModernTable.Action<>("Accept", "accept-button", row -> {
+                    acceptRequest(row.requestId());
+                    table.getItems().remove(row);
+                }),
+                new ModernTable.Action<>("Reject", "reject-button", row -> {
+                    rejectRequest(row.requestId());
+                    table.getItems().remove(row);
+                })));
 
-            {
-                acceptButton.setStyle("-fx-background-color: #27ae60; -fx-text-fill: white;");
-                rejectButton.setStyle("-fx-background-color: #c0392b; -fx-text-fill: white;");
+        table.getColumns().addAll(nameCol, requestDescCol, statusCol, actionCol);
 
-                acceptButton.setOnAction(event -> {
-                    Object[] row = getTableRow().getItem();
-                    int requestId = (Integer) row[3];
-                    acceptRequest(requestId);
-                    getTableView().getItems().remove(row);
-                });
+        // ✅ Fetch mentorship requests from the database. after is the highest request id read so far;
+        // the poller only asks for requests past it and appends them.
+        int[] after = {0};
+        int[] generation = {0};
+        boolean[] loaded = {false};
+        tab.setReloader(() -> {
+            generation[0]++;
+            loaded[0] = false;
+            int loadedFor = generation[0];
+            table.setPlaceholder(new Label("Loading..."));
+            DataLoader.load(() -> rowsAfter(0), rows -> {
+                if (loadedFor == generation[0]) {
+                    table.setPlaceholder(new Label("Nothing to show"));
+                    table.getItems().setAll(rows);
+                    after[0] = highWater(rows, 0);
+                    loaded[0] = true;
+                }
+            }, ex -> table.setPlaceholder(new Label("Could not load data")));
+        });
 
-                rejectButton.setOnAction(event -> {
-                    Object[] row = getTableRow().getItem();
-                    int requestId = (Integer) row[3];
-                    rejectRequest(requestId);
-                    getTableView().getItems().remove(row);
-                });
+        DeltaPoller poller = new DeltaPoller(tab, DeltaPoller.INBOX_INTERVAL, () -> {
+            if (!loaded[0]) {
+                return null;
             }
+            int loadedFor = generation[0];
+            return DataLoader.load(() -> rowsAfter(after[0]), rows -> {
+                if (loadedFor == generation[0]) {
+                    after[0] = highWater(rows, after[0]);
+                    table.getItems().addAll(rows);
+                }
+            });
+        });
 
-            @Override
-            public void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty) {
-                    setGraphic(null);
+        // With a change feed, new requests are fetched as soon as a founder sends them, and ones
+        // decided in another session of this mentor leave the table
+        ChangeFeed.follow(tab, ChangeFeed.inboxTopic("mentor", userId), events -> {
+            boolean arrived = false;
+            for (String event : events) {
+                int decided = ChangeFeed.decidedId(event);
+                if (decided < 0) {
+                    arrived = true;
                 } else {
-                    HBox actionBox = new HBox(10, acceptButton, rejectButton);
-                    actionBox.setAlignment(Pos.CENTER);
-                    setGraphic(actionBox);
+                    table.getItems().removeIf(row -> row.requestId() == decided);
                 }
             }
-        });
-
-        table.getColumns().addAll(nameCol, requestDescCol, statusCol, actionCol);
-
-        // ✅ Fetch mentorship requests from the database
-        try (Connection conn = DBConnection.getConnection()) {
-            String sql =
-                    "SELECT " +
-                            "  r.support_name AS mentee_name, " +
-                            "  r.idea_desc, " +
-                            "  r.status, " +
-                            "  r.id AS request_id " +
-                            "FROM applications r " +
-                            "JOIN mentor_requests m ON r.support_id = m.mentor_id " +
-                            "WHERE r.support_id = ? " +
-                            "  AND m.status = 'Mentor Pending'";
-
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, userId);  // your logged‑in mentor’s ID
-
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                String menteeName = rs.getString("mentee_name");
-                String requestDesc = rs.getString("idea_desc");
-                String status = rs.getString("status");
-                int requestId = rs.getInt("request_id");
-
-                table.getItems().add(new Object[]{
-                        menteeName,
-                        requestDesc,
-                        status,
-                        requestId
-                });
+            if (arrived) {
+                poller.pollNow();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        });
 
         layout.getChildren().addAll(header, table);
         return layout;
     }
 
-    private void acceptRequest(int requestId) {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement updateStmt = conn.prepareStatement(
-                    "UPDATE mentor_requests SET status = 'Accepted' WHERE id = ?");
-            updateStmt.setInt(1, requestId);
-            updateStmt.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
+    private List<MentorshipRequestRow> rowsAfter(int afterRequestId) throws SQLException {
+        List<MentorshipRequestRow> rows = new ArrayList<>();
+        for (MentorRequestRepository.MentorshipRequest request : Repositories.mentorRequests().findPendingForMentor(userId, afterRequestId)) {
+            rows.add(MentorshipRequestRow.of(request));
         }
+        return rows;
     }
 
-    private void rejectRequest(int requestId) {
-        try (Connection conn = DBConnection.getConnection()) {
-            PreparedStatement updateStmt = conn.prepareStatement(
-                    "UPDATE mentor_requests SET status = 'Rejected' WHERE id = ?");
-            updateStmt.setInt(1, requestId);
-            updateStmt.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    private static int highWater(List<MentorshipRequestRow> rows, int current) {
+        return rows.isEmpty() ? current : rows.get(rows.size() - 1).requestId();
     }
 
-    private TableView<Object[]> createModernTable() {
-        TableView<Object[]> table = new TableView<>();
-        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
-        table.setStyle("-fx-background-color:white; -fx-border-color:#ddd; -fx-border-radius:8; -fx-background-radius:8;");
+    private void acceptRequest(int requestId) {
+        DataLoader.load(() -> {
+            Repositories.mentorRequests().updateStatus(requestId, "Accepted");
+            return true;
+        }, updated -> ChangeFeed.publishDecided(ChangeFeed.inboxTopic("mentor", userId), requestId));
+    }
 
-        // Zebra striping
-        table.setRowFactory(tv -> new TableRow<Object[]>() {
-            @Override
-            protected void updateItem(Object[] item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setStyle("");
-                } else if (getIndex() % 2 == 0) {
-                    setStyle("-fx-background-color:#f9f9f9;");
-                } else {
-                    setStyle("");
-                }
-            }
-        });
-        return table;
+    private void rejectRequest(int requestId) {
+        DataLoader.load(() -> {
+            Repositories.mentorRequests().updateStatus(requestId, "Rejected");
+            MentorSchedule.invalidate(); // Its slot is open again
+            return true;
+        }, updated -> ChangeFeed.publishDecided(ChangeFeed.inboxTopic("mentor", userId), requestId));
     }
 }
\ No newline at end of file
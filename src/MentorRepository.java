@@ -0,0 +1,9 @@
+import java.sql.SQLException;
+import java.util.List;
+
+public interface MentorRepository {
+    // Every mentor, named from the users table
+    List<Mentor> findAll() throws SQLException;
+
+    Mentor findByUserId(int userId) throws SQLException;
+}
@@ -0,0 +1,2 @@
+public record MentorRequest(int id, int mentorId, int founderId, String status) {
+}
@@ -0,0 +1,26 @@
+import java.sql.SQLException;
+import java.util.List;
+
+public interface MentorRequestRepository {
+    // A founder's mentor request: the mentor_requests row and its application (whose
+    // mentor_request_id points at it), inserted together in one transaction (both or neither),
+    // booking the mentor's slot in the same transaction. The slot is taken only if still open, so
+    // of two founders booking it at once one gets MentorSlotRepository.SlotTakenException and
+    // nothing is inserted. founderName is stored on the application as support_name.
+    Submission submit(int mentorId, int slotId, int founderId, String founderName, String ideaDesc, String stage,
+                      String status) throws SQLException;
+
+    // Sets the status on the request and the application linked to it, in one transaction.
+    // Rejecting a request opens its slot again.
+    void updateStatus(int requestId, String status) throws SQLException;
+
+    // A mentor's pending requests with id > afterRequestId (0 for all), by id, each with the
+    // details of its application
+    List<MentorshipRequest> findPendingForMentor(int mentorId, int afterRequestId) throws SQLException;
+
+    record Submission(int requestId, int applicationId) {
+    }
+
+    record MentorshipRequest(int requestId, String menteeName, String ideaDesc, String status) {
+    }
+}
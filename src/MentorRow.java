@@ -0,0 +1,6 @@
+// One line of the founder's mentor directory
+public record MentorRow(int userId, String name, String expertise, String availability) {
+    public static MentorRow of(Mentor mentor) {
+        return new MentorRow(mentor.userId(), mentor.name(), mentor.expertise(), mentor.availability());
+    }
+}
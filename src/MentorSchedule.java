@@ -0,0 +1,122 @@
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Process-wide index of open mentor slots for "who with this expertise is free then" lookups. Open
+// slots sit in an IntervalTree on a Monday-to-Sunday timeline of minutes, so finding the slots
+// overlapping a window costs a tree walk rather than a scan; an expertise filter is a bit set of
+// the mentors having every term, built at query time from one bit set per term. The index is reloaded after -Dschedule.ttlSeconds (default 30) or after
+// invalidate(); a slot booked since then is still offered, and booking it fails with
+// SlotTakenException, so booking never relies on the index being current.
+public final class MentorSchedule {
+    private static final String KEY = "open";
+
+    private static final TtlCache<String, Snapshot> cache = new TtlCache<>(
+            Long.getLong("schedule.ttlSeconds", 30) * 1000, Long.MAX_VALUE, snapshot -> snapshot.slots().size());
+
+    // The windows a founder picks from when looking for a time
+    public enum PartOfDay {
+        ANY("Any time", 0, MentorSlot.MINUTES_PER_DAY),
+        MORNING("Morning", 8 * 60, 12 * 60),
+        AFTERNOON("Afternoon", 12 * 60, 17 * 60),
+        EVENING("Evening", 17 * 60, 21 * 60);
+
+        private final String label;
+        final int fromMinute;
+        final int toMinute;
+
+        PartOfDay(String label, int fromMinute, int toMinute) {
+            this.label = label;
+            this.fromMinute = fromMinute;
+            this.toMinute = toMinute;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    // An open slot with the mentor it belongs to, e.g. for a picker
+    public record Opening(MentorSlot slot, String mentorName, String expertise) {
+        @Override
+        public String toString() {
+            return slot + "  " + mentorName + (expertise == null || expertise.isBlank() ? "" : " (" + expertise + ")");
+        }
+    }
+
+    // Mentors are numbered in load order; each term has a bit set of the mentors listing it
+    private record Snapshot(IntervalTree<Entry> slots, Mentor[] mentors, Map<String, BitSet> mentorsByTerm) {
+    }
+
+    private record Entry(MentorSlot slot, int mentor) {
+    }
+
+    private MentorSchedule() {
+    }
+
+    // Open slots overlapping [fromMinute, toMinute) of the day, or of every day if day is null,
+    // whose mentor's expertise has every term of the expertise text (any mentor if it is blank);
+    // in day and time order
+    public static List<Opening> find(String expertise, DayOfWeek day, int fromMinute, int toMinute) throws SQLException {
+        Snapshot snapshot = snapshot();
+        // Mentors with every wanted term, or null for any mentor
+        BitSet eligible = null;
+        for (String term : InvestorMatcher.terms(expertise)) {
+            BitSet withTerm = snapshot.mentorsByTerm().getOrDefault(term, new BitSet());
+            if (eligible == null) {
+                eligible = (BitSet) withTerm.clone();
+            } else {
+                eligible.and(withTerm);
+            }
+        }
+        List<Opening> openings = new ArrayList<>();
+        for (DayOfWeek d : day == null ? DayOfWeek.values() : new DayOfWeek[]{day}) {
+            int dayStart = (d.getValue() - 1) * MentorSlot.MINUTES_PER_DAY;
+            for (Entry entry : snapshot.slots().overlapping(dayStart + fromMinute, dayStart + toMinute)) {
+                if (eligible == null || eligible.get(entry.mentor())) {
+                    Mentor mentor = snapshot.mentors()[entry.mentor()];
+                    openings.add(new Opening(entry.slot(), mentor.name(), mentor.expertise()));
+                }
+            }
+        }
+        return openings;
+    }
+
+    public static List<Opening> find(String expertise, DayOfWeek day, PartOfDay part) throws SQLException {
+        return find(expertise, day, part.fromMinute, part.toMinute);
+    }
+
+    // Call after booking, releasing or editing slots, or changing a mentor's expertise
+    public static void invalidate() {
+        cache.invalidate(KEY);
+    }
+
+    private static Snapshot snapshot() throws SQLException {
+        return cache.get(KEY, () -> {
+            List<Mentor> directory = DirectoryCache.mentors();
+            Mentor[] mentors = directory.toArray(new Mentor[0]);
+            Map<Integer, Integer> ordinalOf = new HashMap<>();
+            Map<String, BitSet> mentorsByTerm = new HashMap<>();
+            for (int i = 0; i < mentors.length; i++) {
+                ordinalOf.put(mentors[i].userId(), i);
+                for (String term : InvestorMatcher.terms(mentors[i].expertise())) {
+                    mentorsByTerm.computeIfAbsent(term, t -> new BitSet(mentors.length)).set(i);
+                }
+            }
+            List<Entry> entries = new ArrayList<>();
+            for (MentorSlot slot : Repositories.mentorSlots().findOpen()) {
+                Integer mentor = ordinalOf.get(slot.mentorId());
+                if (mentor != null) {
+                    entries.add(new Entry(slot, mentor));
+                }
+            }
+            return new Snapshot(IntervalTree.of(entries, e -> e.slot().weekStart(), e -> e.slot().weekEnd()),
+                    mentors, mentorsByTerm);
+        });
+    }
+}
@@ -0,0 +1,71 @@
+import java.time.DayOfWeek;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+// One weekly time a mentor is available (mentor_slots): day, and minutes after midnight with the
+// end exclusive. bookedRequestId is the mentor request holding it, or null while it is open.
+public record MentorSlot(int id, int mentorId, DayOfWeek day, int startMinute, int endMinute, Integer bookedRequestId) {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    public MentorSlot {
+        Objects.requireNonNull(day, "day");
+        if (startMinute < 0 || endMinute > MINUTES_PER_DAY || startMinute >= endMinute) {
+            throw new IllegalArgumentException("Slot must start before it ends, within one day");
+        }
+    }
+
+    public boolean isOpen() {
+        return bookedRequestId == null;
+    }
+
+    // Position on a Monday-to-Sunday timeline of minutes, for indexing a whole week at once
+    public int weekStart() {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + startMinute;
+    }
+
+    public int weekEnd() {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + endMinute;
+    }
+
+    public boolean overlaps(MentorSlot other) {
+        return day == other.day && startMinute < other.endMinute && other.startMinute < endMinute;
+    }
+
+    // e.g. "Tue 14:00-15:30"
+    @Override
+    public String toString() {
+        return day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH) + " " + time(startMinute) + "-" + time(endMinute);
+    }
+
+    // The text kept in mentors.availability for views that show availability as one string
+    public static String summary(List<MentorSlot> slots) {
+        List<MentorSlot> sorted = new ArrayList<>(slots);
+        sorted.sort((a, b) -> Integer.compare(a.weekStart(), b.weekStart()));
+        List<String> parts = new ArrayList<>();
+        for (MentorSlot slot : sorted) {
+            parts.add(slot.toString());
+        }
+        return String.join(", ", parts);
+    }
+
+    // "HH:mm" to minutes after midnight; "24:00" is allowed as an end
+    public static int parseTime(String text) {
+        String[] parts = text.trim().split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Expected HH:mm, got " + text);
+        }
+        int hours = Integer.parseInt(parts[0]);
+        int minutes = Integer.parseInt(parts[1]);
+        if (hours < 0 || minutes < 0 || minutes > 59 || hours * 60 + minutes > MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Not a time of day: " + text);
+        }
+        return hours * 60 + minutes;
+    }
+
+    private static String time(int minute) {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
+}
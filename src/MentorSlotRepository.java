@@ -0,0 +1,25 @@
+import java.sql.SQLException;
+import java.util.List;
+
+public interface MentorSlotRepository {
+    // Every open (unbooked) slot of every mentor, for MentorSchedule's index
+    List<MentorSlot> findOpen() throws SQLException;
+
+    // One mentor's slots, open and booked, by day and time
+    List<MentorSlot> findForMentor(int mentorId) throws SQLException;
+
+    // Saves the mentor's profile in one transaction: their open slots become these (ids ignored), and
+    // mentors.expertise and mentors.availability, the summary of all their slots, are set with them.
+    // Booked slots stay as they are. A submitted slot that overlaps one of them, e.g. a copy of a slot
+    // booked since the list was loaded, is left out; returns the slots left out.
+    List<MentorSlot> saveProfile(int mentorId, String expertise, List<MentorSlot> openSlots) throws SQLException;
+
+    // Booking a slot (MentorRequestRepository.submit) found it already taken, or gone
+    class SlotTakenException extends SQLException {
+        private static final long serialVersionUID = 1L;
+
+        public SlotTakenException(int slotId) {
+            super("Mentor slot " + slotId + " is no longer open");
+        }
+    }
+}
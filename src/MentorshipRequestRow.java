@@ -0,0 +1,6 @@
+// One line of the mentor's inbox
+public record MentorshipRequestRow(int requestId, String menteeName, String ideaDesc, String status) {
+    public static MentorshipRequestRow of(MentorRequestRepository.MentorshipRequest request) {
+        return new MentorshipRequestRow(request.requestId(), request.menteeName(), request.ideaDesc(), request.status());
+    }
+}
@@ -0,0 +1,68 @@
+import javafx.scene.control.Button;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.util.Callback;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// The dashboards' table look, shared by every page. Styling lives in modern-table.css: rows are
+// striped by the :even/:odd/:filled pseudo-classes JavaFX already maintains, so updating a row
+// never touches its style. Action cells build their buttons once and only show or hide them.
+public final class ModernTable {
+    private static final String STYLESHEET = ModernTable.class.getResource("modern-table.css").toExternalForm();
+
+    private ModernTable() {
+    }
+
+    public static <R> TableView<R> create() {
+        TableView<R> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        table.getStylesheets().add(STYLESHEET);
+        table.getStyleClass().add("modern-table");
+        return table;
+    }
+
+    // A button in an action column; styleClass is e.g. "accept-button" or "reject-button"
+    public record Action<R>(String text, String styleClass, Consumer<R> onClick) {
+    }
+
+    // Cell factory for a column of row actions, each run with the row it was clicked in
+    @SafeVarargs
+    public static <R> Callback<TableColumn<R, Void>, TableCell<R, Void>> actions(Action<R>... actions) {
+        // Copied element by element: handing the array itself on is what javac flags as heap pollution
+        List<Action<R>> list = new ArrayList<>(actions.length);
+        for (Action<R> action : actions) {
+            list.add(action);
+        }
+        return column -> new ActionCell<>(list);
+    }
+
+    private static final class ActionCell<R> extends TableCell<R, Void> {
+        private final HBox box = new HBox();
+
+        ActionCell(List<Action<R>> actions) {
+            box.getStyleClass().add("action-box");
+            for (Action<R> action : actions) {
+                Button button = new Button(action.text());
+                button.getStyleClass().add(action.styleClass());
+                button.setOnAction(e -> {
+                    R row = getTableRow().getItem();
+                    if (row != null) {
+                        action.onClick().accept(row);
+                    }
+                });
+                box.getChildren().add(button);
+            }
+        }
+
+        @Override
+        protected void updateItem(Void item, boolean empty) {
+            super.updateItem(item, empty);
+            setGraphic(empty ? null : box);
+        }
+    }
+}
@@ -0,0 +1,1016 @@
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// JDBC implementations against the Oracle schema in db/schema.sql
+public final class OracleRepositories {
+
+    private OracleRepositories() {
+    }
+
+    // Maps a role to its table; never build table names from raw input
+    static String roleTable(String role) {
+        return switch (role.toLowerCase()) {
+            case "investor" -> "investors";
+            case "mentor" -> "mentors";
+            case "founder" -> "founders";
+            default -> throw new IllegalArgumentException("No role table for " + role);
+        };
+    }
+
+    public static class Users implements UserRepository {
+        // Filterable and sortable columns of the admin role tables
+        private static final KeysetSql ROLE_PAGES = new KeysetSql("users", "id, name, email", "role = ?", Map.of(
+                "id", new KeysetSql.Column("id", KeysetSql.Kind.NUMBER),
+                "name", new KeysetSql.Column("name", KeysetSql.Kind.TEXT),
+                "email", new KeysetSql.Column("email", KeysetSql.Kind.TEXT)));
+
+        @Override
+        public User findByCredentials(String email, String password) throws SQLException {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement("SELECT id, name, role FROM users WHERE email = ? AND password = ?")) {
+                stmt.setString(1, email);
+                stmt.setString(2, password);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return new User(rs.getInt("id"), rs.getString("name"), email, null, rs.getString("role"));
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public PageLayout pageLayoutByRole(String role, TableQuery query, int pageSize) throws SQLException {
+            try (Connection conn = DBConnection.getConnection()) {
+                return ROLE_PAGES.layout(conn, query, pageSize, role);
+            }
+        }
+
+        @Override
+        public List<User> findPageByRole(String role, TableQuery query, TableQuery.Key after, int limit) throws SQLException {
+            List<User> users = new ArrayList<>(limit);
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement ps = ROLE_PAGES.page(conn, query, after, limit, role);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    users.add(new User(rs.getInt("id"), rs.getString("name"), rs.getString("email"), null, role));
+                }
+            }
+            return users;
+        }
+
+        @Override
+        public void updateContact(int id, String role, String name, String email) throws SQLException {
+            try (Connection conn = DBConnection.getConnection()) {
+                try (PreparedStatement ps = conn.prepareStatement("UPDATE users SET name=?, email=? WHERE id=?")) {
+                    ps.setString(1, name);
+                    ps.setString(2, email);
+                    ps.setInt(3, id);
+                    ps.executeUpdate();
+                }
+                try (PreparedStatement roleStmt = conn.prepareStatement("UPDATE " + roleTable(role) + " SET name=?, email=? WHERE user_id=?")) {
+                    roleStmt.setString(1, name);
+                    roleStmt.setString(2, email);
+                    roleStmt.setInt(3, id);
+                    roleStmt.executeUpdate();
+                }
+            }
+        }
+
+        @Override
+        public void updateContacts(String role, List<User> users) throws SQLException {
+            try (Connection conn = DBConnection.getConnection()) {
+                conn.setAutoCommit(false);
+
+                try (PreparedStatement ps = conn.prepareStatement("UPDATE users SET name=?, email=? WHERE id=?");
+                     PreparedStatement roleStmt = conn.prepareStatement("UPDATE " + roleTable(role) + " SET name=?, email=? WHERE user_id=?")) {
+                    for (User user : users) {
+                        for (PreparedStatement stmt : List.of(ps, roleStmt)) {
+                            stmt.setString(1, user.getName());
+                            stmt.setString(2, user.getEmail());
+                            stmt.setInt(3, user.getId());
+                            stmt.addBatch();
+                        }
+                    }
+                    ps.executeBatch();
+                    roleStmt.executeBatch();
+                }
+
+                conn.commit();
+            }
+        }
+
+        @Override
+        public void delete(int id, String role) throws SQLException {
+            // One transaction, so rsvp_count is only lowered if the registrations it counts go too
+            try (Connection conn = DBConnection.getConnection()) {
+                conn.setAutoCommit(false);
+                // Gives back the places of the event registrations the delete cascades to
+                try (PreparedStatement ps0 = conn.prepareStatement(
+                        "UPDATE events SET rsvp_count = rsvp_count - 1 WHERE id IN (SELECT event_id FROM event_rsvps WHERE founder_id=?)");
+                     PreparedStatement ps1 = conn.prepareStatement("DELETE FROM " + roleTable(role) + " WHERE user_id=?");
+                     PreparedStatement ps2 = conn.prepareStatement("DELETE FROM users WHERE id=?")) {
+                    for (PreparedStatement ps : List.of(ps0, ps1, ps2)) {
+                        ps.setInt(1, id);
+                        ps.executeUpdate();
+                    }
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    public static class Registrations implements RegistrationRepository {
+        @Override
+        public int register(Registration r) throws SQLException {
+            // One call: the users insert hands its id to the role insert, then both commit
+            String block =
+                    "DECLARE v_id users.id%TYPE; " +
+                            "BEGIN " +
+                            "  INSERT INTO users (id, name, email, password, role) VALUES (users_seq.NEXTVAL, ?, ?, ?, ?) " +
+                            "  RETURNING id INTO v_id; " +
+                            "  " + roleInsert(r.role(), "v_id") + "; " +
+                            "  COMMIT; " +
+                            "  ? := v_id; " +
+                            "EXCEPTION WHEN OTHERS THEN " +
+                            "  ROLLBACK; " +
+                            "  RAISE; " +
+                            "END;";
+            try (Connection conn = DBConnection.getConnection();
+                 CallableStatement cs = conn.prepareCall(block)) {
+                conn.setAutoCommit(false);
+                cs.setString(1, r.name());
+                cs.setString(2, r.email());
+                cs.setString(3, r.password());
+                cs.setString(4, r.role());
+                cs.setString(5, r.name());
+                cs.setString(6, r.email());
+                cs.registerOutParameter(7, Types.INTEGER);
+                cs.execute();
+                return cs.getInt(7);
+            }
+        }
+
+        @Override
+        public List<Integer> registerAll(List<Registration> registrations) throws SQLException {
+            if (registrations.isEmpty()) {
+                return List.of();
+            }
+            try (Connection conn = DBConnection.getConnection()) {
+                conn.setAutoCommit(false);
+
+                // Reserve every id up front, so the inserts can be array-bound without RETURNING per row
+                List<Integer> ids = new ArrayList<>(registrations.size());
+                try (PreparedStatement seq = conn.prepareStatement("SELECT users_seq.NEXTVAL FROM dual CONNECT BY LEVEL <= ?")) {
+                    seq.setInt(1, registrations.size());
+                    try (ResultSet rs = seq.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getInt(1));
+                        }
+                    }
+                }
+
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "INSERT INTO users (id, name, email, password, role) VALUES (?, ?, ?, ?, ?)")) {
+                    for (int i = 0; i < registrations.size(); i++) {
+                        Registration r = registrations.get(i);
+                        ps.setInt(1, ids.get(i));
+                        ps.setString(2, r.name());
+                        ps.setString(3, r.email());
+                        ps.setString(4, r.password());
+                        ps.setString(5, r.role());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+
+                // One batch per role table present in the cohort
+                Map<String, List<Integer>> byRole = new LinkedHashMap<>();
+                for (int i = 0; i < registrations.size(); i++) {
+                    byRole.computeIfAbsent(registrations.get(i).role(), k -> new ArrayList<>()).add(i);
+                }
+                for (Map.Entry<String, List<Integer>> role : byRole.entrySet()) {
+                    try (PreparedStatement ps = conn.prepareStatement(roleInsert(role.getKey(), "?"))) {
+                        for (int i : role.getValue()) {
+                            Registration r = registrations.get(i);
+                            ps.setInt(1, ids.get(i));
+                            ps.setString(2, r.name());
+                            ps.setString(3, r.email());
+                            ps.addBatch();
+                        }
+                        ps.executeBatch();
+                    }
+                }
+
+                conn.commit();
+                return ids;
+            }
+        }
+
+        // The role-table row a new user starts with; the profile columns are filled in later
+        private static String roleInsert(String role, String userId) {
+            return switch (role.toLowerCase()) {
+                case "investor" -> "INSERT INTO investors (user_id, name, email, expertise_area, available_budget) " +
+                        "VALUES (" + userId + ", ?, ?, '', 0)";
+                case "mentor" -> "INSERT INTO mentors (user_id, name, email, expertise, availability) " +
+                        "VALUES (" + userId + ", ?, ?, '', '')";
+                case "founder" -> "INSERT INTO founders (user_id, name, email, startup_name, industry, location, team_size, funding_needed) " +
+                        "VALUES (" + userId + ", ?, ?, '', '', '', 1, 0)";
+                default -> throw new IllegalArgumentException("No role table for " + role);
+            };
+        }
+    }
+
+    public static class Founders implements FounderRepository {
+        @Override
+        public Founder findByUserId(int userId) throws SQLException {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement("SELECT * FROM founders WHERE user_id = ?")) {
+                stmt.setInt(1, userId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return new Founder(userId, rs.getString("name"), rs.getString("email"),
+                                rs.getString("startup_name"), rs.getString("industry"), rs.getString("location"),
+                                rs.getInt("team_size"), rs.getDouble("funding_needed"));
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    public static class Investors implements InvestorRepository {
+        @Override
+        public List<Investor> findAll() throws SQLException {
+            List<Investor> investors = new ArrayList<>();
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(
+                         "SELECT i.user_id, u.name, u.email, i.expertise_area, i.available_budget FROM investors i JOIN users u ON i.user_id = u.id");
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    investors.add(new Investor(rs.getInt("user_id"), rs.getString("name"), rs.getString("email"),
+                            rs.getString("expertise_area"), rs.getDouble("available_budget")));
+                }
+            }
+            return investors;
+        }
+
+        @Override
+        public Investor findByUserId(int userId) throws SQLException {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement("SELECT * FROM investors WHERE user_id = ?")) {
+                stmt.setInt(1, userId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return new Investor(userId, rs.getString("name"), rs.getString("email"),
+                                rs.getString("expertise_area"), rs.getDouble("available_budget"));
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void updateProfile(int userId, String expertiseArea, double availableBudget) throws SQLException {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(
+                         "UPDATE investors SET expertise_area = ?, available_budget = ? WHERE user_id = ?")) {
+                stmt.setString(1, expertiseArea);
+                stmt.setDouble(2, availableBudget);
+                stmt.setInt(3, userId);
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    public static class Mentors implements MentorRepository {
+        @Override
+        public List<Mentor> findAll() throws SQLException {
+            List<Mentor> mentors = new ArrayList<>();
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(
+                         "SELECT m.user_id, u.name, u.email, m.expertise, m.availability FROM mentors m JOIN users u ON m.user_id = u.id");
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    mentors.add(new Mentor(rs.getInt("user_id"), rs.getString("name"), rs.getString("email"),
+                            rs.getString("expertise"), rs.getString("availability")));
+                }
+            }
+            return mentors;
+        }
+
+        @Override
+        public Mentor findByUserId(int userId) throws SQLException {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement("SELECT * FROM mentors WHERE user_id = ?")) {
+                stmt.setInt(1, userId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        return new Mentor(userId, rs.getString("name"), rs.getString("email"),
+                                rs.getString("expertise"), rs.getString("availability"));
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    public static class MentorSlots implements MentorSlotRepository {
+        private static final String COLUMNS = "id, mentor_id, day_of_week, start_minute, end_minute, booked_request_id";
+
+        @Override
+        public List<MentorSlot> findOpen() throws SQLException {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(
+                         "SELECT " + COLUMNS + " FROM mentor_slots WHERE booked_request_id IS NULL")) {
+                stmt.setFetchSize(1000);
+                return read(stmt);
+            }
+        }
+
+        @Override
+        public List<MentorSlot> findForMentor(int mentorId) throws SQLException {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(
+                         "SELECT " + COLUMNS + " FROM mentor_slots WHERE mentor_id = ? ORDER BY day_of_week, start_minute")) {
+                stmt.setInt(1, mentorId);
+                return read(stmt);
+            }
+        }
+
+        @Override
+        public List<MentorSlot> saveProfile(int mentorId, String expertise, List<MentorSlot> openSlots) throws SQLException {
+            try (Connection conn = DBConnection.getConnection()) {
+                conn.setAutoCommit(false);
+                try (PreparedStatement lock = conn.prepareStatement("SELECT user_id FROM mentors WHERE user_id = ? FOR UPDATE");
+                     PreparedStatement delete = conn.prepareStatement(
+                             "DELETE FROM mentor_slots WHERE mentor_id = ? AND booked_request_id IS NULL");
+                     PreparedStatement booked = conn.prepareStatement(
+                             "SELECT " + COLUMNS + " FROM mentor_slots WHERE mentor_id = ? AND booked_request_id IS NOT NULL");
+                     PreparedStatement insert = conn.prepareStatement(
+                             "INSERT INTO mentor_slots(mentor_id, day_of_week, start_minute, end_minute) VALUES(?, ?, ?, ?)");
+                     PreparedStatement profile = conn.prepareStatement(
+                             "UPDATE mentors SET expertise = ?, availability = ? WHERE user_id = ?")) {
+                    // One save per mentor at a time
+                    lock.setInt(1, mentorId);
+                    lock.executeQuery().close();
+                    // Deleting locks the open slots, so a booking of one now waits for this commit and then
+                    // finds it gone; any booking made before is committed, and read back below
+                    delete.setInt(1, mentorId);
+                    delete.executeUpdate();
+                    booked.setInt(1, mentorId);
+                    List<MentorSlot> all = read(booked);
+                    List<MentorSlot> refused = new ArrayList<>();
+                    for (MentorSlot slot : openSlots) {
+                        if (all.stream().anyMatch(slot::overlaps)) {
+                            refused.add(slot);
+                            continue;
+                        }
+                        all.add(slot);
+                        insert.setInt(1, mentorId);
+                        insert.setInt(2, slot.day().getValue());
+                        insert.setInt(3, slot.startMinute());
+                        insert.setInt(4, slot.endMinute());
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                    profile.setString(1, expertise);
+                    profile.setString(2, MentorSlot.summary(all));
+                    profile.setInt(3, mentorId);
+                    profile.executeUpdate();
+                    conn.commit();
+                    return refused;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+        }
+
+        private static List<MentorSlot> read(PreparedStatement stmt) throws SQLException {
+            List<MentorSlot> slots = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int booked = rs.getInt("booked_request_id");
+                    slots.add(new MentorSlot(rs.getInt("id"), rs.getInt("mentor_id"), DayOfWeek.of(rs.getInt("day_of_week")),
+                            rs.getInt("start_minute"), rs.getInt("end_minute"), rs.wasNull() ? null : booked));
+                }
+            }
+            return slots;
+        }
+    }
+
+    public static class Fundings implements FundingRepository {
+        // Adds v_count requests of v_amount to the v_status rollup of every dimension. Runs inside the
+        // blocks that change funding, so the rollups commit or roll back with the rows they count.
+        private static final String ROLLUP_MERGE =
+                "  MERGE INTO funding_rollups r " +
+                        "  USING (SELECT 'TOTAL' AS dimension, '*' AS bucket FROM dual " +
+                        "         UNION ALL SELECT 'MONTH', v_month FROM dual " +
+                        "         UNION ALL SELECT 'STAGE', NVL(v_stage, '" + UNKNOWN + "') FROM dual " +
+                        "         UNION ALL SELECT 'INDUSTRY', NVL(v_industry, '" + UNKNOWN + "') FROM dual) k " +
+                        "  ON (r.dimension = k.dimension AND r.bucket = k.bucket AND r.status = v_status) " +
+                        "  WHEN MATCHED THEN UPDATE SET r.request_count = r.request_count + v_count, " +
+                        "                               r.total_amount  = r.total_amount + v_amount " +
+                        "  WHEN NOT MATCHED THEN INSERT (dimension, bucket, status, request_count, total_amount) " +
+                        "  VALUES (k.dimension, k.bucket, v_status, v_count, v_amount); ";
+
+        @Override
+        public Submission submit(int investorId, int founderId, String founderName, double amount,
+                                 String ideaDesc, String stage, String status) throws SQLException {
+            // Both inserts, the rollups and the commit go to the server as one call; any failure rolls the block back
+            String block =
+                    "DECLARE " +
+                            "  v_funding_id NUMBER; " +
+                            "  v_created    DATE          := SYSDATE; " +
+                            "  v_month      VARCHAR2(7)   := TO_CHAR(v_created, 'YYYY-MM'); " +
+                            "  v_industry   VARCHAR2(100); " +
+                            "  v_stage      VARCHAR2(30)  := ?; " +
+                            "  v_status     VARCHAR2(30)  := ?; " +
+                            "  v_amount     NUMBER        := ?; " +
+                            "  v_count      NUMBER        := 1; " +
+                            "BEGIN " +
+                            "  SELECT MAX(industry) INTO v_industry FROM founders WHERE user_id = ?; " +
+                            "  INSERT INTO funding(id, investor_id, founder_id, amount, status, created_at, industry, updated_at) " +
+                            "  VALUES(funding_seq.NEXTVAL, ?, ?, v_amount, v_status, v_created, v_industry, SYSTIMESTAMP) " +
+                            "  RETURNING id INTO v_funding_id; " +
+                            "  INSERT INTO applications(id, founder_id, idea_desc, stage, status, support_id, support_name, funding_id) " +
+                            "  VALUES(applications_seq.NEXTVAL, ?, ?, v_stage, v_status, ?, ?, v_funding_id) RETURNING id INTO ?; " +
+                            ROLLUP_MERGE +
+                            "  ? := v_funding_id; " +
+                            "  COMMIT; " +
+                            "EXCEPTION WHEN OTHERS THEN " +
+                            "  ROLLBACK; " +
+                            "  RAISE; " +
+                            "END;";
+            try (Connection conn = DBConnection.getConnection();
+                 CallableStatement cs = conn.prepareCall(block)) {
+                conn.setAutoCommit(false);
+                cs.setString(1, stage);
+                cs.setString(2, status);
+                cs.setDouble(3, amount);
+                cs.setInt(4, founderId);
+                cs.setInt(5, investorId);
+                cs.setInt(6, founderId);
+                cs.setInt(7, founderId);
+                cs.setString(8, ideaDesc);
+                cs.setInt(9, investorId);
+                cs.setString(10, founderName);
+                cs.registerOutParameter(11, Types.INTEGER);
+                cs.registerOutParameter(12, Types.INTEGER);
+                cs.execute();
+                return new Submission(cs.getInt(12), cs.getInt(11));
+            }
+        }
+
+        @Override
+        public void updateStatus(int fundingId, String status) throws SQLException {
+            // The funding row is locked while its amount moves from the old status rollups to the new
+            String block =
+                    "DECLARE " +
+                            "  v_id         NUMBER        := ?; " +
+                            "  v_new_status VARCHAR2(30)  := ?; " +
+                            "  v_month      VARCHAR2(7); " +
+                            "  v_stage      VARCHAR2(30); " +
+                            "  v_industry   VARCHAR2(100); " +
+                            "  v_status     VARCHAR2(30); " +
+                            "  v_amount     NUMBER; " +
+                            "  v_count      NUMBER; " +
+                            "BEGIN " +
+                            "  SELECT TO_CHAR(f.created_at, 'YYYY-MM'), a.stage, f.industry, f.status, f.amount " +
+                            "  INTO v_month, v_stage, v_industry, v_status, v_amount " +
+                            "  FROM funding f LEFT JOIN applications a ON a.funding_id = f.id " +
+                            "  WHERE f.id = v_id FOR UPDATE OF f.status; " +
+                            "  IF v_status <> v_new_status THEN " +
+                            "    UPDATE funding SET status = v_new_status, updated_at = SYSTIMESTAMP WHERE id = v_id; " +
+                            "    UPDATE applications SET status = v_new_status WHERE funding_id = v_id; " +
+                            "    v_count  := -1; " +
+                            "    v_amount := -v_amount; " +
+                            ROLLUP_MERGE +
+                            "    v_count  := 1; " +
+                            "    v_amount := -v_amount; " +
+                            "    v_status := v_new_status; " +
+                            ROLLUP_MERGE +
+                            "  END IF; " +
+                            "  COMMIT; " +
+                            "EXCEPTION " +
+                            "  WHEN NO_DATA_FOUND THEN " +
+                            "    ROLLBACK; " +
+                            "  WHEN OTHERS THEN " +
+                            "    ROLLBACK; " +
+                            "    RAISE; " +
+                            "END;";
+            try (Connection conn = DBConnection.getConnection();
+                 CallableStatement cs = conn.prepareCall(block)) {
+                conn.setAutoCommit(false);
+                cs.setInt(1, fundingId);
+                cs.setString(2, status);
+                cs.execute();
+            }
+        }
+
+        @Override
+        public List<InvestmentRequest> findPendingForInvestor(int investorId, int afterFundingId, int limit) throws SQLException {
+            // Seeks funding_inbox_ix to this investor's pending rows after the key, so the cost follows
+            // the page size rather than the size of the funding table; each row joins its application by key
+            String sql =
+                    "SELECT f.id AS funding_id, f.amount, f.status AS funding_status, " +
+                            "       a.support_name, a.idea_desc, a.stage " +
+                            "FROM funding f " +
+                            "JOIN applications a ON a.funding_id = f.id " +
+                            "WHERE f.investor_id = ? " +
+                            "  AND f.status      = 'Investment Pending' " +
+                            "  AND f.id          > ? " +
+                            "ORDER BY f.id " +
+                            "FETCH FIRST ? ROWS ONLY";
+
+            List<InvestmentRequest> requests = new ArrayList<>(limit);
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, investorId);
+                stmt.setInt(2, afterFundingId);
+                stmt.setInt(3, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        requests.add(new InvestmentRequest(rs.getInt("funding_id"), rs.getString("support_name"),
+                                rs.getString("idea_desc"), rs.getString("stage"),
+                                rs.getDouble("amount"), rs.getString("funding_status")));
+                    }
+                }
+            }
+            return requests;
+        }
+
+        @Override
+        public List<FundingFact> findFactsChangedSince(Instant since) throws SQLException {
+            // A range scan of funding_updated_ix; the first call reads every row
+            String sql =
+                    "SELECT f.id, f.amount, f.status, a.stage, f.industry, fo.location, f.created_at, f.updated_at " +
+                            "FROM funding f " +
+                            "LEFT JOIN applications a ON a.funding_id = f.id " +
+                            "LEFT JOIN founders fo ON fo.user_id = f.founder_id " +
+                            "WHERE f.updated_at > ? " +
+                            "ORDER BY f.updated_at";
+            List<FundingFact> facts = new ArrayList<>();
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setTimestamp(1, Timestamp.from(since));
+                ps.setFetchSize(1000);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        facts.add(new FundingFact(rs.getInt("id"), rs.getDouble("amount"), rs.getString("status"),
+                                rs.getString("stage"), rs.getString("industry"), rs.getString("location"),
+                                rs.getDate("created_at").toLocalDate(), rs.getTimestamp("updated_at").toInstant()));
+                    }
+                }
+            }
+            return facts;
+        }
+
+        @Override
+        public List<Rollup> rollups() throws SQLException {
+            List<Rollup> rollups = new ArrayList<>();
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(
+                         "SELECT dimension, bucket, status, request_count, total_amount FROM funding_rollups " +
+                                 "WHERE request_count > 0 ORDER BY dimension, bucket, status");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rollups.add(new Rollup(Dimension.valueOf(rs.getString("dimension")), rs.getString("bucket"),
+                            rs.getString("status"), rs.getInt("request_count"), rs.getDouble("total_amount")));
+                }
+            }
+            return rollups;
+        }
+    }
+
+    public static class Applications implements ApplicationRepository {
+        private static final String COLUMNS =
+                "id, founder_id, idea_desc, stage, status, support_id, support_name, funding_id, mentor_request_id";
+
+        @Override
+        public List<Application> findAfter(int afterId, int limit) throws SQLException {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(
+                         "SELECT " + COLUMNS + " FROM applications WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY")) {
+                stmt.setInt(1, afterId);
+                stmt.setInt(2, limit);
+                stmt.setFetchSize(Math.min(limit, 1000));
+                return read(stmt);
+            }
+        }
+
+        @Override
+        public List<Application> findByIds(List<Integer> ids) throws SQLException {
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            String marks = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(
+                         "SELECT " + COLUMNS + " FROM applications WHERE id IN (" + marks + ")")) {
+                for (int i = 0; i < ids.size(); i++) {
+                    stmt.setInt(i + 1, ids.get(i));
+                }
+                return read(stmt);
+            }
+        }
+
+        private static List<Application> read(PreparedStatement stmt) throws SQLException {
+            List<Application> applications = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int fundingId = rs.getInt("funding_id");
+                    Integer funding = rs.wasNull() ? null : fundingId;
+                    int mentorRequestId = rs.getInt("mentor_request_id");
+                    Integer mentorRequest = rs.wasNull() ? null : mentorRequestId;
+                    applications.add(new Application(rs.getInt("id"), rs.getInt("founder_id"), rs.getString("idea_desc"),
+                            rs.getString("stage"), rs.getString("status"), rs.getInt("support_id"),
+                            rs.getString("support_name"), funding, mentorRequest));
+                }
+            }
+            return applications;
+        }
+    }
+
+    public static class MentorRequests implements MentorRequestRepository {
+        // Raised by submit's block when the slot was booked first (Oracle reports it as ORA-20010)
+        private static final int SLOT_TAKEN = -20010;
+        private static final String REJECTED = "Rejected";
+
+        @Override
+        public Submission submit(int mentorId, int slotId, int founderId, String founderName, String ideaDesc,
+                                 String stage, String status) throws SQLException {
+            // Both inserts, the booking and the commit go to the server as one call; any failure rolls
+            // the block back. The booking updates the slot only while it is open: a concurrent booking
+            // waits on the row lock, then finds it taken and updates nothing.
+            String block =
+                    "DECLARE " +
+                            "  v_request_id NUMBER; " +
+                            "BEGIN " +
+                            "  INSERT INTO mentor_requests(mentor_id, founder_id, status) " +
+                            "  VALUES(?, ?, ?) RETURNING id INTO v_request_id; " +
+                            "  UPDATE mentor_slots SET booked_request_id = v_request_id " +
+                            "  WHERE id = ? AND mentor_id = ? AND booked_request_id IS NULL; " +
+                            "  IF SQL%ROWCOUNT = 0 THEN " +
+                            "    RAISE_APPLICATION_ERROR(" + SLOT_TAKEN + ", 'Mentor slot is no longer open'); " +
+                            "  END IF; " +
+                            "  INSERT INTO applications(id, founder_id, idea_desc, stage, status, support_id, support_name, mentor_request_id) " +
+                            "  VALUES(applications_seq.NEXTVAL, ?, ?, ?, ?, ?, ?, v_request_id) RETURNING id INTO ?; " +
+                            "  ? := v_request_id; " +
+                            "  COMMIT; " +
+                            "EXCEPTION WHEN OTHERS THEN " +
+                            "  ROLLBACK; " +
+                            "  RAISE; " +
+                            "END;";
+            try (Connection conn = DBConnection.getConnection();
+                 CallableStatement cs = conn.prepareCall(block)) {
+                conn.setAutoCommit(false);
+                cs.setInt(1, mentorId);
+                cs.setInt(2, founderId);
+                cs.setString(3, status);
+                cs.setInt(4, slotId);
+                cs.setInt(5, mentorId);
+                cs.setInt(6, founderId);
+                cs.setString(7, ideaDesc);
+                cs.setString(8, stage);
+                cs.setString(9, status);
+                cs.setInt(10, mentorId);
+                cs.setString(11, founderName);
+                cs.registerOutParameter(12, Types.INTEGER);
+                cs.registerOutParameter(13, Types.INTEGER);
+                cs.execute();
+                return new Submission(cs.getInt(13), cs.getInt(12));
+            } catch (SQLException e) {
+                if (e.getErrorCode() == -SLOT_TAKEN) {
+                    throw new MentorSlotRepository.SlotTakenException(slotId);
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public void updateStatus(int requestId, String status) throws SQLException {
+            try (Connection conn = DBConnection.getConnection()) {
+                conn.setAutoCommit(false);
+
+                try (PreparedStatement updateStmt = conn.prepareStatement("UPDATE mentor_requests SET status = ? WHERE id = ?")) {
+                    updateStmt.setString(1, status);
+                    updateStmt.setInt(2, requestId);
+                    updateStmt.executeUpdate();
+                }
+                try (PreparedStatement updateAppStmt = conn.prepareStatement("UPDATE applications SET status = ? WHERE mentor_request_id = ?")) {
+                    updateAppStmt.setString(1, status);
+                    updateAppStmt.setInt(2, requestId);
+                    updateAppStmt.executeUpdate();
+                }
+                if (REJECTED.equals(status)) {
+                    try (PreparedStatement releaseStmt = conn.prepareStatement(
+                            "UPDATE mentor_slots SET booked_request_id = NULL WHERE booked_request_id = ?")) {
+                        releaseStmt.setInt(1, requestId);
+                        releaseStmt.executeUpdate();
+                    }
+                }
+
+                conn.commit();
+            }
+        }
+
+        @Override
+        public List<MentorshipRequest> findPendingForMentor(int mentorId, int afterRequestId) throws SQLException {
+            // mentor_requests_inbox_ix finds the requests; each joins its one application by key
+            String sql =
+                    "SELECT " +
+                            "  m.id AS request_id, " +
+                            "  a.support_name AS mentee_name, " +
+                            "  a.idea_desc, " +
+                            "  m.status " +
+                            "FROM mentor_requests m " +
+                            "JOIN applications a ON a.mentor_request_id = m.id " +
+                            "WHERE m.mentor_id = ? " +
+                            "  AND m.status = 'Mentor Pending' " +
+                            "  AND m.id > ? " +
+                            "ORDER BY m.id";
+
+            List<MentorshipRequest> requests = new ArrayList<>();
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, mentorId);
+                stmt.setInt(2, afterRequestId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        requests.add(new MentorshipRequest(rs.getInt("request_id"), rs.getString("mentee_name"),
+                                rs.getString("idea_desc"), rs.getString("status")));
+                    }
+                }
+            }
+            return requests;
+        }
+    }
+
+    public static class Events implements EventRepository {
+        // Filterable and sortable columns of the admin events table
+        private static final KeysetSql PAGES = new KeysetSql("events", "id, title, description, event_date, location, capacity, rsvp_count", "1 = 1", Map.of(
+                "id", new KeysetSql.Column("id", KeysetSql.Kind.NUMBER),
+                "title", new KeysetSql.Column("title", KeysetSql.Kind.TEXT),
+                "location", new KeysetSql.Column("location", KeysetSql.Kind.TEXT),
+                "eventDate", new KeysetSql.Column("event_date", KeysetSql.Kind.DATE)));
+        private static final String UPDATE =
+                "UPDATE events SET title=?, description=?, event_date=?, location=?, capacity=? WHERE id=?";
+
+        @Override
+        public PageLayout pageLayout(TableQuery query, int pageSize) throws SQLException {
+            try (Connection conn = DBConnection.getConnection()) {
+                return PAGES.layout(conn, query, pageSize);
+            }
+        }
+
+        @Override
+        public List<Event> findPage(TableQuery query, TableQuery.Key after, int limit) throws SQLException {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement ps = PAGES.page(conn, query, after, limit)) {
+                return read(ps);
+            }
+        }
+
+        private List<Event> read(PreparedStatement ps) throws SQLException {
+            List<Event> events = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    java.sql.Date eventDate = rs.getDate("event_date");
+                    int capacity = rs.getInt("capacity");
+                    Integer limit = rs.wasNull() ? null : capacity;
+                    events.add(new Event(rs.getInt("id"), rs.getString("title"), rs.getString("description"),
+                            eventDate == null ? null : eventDate.toLocalDate(), rs.getString("location"),
+                            limit, rs.getInt("rsvp_count")));
+                }
+            }
+            return events;
+        }
+
+        @Override
+        public int create(String title, String description, LocalDate eventDate, String location, Integer capacity) throws SQLException {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(
+                         "INSERT INTO events (title, description, event_date, location, capacity) VALUES (?, ?, ?, ?, ?)",
+                         new String[]{"id"})) {
+                ps.setString(1, title);
+                ps.setString(2, description);
+                ps.setDate(3, sqlDate(eventDate));
+                ps.setString(4, location);
+                ps.setObject(5, capacity, Types.INTEGER);
+                ps.executeUpdate();
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    return rs.next() ? rs.getInt(1) : -1;
+                }
+            }
+        }
+
+        @Override
+        public void update(Event event) throws SQLException {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement(UPDATE)) {
+                bindUpdate(ps, event);
+                ps.executeUpdate();
+            }
+        }
+
+        @Override
+        public void updateAll(List<Event> events) throws SQLException {
+            try (Connection conn = DBConnection.getConnection()) {
+                conn.setAutoCommit(false);
+
+                try (PreparedStatement ps = conn.prepareStatement(UPDATE)) {
+                    for (Event event : events) {
+                        bindUpdate(ps, event);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+
+                conn.commit();
+            }
+        }
+
+        @Override
+        public void delete(int id) throws SQLException {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement ps = conn.prepareStatement("DELETE FROM events WHERE id=?")) {
+                ps.setInt(1, id);
+                ps.executeUpdate();
+            }
+        }
+
+        // rsvp_count is left alone; a capacity below it is refused by events_capacity_ck
+        private static void bindUpdate(PreparedStatement ps, Event event) throws SQLException {
+            ps.setString(1, event.title());
+            ps.setString(2, event.description());
+            ps.setDate(3, sqlDate(event.eventDate()));
+            ps.setString(4, event.location());
+            ps.setObject(5, event.capacity(), Types.INTEGER);
+            ps.setInt(6, event.id());
+        }
+
+        private static java.sql.Date sqlDate(LocalDate date) {
+            return date == null ? null : java.sql.Date.valueOf(date);
+        }
+    }
+
+    public static class Rsvps implements RsvpRepository {
+        // Oracle caps an IN list at 1000 values
+        private static final int MAX_IN_LIST = 1000;
+        // Adds a registration unless the founder already has one for the event
+        private static final String INSERT_NEW =
+                "INSERT INTO event_rsvps (event_id, founder_id) SELECT ?, ? FROM dual " +
+                "WHERE NOT EXISTS (SELECT 1 FROM event_rsvps WHERE event_id = ? AND founder_id = ?)";
+        // Holds the event until commit, so it can't be deleted under the registrations being added
+        private static final String LOCK_EVENT = "SELECT id FROM events WHERE id = ? FOR UPDATE";
+        // The guard against overselling: counts only go up while they stay within capacity
+        private static final String TAKE =
+                "UPDATE events SET rsvp_count = rsvp_count + ? WHERE id = ? AND (capacity IS NULL OR rsvp_count + ? <= capacity)";
+
+        @Override
+        public Seats findSeats(int eventId) throws SQLException {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement event = conn.prepareStatement("SELECT capacity FROM events WHERE id = ?");
+                 PreparedStatement founders = conn.prepareStatement("SELECT founder_id FROM event_rsvps WHERE event_id = ?")) {
+                Integer capacity;
+                event.setInt(1, eventId);
+                try (ResultSet rs = event.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    int limit = rs.getInt("capacity");
+                    capacity = rs.wasNull() ? null : limit;
+                }
+                Set<Integer> registered = new HashSet<>();
+                founders.setInt(1, eventId);
+                try (ResultSet rs = founders.executeQuery()) {
+                    while (rs.next()) {
+                        registered.add(rs.getInt("founder_id"));
+                    }
+                }
+                return new Seats(capacity, registered);
+            }
+        }
+
+        @Override
+        public Map<Integer, Integer> countAll(List<Integer> eventIds) throws SQLException {
+            Map<Integer, Integer> counts = new HashMap<>();
+            try (Connection conn = DBConnection.getConnection()) {
+                for (int from = 0; from < eventIds.size(); from += MAX_IN_LIST) {
+                    List<Integer> ids = eventIds.subList(from, Math.min(eventIds.size(), from + MAX_IN_LIST));
+                    String marks = String.join(", ", Collections.nCopies(ids.size(), "?"));
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                            "SELECT id, rsvp_count FROM events WHERE id IN (" + marks + ")")) {
+                        for (int i = 0; i < ids.size(); i++) {
+                            stmt.setInt(i + 1, ids.get(i));
+                        }
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) {
+                                counts.put(rs.getInt("id"), rs.getInt("rsvp_count"));
+                            }
+                        }
+                    }
+                }
+            }
+            return counts;
+        }
+
+        // Each event's registrations go in as one batch, then its count is raised by however many
+        // were new. If that would pass capacity (another process took the places) the event's batch
+        // is undone and its registrations retried one at a time, so only the ones that don't fit are refused.
+        // An event that is gone has all its registrations refused, without failing the other events.
+        @Override
+        public Set<Rsvp> saveAll(List<Rsvp> rsvps) throws SQLException {
+            Map<Integer, List<Rsvp>> byEvent = new LinkedHashMap<>();
+            for (Rsvp rsvp : rsvps) {
+                byEvent.computeIfAbsent(rsvp.eventId(), id -> new ArrayList<>()).add(rsvp);
+            }
+            Set<Rsvp> refused = new HashSet<>();
+            try (Connection conn = DBConnection.getConnection()) {
+                conn.setAutoCommit(false);
+                try (PreparedStatement lock = conn.prepareStatement(LOCK_EVENT);
+                     PreparedStatement insert = conn.prepareStatement(INSERT_NEW);
+                     PreparedStatement take = conn.prepareStatement(TAKE)) {
+                    for (List<Rsvp> batch : byEvent.values()) {
+                        if (!lock(lock, batch.get(0).eventId())) {
+                            refused.addAll(batch);
+                            continue;
+                        }
+                        if (batch.size() > 1 && save(conn, insert, take, batch)) {
+                            continue;
+                        }
+                        for (Rsvp rsvp : batch) {
+                            if (!save(conn, insert, take, List.of(rsvp))) {
+                                refused.add(rsvp);
+                            }
+                        }
+                    }
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+            return refused;
+        }
+
+        // false if the event is gone
+        private static boolean lock(PreparedStatement lock, int eventId) throws SQLException {
+            lock.setInt(1, eventId);
+            try (ResultSet rs = lock.executeQuery()) {
+                return rs.next();
+            }
+        }
+
+        // One event's registrations, all or none; the event must be locked
+        private static boolean save(Connection conn, PreparedStatement insert, PreparedStatement take,
+                                    List<Rsvp> batch) throws SQLException {
+            Savepoint before = conn.setSavepoint();
+            int eventId = batch.get(0).eventId();
+            for (Rsvp rsvp : batch) {
+                insert.setInt(1, eventId);
+                insert.setInt(2, rsvp.founderId());
+                insert.setInt(3, eventId);
+                insert.setInt(4, rsvp.founderId());
+                insert.addBatch();
+            }
+            int added = 0;
+            for (int count : insert.executeBatch()) {
+                // A driver that can't tell (SUCCESS_NO_INFO) is taken to have inserted the row, which
+                // can only make the capacity check stricter
+                added += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+            }
+            take.setInt(1, added);
+            take.setInt(2, eventId);
+            take.setInt(3, added);
+            if (take.executeUpdate() == 0) {
+                conn.rollback(before);
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+import java.util.List;
+
+// Shape of a keyset-paged result: the total row count and, for each page, the key it seeks past.
+// afterKeys.get(0) is null (the first page starts at the beginning); later keys are the
+// sort key of the last row on the previous page.
+public record PageLayout(int rowCount, List<Object> afterKeys) {
+    public static final PageLayout EMPTY = new PageLayout(0, List.of());
+
+    public int pageCount() {
+        return afterKeys.size();
+    }
+}
@@ -0,0 +1,127 @@
+import javafx.collections.ObservableListBase;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+// Read-only list for a TableView over a table too large to hold in memory. It reports the full
+// row count, but only holds the pages the view has asked for recently (at most maxPages).
+// Pages are fetched by key, off the FX thread, when a row on them is first requested; until
+// then the row shows as a placeholder and an update event repaints it once the page arrives.
+public class PagedList<T> extends ObservableListBase<T> {
+    private final int pageSize;
+    private final int maxPages;
+    private final Source<T> source;
+    private final IntFunction<T> placeholder;
+
+    private final Map<Integer, List<T>> pages;
+    private final Set<Integer> loading = new HashSet<>();
+    private PageLayout layout = PageLayout.EMPTY;
+    private int generation;
+    private int layoutGeneration;
+
+    public interface Source<T> {
+        PageLayout layout(int pageSize) throws SQLException;
+
+        // Up to limit rows after the given key (null for the first page), in key order
+        List<T> page(Object afterKey, int limit) throws SQLException;
+    }
+
+    public PagedList(int pageSize, int maxPages, Source<T> source, IntFunction<T> placeholder) {
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.source = source;
+        this.placeholder = placeholder;
+        this.pages = new LinkedHashMap<>(maxPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > PagedList.this.maxPages;
+            }
+        };
+    }
+
+    // Re-reads the row count and page keys, dropping every cached page
+    public void reload() {
+        int gen = ++generation;
+        DataLoader.load(() -> source.layout(pageSize), newLayout -> {
+            if (gen != generation) {
+                return;
+            }
+            int oldSize = size();
+            layout = newLayout;
+            layoutGeneration = gen;
+            pages.clear();
+            loading.clear();
+            beginChange();
+            if (oldSize > 0) {
+                nextRemove(0, Collections.nCopies(oldSize, placeholder.apply(0)));
+            }
+            if (newLayout.rowCount() > 0) {
+                nextAdd(0, newLayout.rowCount());
+            }
+            endChange();
+        });
+    }
+
+    // Every row of the pages held, e.g. to refresh a column of them in place
+    public void forEachCached(Consumer<T> action) {
+        for (List<T> rows : pages.values()) {
+            rows.forEach(action);
+        }
+    }
+
+    public int cachedPages() {
+        return pages.size();
+    }
+
+    @Override
+    public int size() {
+        return layout.rowCount();
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int page = index / pageSize;
+        List<T> rows = pages.get(page);
+        int offset = index % pageSize;
+        if (rows != null && offset < rows.size()) {
+            return rows.get(offset);
+        }
+        if (rows == null) {
+            fetch(page);
+        }
+        return placeholder.apply(index);
+    }
+
+    private void fetch(int page) {
+        // While a reload is in flight the current keys may belong to an older query
+        if (layoutGeneration != generation || page >= layout.pageCount() || !loading.add(page)) {
+            return;
+        }
+        int gen = generation;
+        Object afterKey = layout.afterKeys().get(page);
+        DataLoader.load(() -> source.page(afterKey, pageSize), rows -> {
+            if (gen != generation) {
+                return;
+            }
+            loading.remove(page);
+            pages.put(page, rows);
+            int from = page * pageSize;
+            int to = Math.min(from + pageSize, size());
+            beginChange();
+            for (int i = from; i < to; i++) {
+                nextUpdate(i);
+            }
+            endChange();
+        }, e -> loading.remove(page));
+    }
+}
@@ -0,0 +1,24 @@
+import java.sql.SQLException;
+import java.util.List;
+
+// Sign-up: a users row plus the row in its role table, written together or not at all
+public interface RegistrationRepository {
+    // Returns the new user's id
+    int register(Registration registration) throws SQLException;
+
+    // Registers a whole cohort in one transaction, with each table's inserts sent as one batch.
+    // Returns the new ids in input order; if any registration fails, none are kept.
+    List<Integer> registerAll(List<Registration> registrations) throws SQLException;
+
+    // role is Investor, Mentor or Founder in any case; it is stored exact-case for the users.role CHECK
+    record Registration(String name, String email, String password, String role) {
+        public Registration {
+            role = switch (role.toLowerCase()) {
+                case "investor" -> "Investor";
+                case "mentor" -> "Mentor";
+                case "founder" -> "Founder";
+                default -> throw new IllegalArgumentException("Cannot register role " + role);
+            };
+        }
+    }
+}
@@ -0,0 +1,75 @@
+import java.sql.SQLException;
+
+// Backend switch for all data access. Oracle by default; run with -Dapp.backend=memory
+// to use the in-process backend (seeded with one login per role) instead.
+public final class Repositories {
+    private static volatile UserRepository users;
+    private static volatile RegistrationRepository registrations;
+    private static volatile FounderRepository founders;
+    private static volatile InvestorRepository investors;
+    private static volatile MentorRepository mentors;
+    private static volatile FundingRepository funding;
+    private static volatile MentorRequestRepository mentorRequests;
+    private static volatile MentorSlotRepository mentorSlots;
+    private static volatile ApplicationRepository applications;
+    private static volatile EventRepository events;
+    private static volatile RsvpRepository rsvps;
+
+    static {
+        if ("memory".equalsIgnoreCase(System.getProperty("app.backend"))) {
+            InMemoryRepositories db = new InMemoryRepositories();
+            try {
+                db.seedDemoData();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+            use(db);
+        } else {
+            users = new OracleRepositories.Users();
+            registrations = new OracleRepositories.Registrations();
+            founders = new OracleRepositories.Founders();
+            investors = new OracleRepositories.Investors();
+            mentors = new OracleRepositories.Mentors();
+            funding = new OracleRepositories.Fundings();
+            mentorRequests = new OracleRepositories.MentorRequests();
+            mentorSlots = new OracleRepositories.MentorSlots();
+            applications = new OracleRepositories.Applications();
+            events = new OracleRepositories.Events();
+            rsvps = new OracleRepositories.Rsvps();
+        }
+    }
+
+    private Repositories() {
+    }
+
+    // Points every repository at the given in-memory database, e.g. from a benchmark
+    public static void use(InMemoryRepositories db) {
+        users = db.users();
+        registrations = db.registrations();
+        founders = db.founders();
+        investors = db.investors();
+        mentors = db.mentors();
+        funding = db.funding();
+        mentorRequests = db.mentorRequests();
+        mentorSlots = db.mentorSlots();
+        applications = db.applications();
+        events = db.events();
+        rsvps = db.rsvps();
+    }
+
+    public static boolean isOracle() {
+        return users instanceof OracleRepositories.Users;
+    }
+
+    public static UserRepository users() { return users; }
+    public static RegistrationRepository registrations() { return registrations; }
+    public static FounderRepository founders() { return founders; }
+    public static InvestorRepository investors() { return investors; }
+    public static MentorRepository mentors() { return mentors; }
+    public static FundingRepository funding() { return funding; }
+    public static MentorRequestRepository mentorRequests() { return mentorRequests; }
+    public static MentorSlotRepository mentorSlots() { return mentorSlots; }
+    public static ApplicationRepository applications() { return applications; }
+    public static EventRepository events() { return events; }
+    public static RsvpRepository rsvps() { return rsvps; }
+}
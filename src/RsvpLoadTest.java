@@ -0,0 +1,222 @@
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// A demo-day rush: registers -Dload.founders founders (default 2000) and -Dload.events events
+// (default 3) of -Dload.capacity places (default 500), then has -Dload.threads threads (default 64)
+// RSVP every founder to every event at once through RsvpService, some of them twice. Meanwhile a
+// rival thread writes registrations for other founders straight to RsvpRepository, as another
+// process would, so the database's capacity guard is raced too. Prints admission latency and the
+// outcome per event, and exits with status 1 if any event is oversold or the stored registrations
+// don't match what was accepted.
+//
+//   java -Dapp.backend=memory RsvpLoadTest       (against Oracle it creates real users and events)
+public class RsvpLoadTest {
+    private static final int FOUNDERS = Integer.getInteger("load.founders", 2000);
+    private static final int EVENTS = Integer.getInteger("load.events", 3);
+    private static final int CAPACITY = Integer.getInteger("load.capacity", 500);
+    private static final int THREADS = Integer.getInteger("load.threads", 64);
+    // Founders registered by the rival writer rather than RsvpService, and its batch size
+    private static final int RIVALS = FOUNDERS / 10;
+    private static final int RIVAL_BATCH = 20;
+    // Every this-many-th founder RSVPs twice
+    private static final int REPEAT_EVERY = 10;
+
+    public static void main(String[] args) {
+        if (Repositories.isOracle()) {
+            DBConnection.warmUp();
+        }
+        try {
+            System.exit(new RsvpLoadTest().run() ? 0 : 1);
+        } catch (SQLException | InterruptedException e) {
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            if (Repositories.isOracle()) {
+                DBConnection.shutdown();
+            }
+        }
+    }
+
+    private boolean run() throws SQLException, InterruptedException {
+        List<Integer> founders = registerFounders(FOUNDERS + RIVALS);
+        List<Integer> rivals = founders.subList(FOUNDERS, founders.size());
+        founders = founders.subList(0, FOUNDERS);
+        List<Integer> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(Repositories.events().create("Demo day " + (i + 1), "RSVP load test", LocalDate.now().plusDays(7),
+                    "Main hall", CAPACITY));
+        }
+        System.out.printf("%d founders (+%d rival) RSVPing to %d events of %d places on %d threads%n",
+                FOUNDERS, RIVALS, EVENTS, CAPACITY, THREADS);
+
+        // Each thread takes founders from a shared cursor and RSVPs them to the events in its own order
+        Map<RsvpService.Status, AtomicInteger> answers = new EnumMap<>(RsvpService.Status.class);
+        for (RsvpService.Status status : RsvpService.Status.values()) {
+            answers.put(status, new AtomicInteger());
+        }
+        List<Integer> calls = founders;
+        long[] latencies = new long[(calls.size() + calls.size() / REPEAT_EVERY + 1) * EVENTS];
+        AtomicInteger latencyCount = new AtomicInteger();
+        AtomicInteger cursor = new AtomicInteger();
+        List<List<CompletableFuture<RsvpService.Status>>> savedByThread = new ArrayList<>();
+        List<List<int[]>> acceptedByThread = new ArrayList<>();
+        AtomicLong failures = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            List<CompletableFuture<RsvpService.Status>> saved = new ArrayList<>();
+            List<int[]> accepted = new ArrayList<>();
+            savedByThread.add(saved);
+            acceptedByThread.add(accepted);
+            Random random = new Random(t);
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    List<Integer> order = new ArrayList<>(events);
+                    for (int i = cursor.getAndIncrement(); i < calls.size(); i = cursor.getAndIncrement()) {
+                        int founder = calls.get(i);
+                        Collections.shuffle(order, random);
+                        int tries = i % REPEAT_EVERY == 0 ? 2 : 1;
+                        for (int attempt = 0; attempt < tries; attempt++) {
+                            for (int event : order) {
+                                long begun = System.nanoTime();
+                                RsvpService.Ticket ticket = RsvpService.shared().rsvp(event, founder);
+                                latencies[latencyCount.getAndIncrement()] = System.nanoTime() - begun;
+                                answers.get(ticket.status()).incrementAndGet();
+                                if (ticket.status() == RsvpService.Status.ACCEPTED) {
+                                    saved.add(ticket.saved());
+                                    accepted.add(new int[]{event, founder});
+                                }
+                            }
+                        }
+                    }
+                } catch (SQLException | InterruptedException e) {
+                    e.printStackTrace();
+                    failures.incrementAndGet();
+                }
+            }, "rsvp-load-" + t);
+            threads.add(thread);
+            thread.start();
+        }
+
+        // The rival process: small batches for its own founders, straight to the database
+        Set<RsvpRepository.Rsvp> rivalSaved = Collections.synchronizedSet(new HashSet<>());
+        Thread rival = new Thread(() -> {
+            try {
+                start.await();
+                List<RsvpRepository.Rsvp> batch = new ArrayList<>();
+                for (int founder : rivals) {
+                    for (int event : events) {
+                        batch.add(new RsvpRepository.Rsvp(event, founder));
+                    }
+                    if (batch.size() >= RIVAL_BATCH) {
+                        saveRival(batch, rivalSaved);
+                    }
+                }
+                saveRival(batch, rivalSaved);
+            } catch (SQLException | InterruptedException e) {
+                e.printStackTrace();
+                failures.incrementAndGet();
+            }
+        }, "rsvp-rival");
+        rival.start();
+
+        long begun = System.nanoTime();
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long admitted = System.nanoTime() - begun;
+        rival.join();
+        RsvpService.shared().saveNow().join();
+
+        // How each accepted ticket ended up once written
+        Map<RsvpService.Status, Integer> outcomes = new EnumMap<>(RsvpService.Status.class);
+        Set<RsvpRepository.Rsvp> stored = new HashSet<>(rivalSaved);
+        int unsaved = 0;
+        for (int t = 0; t < THREADS; t++) {
+            List<CompletableFuture<RsvpService.Status>> saved = savedByThread.get(t);
+            for (int i = 0; i < saved.size(); i++) {
+                try {
+                    RsvpService.Status status = saved.get(i).join();
+                    outcomes.merge(status, 1, Integer::sum);
+                    if (status == RsvpService.Status.ACCEPTED) {
+                        int[] rsvp = acceptedByThread.get(t).get(i);
+                        stored.add(new RsvpRepository.Rsvp(rsvp[0], rsvp[1]));
+                    }
+                } catch (RuntimeException e) {
+                    unsaved++;
+                }
+            }
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, latencyCount.get());
+        Arrays.sort(sorted);
+        System.out.printf("%d RSVPs answered in %d ms; admission p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                sorted.length, admitted / 1_000_000, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1000.0);
+        System.out.println("Answers: " + answers);
+        System.out.println("Accepted tickets once saved: " + outcomes + (unsaved > 0 ? ", " + unsaved + " failed to save" : ""));
+
+        boolean ok = failures.get() == 0 && unsaved == 0;
+        Map<Integer, Integer> counts = Repositories.rsvps().countAll(events);
+        for (int event : events) {
+            RsvpRepository.Seats seats = Repositories.rsvps().findSeats(event);
+            long expected = stored.stream().filter(r -> r.eventId() == event).count();
+            long fromService = expected - rivalSaved.stream().filter(r -> r.eventId() == event).count();
+            int count = counts.getOrDefault(event, -1);
+            boolean eventOk = count <= CAPACITY && count == expected && seats.founders().size() == count;
+            ok &= eventOk;
+            System.out.printf("Event %d: %d of %d places taken (%d through RsvpService, %d by the rival), %d rows stored%s%n",
+                    event, count, CAPACITY, fromService, expected - fromService, seats.founders().size(),
+                    eventOk ? "" : "  <-- MISMATCH");
+        }
+        System.out.println(ok ? "OK: no event oversold" : "FAILED");
+        return ok;
+    }
+
+    private static void saveRival(List<RsvpRepository.Rsvp> batch, Set<RsvpRepository.Rsvp> saved) throws SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<RsvpRepository.Rsvp> refused = Repositories.rsvps().saveAll(batch);
+        for (RsvpRepository.Rsvp rsvp : batch) {
+            if (!refused.contains(rsvp)) {
+                saved.add(rsvp);
+            }
+        }
+        batch.clear();
+    }
+
+    private static List<Integer> registerFounders(int count) throws SQLException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<Integer> ids = new ArrayList<>(count);
+        List<RegistrationRepository.Registration> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(new RegistrationRepository.Registration("Load Founder " + i,
+                    "rsvp-load-" + run + "-" + i + "@example.com", "load", "founder"));
+            if (batch.size() == 1000 || i == count - 1) {
+                ids.addAll(Repositories.registrations().registerAll(batch));
+                batch.clear();
+            }
+        }
+        return ids;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))] / 1000.0;
+    }
+}
@@ -0,0 +1,26 @@
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Founders' registrations for events (event_rsvps), and the events.rsvp_count kept with them.
+// Written in batches by RsvpService, which decides admission in memory; the database still
+// refuses any registration past capacity, so several processes cannot oversell an event between them.
+public interface RsvpRepository {
+    record Rsvp(int eventId, int founderId) {
+    }
+
+    // An event's capacity (null for no limit) and the founders registered for it
+    record Seats(Integer capacity, Set<Integer> founders) {
+    }
+
+    // null if there is no such event
+    Seats findSeats(int eventId) throws SQLException;
+
+    // rsvp_count of those of the events that still exist
+    Map<Integer, Integer> countAll(List<Integer> eventIds) throws SQLException;
+
+    // Stores the registrations in one transaction and returns those refused because their event is
+    // full or gone. A registration already stored counts as saved; it is not stored twice.
+    Set<Rsvp> saveAll(List<Rsvp> rsvps) throws SQLException;
+}
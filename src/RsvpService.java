@@ -0,0 +1,198 @@
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Process-wide event registration. Each event's places are an AtomicInteger taken by
+// compare-and-set, so an RSVP is admitted or refused at once, without a lock or a database
+// round trip, and admissions never pass capacity however many threads race for the last place.
+// Admitted registrations queue up and a writer thread stores them in batches (RsvpRepository.saveAll)
+// after -Drsvp.flushMillis (default 100), or as soon as BATCH are waiting. Another process
+// admitting against the same event can take places this one thinks are free; the database
+// refuses those registrations, and the ticket's saved future reports FULL. An event's places are
+// read from the database when it is first asked for, and again after forget() or a refusal.
+public final class RsvpService {
+    private static final RsvpService shared = new RsvpService();
+
+    private static final long FLUSH_MILLIS = Long.getLong("rsvp.flushMillis", 100);
+    private static final int BATCH = 500;
+
+    public enum Status { ACCEPTED, FULL, ALREADY_REGISTERED, NO_SUCH_EVENT }
+
+    // status is the answer now. saved completes with ACCEPTED once an accepted registration is
+    // stored, with FULL if the database refused it, or exceptionally if it could not be written;
+    // for any other status it is already complete with that status.
+    public record Ticket(Status status, CompletableFuture<Status> saved) {
+        static Ticket done(Status status) {
+            return new Ticket(status, CompletableFuture.completedFuture(status));
+        }
+    }
+
+    private final Map<Integer, Seats> seats = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "rsvp-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private RsvpService() {
+    }
+
+    public static RsvpService shared() {
+        return shared;
+    }
+
+    public Ticket rsvp(int eventId, int founderId) throws SQLException {
+        Seats event = seats(eventId);
+        if (event == null) {
+            return Ticket.done(Status.NO_SUCH_EVENT);
+        }
+        if (!event.founders.add(founderId)) {
+            return Ticket.done(Status.ALREADY_REGISTERED);
+        }
+        if (!event.take()) {
+            event.founders.remove(founderId);
+            return Ticket.done(Status.FULL);
+        }
+        Pending pending = new Pending(event, founderId, new CompletableFuture<>());
+        queue.add(pending);
+        if (queued.incrementAndGet() >= BATCH) {
+            writer.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            writer.schedule(this::flush, FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return new Ticket(Status.ACCEPTED, pending.saved);
+    }
+
+    // Places taken in this process's view, including registrations not stored yet; -1 if the event
+    // hasn't been loaded
+    public int taken(int eventId) {
+        Seats event = seats.get(eventId);
+        return event == null ? -1 : event.taken.get();
+    }
+
+    // Re-reads the event's places on its next RSVP, e.g. after its capacity was edited
+    public void forget(int eventId) {
+        seats.remove(eventId);
+    }
+
+    // Stores everything admitted so far without waiting for the next flush; the returned future
+    // completes once it is written
+    public CompletableFuture<Void> saveNow() {
+        return CompletableFuture.runAsync(this::flush, writer);
+    }
+
+    private Seats seats(int eventId) throws SQLException {
+        Seats event = seats.get(eventId);
+        if (event != null) {
+            return event;
+        }
+        RsvpRepository.Seats stored = Repositories.rsvps().findSeats(eventId);
+        if (stored == null) {
+            return null;
+        }
+        // Threads that loaded the event together all use whichever copy went in first
+        Seats loaded = new Seats(eventId, stored.capacity() == null ? Integer.MAX_VALUE : stored.capacity(), stored.founders());
+        event = seats.putIfAbsent(eventId, loaded);
+        return event == null ? loaded : event;
+    }
+
+    // Runs on the writer thread only
+    private void flush() {
+        flushScheduled.set(false);
+        List<Pending> batch = new ArrayList<>(BATCH);
+        Pending next;
+        while ((next = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(next);
+            if (batch.size() == BATCH || queue.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<RsvpRepository.Rsvp> rsvps = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            rsvps.add(pending.rsvp());
+        }
+        Set<RsvpRepository.Rsvp> refused;
+        try {
+            refused = Repositories.rsvps().saveAll(rsvps);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            for (Pending pending : batch) {
+                pending.release();
+                pending.saved.completeExceptionally(e);
+            }
+            return;
+        }
+        Set<Integer> changed = new HashSet<>();
+        for (Pending pending : batch) {
+            changed.add(pending.event.eventId);
+            if (refused.contains(pending.rsvp())) {
+                pending.release();
+                // Our count was behind the database's; read it again on the next RSVP
+                seats.remove(pending.event.eventId, pending.event);
+                pending.saved.complete(Status.FULL);
+            } else {
+                pending.saved.complete(Status.ACCEPTED);
+            }
+        }
+        for (Integer eventId : changed) {
+            ChangeFeed.publishNew(ChangeFeed.EVENTS_TOPIC, eventId);
+        }
+    }
+
+    // One event's places; capacity is Integer.MAX_VALUE for no limit
+    private static final class Seats {
+        private final int eventId;
+        private final int capacity;
+        private final AtomicInteger taken;
+        private final Set<Integer> founders = ConcurrentHashMap.newKeySet();
+
+        Seats(int eventId, int capacity, Set<Integer> registered) {
+            this.eventId = eventId;
+            this.capacity = capacity;
+            this.taken = new AtomicInteger(registered.size());
+            this.founders.addAll(registered);
+        }
+
+        boolean take() {
+            while (true) {
+                int current = taken.get();
+                if (current >= capacity) {
+                    return false;
+                }
+                if (taken.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private record Pending(Seats event, int founderId, CompletableFuture<Status> saved) {
+        RsvpRepository.Rsvp rsvp() {
+            return new RsvpRepository.Rsvp(event.eventId, founderId);
+        }
+
+        void release() {
+            event.taken.decrementAndGet();
+            event.founders.remove(founderId);
+        }
+    }
+}
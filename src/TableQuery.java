@@ -0,0 +1,30 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Filter and sort for an admin table, run by the repository instead of over rows already loaded.
+// filters maps a column name to the text that column must start with (ignoring case; an id
+// column must match exactly). Rows are ordered by sortColumn with id breaking ties, so the
+// (sort value, id) pair of a row is a unique key that pages can seek past.
+public record TableQuery(Map<String, String> filters, String sortColumn, boolean descending) {
+    public static final String ID = "id";
+    public static final TableQuery BY_ID = new TableQuery(Map.of(), ID, false);
+
+    // Position of a row in query order; value is the row's sortColumn value (its id when sorting by id)
+    public record Key(Object value, int id) {
+    }
+
+    public TableQuery {
+        Map<String, String> nonBlank = new LinkedHashMap<>();
+        filters.forEach((column, text) -> {
+            if (text != null && !text.isBlank()) {
+                nonBlank.put(column, text.trim());
+            }
+        });
+        filters = Map.copyOf(nonBlank);
+        sortColumn = sortColumn == null ? ID : sortColumn;
+    }
+
+    public boolean sortsById() {
+        return ID.equals(sortColumn);
+    }
+}
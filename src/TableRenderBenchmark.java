@@ -0,0 +1,180 @@
+import com.sun.management.ThreadMXBean;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Scrolls an investor inbox of -Dbench.rows rows (default 50000) a screenful per frame, first as
+// the pages used to build it (inline row styles, a new HBox per action-cell update, a wrapper per
+// cell value) and then with ModernTable, and prints per-frame CSS + layout time and bytes
+// allocated on the FX thread per row scrolled.
+//
+//   java -Djavafx.animation.fullspeed=true TableRenderBenchmark
+//   headless, with openjfx-monocle on the classpath:
+//   java -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw TableRenderBenchmark
+//
+// Limits: frame time covers the scene pulse on the FX thread (CSS, layout, cell updates), not the
+// render thread's rasterization, so it compares the two tables rather than predicting frame rates on
+// a given GPU. Allocation is counted for the FX thread only. Run each variant in its own JVM
+// if JIT warm-up from the first variant must not favour the second.
+public class TableRenderBenchmark extends Application {
+    private static final int ROWS = Integer.getInteger("bench.rows", 50_000);
+    private static final int WARMUP_FRAMES = Integer.getInteger("bench.warmupFrames", 300);
+    private static final int FRAMES = Integer.getInteger("bench.frames", 1_000);
+    // About one screenful of rows in a 600 px window, so every frame re-renders every visible cell
+    private static final int ROWS_PER_FRAME = 25;
+
+    private static final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        List<InvestmentRequestRow> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(InvestmentRequestRow.of(new FundingRepository.InvestmentRequest(i, "Founder " + i,
+                    "Idea number " + i + " for a marketplace", "MVP", 1000.0 * i, "Investment Pending")));
+        }
+        run(stage, "legacy", legacyTable(rows), () -> run(stage, "modern", modernTable(rows), Platform::exit));
+    }
+
+    private void run(Stage stage, String name, TableView<?> table, Runnable next) {
+        Scene scene = new Scene(table, 900, 600);
+        stage.setScene(scene);
+        stage.show();
+
+        long[] frameNanos = new long[FRAMES];
+        long[] pulseStart = new long[2];
+        long[] allocated = new long[1];
+        int[] frame = {-WARMUP_FRAMES};
+        int step = ROWS_PER_FRAME;
+
+        scene.addPreLayoutPulseListener(() -> {
+            pulseStart[0] = System.nanoTime();
+            pulseStart[1] = threads.getCurrentThreadAllocatedBytes();
+        });
+        scene.addPostLayoutPulseListener(() -> {
+            if (frame[0] >= 0 && frame[0] < FRAMES) {
+                frameNanos[frame[0]] = System.nanoTime() - pulseStart[0];
+                allocated[0] += threads.getCurrentThreadAllocatedBytes() - pulseStart[1];
+            }
+        });
+
+        new AnimationTimer() {
+            private int top;
+
+            @Override
+            public void handle(long now) {
+                if (frame[0] == FRAMES) {
+                    stop();
+                    report(name, frameNanos, allocated[0], (long) FRAMES * step);
+                    next.run();
+                    return;
+                }
+                top = (top + step) % Math.max(1, table.getItems().size() - step);
+                table.scrollTo(top);
+                frame[0]++;
+            }
+        }.start();
+    }
+
+    private static void report(String name, long[] frameNanos, long allocatedBytes, long rowsScrolled) {
+        long[] sorted = frameNanos.clone();
+        Arrays.sort(sorted);
+        double avgMs = Arrays.stream(sorted).average().orElse(0) / 1e6;
+        double p99Ms = sorted[(int) (sorted.length * 0.99) - 1] / 1e6;
+        System.out.printf("%-7s frame avg %.3f ms, p99 %.3f ms, %,d bytes/row scrolled%n",
+                name, avgMs, p99Ms, allocatedBytes / Math.max(1, rowsScrolled));
+    }
+
+    private static TableView<InvestmentRequestRow> modernTable(List<InvestmentRequestRow> rows) {
+        TableView<InvestmentRequestRow> table = ModernTable.create();
+        TableColumn<InvestmentRequestRow, Void> actionCol = new TableColumn<>("Action");
+        actionCol.setCellFactory(ModernTable.actions(
+                new ModernTable.Action<>("Accept", "accept-button", row -> { }),
+                new ModernTable.Action<>("Reject", "reject-button", row -> { })));
+        table.getColumns().addAll(List.of(
+                TextColumns.of("Founder Name", InvestmentRequestRow::founderName),
+                TextColumns.of("Idea Description", InvestmentRequestRow::ideaDesc),
+                TextColumns.of("Stage", InvestmentRequestRow::stage),
+                TextColumns.of("Amount", InvestmentRequestRow::amountText)));
+        table.getColumns().add(actionCol);
+        table.getItems().setAll(rows);
+        return table;
+    }
+
+    // The inbox as built before ModernTable, kept here as the baseline
+    private static TableView<Object[]> legacyTable(List<InvestmentRequestRow> rows) {
+        TableView<Object[]> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        table.setStyle("-fx-background-color:white; -fx-border-color:#ddd; -fx-border-radius:8; -fx-background-radius:8;");
+        table.setRowFactory(tv -> new TableRow<>() {
+            @Override
+            protected void updateItem(Object[] item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setStyle("");
+                } else if (getIndex() % 2 == 0) {
+                    setStyle("-fx-background-color:#f9f9f9;");
+                } else {
+                    setStyle("");
+                }
+            }
+        });
+        String[] titles = {"Founder Name", "Idea Description", "Stage"};
+        for (int i = 0; i < titles.length; i++) {
+            int field = i;
+            TableColumn<Object[], String> column = new TableColumn<>(titles[i]);
+            column.setCellValueFactory(data -> new ReadOnlyStringWrapper((String) data.getValue()[field]));
+            table.getColumns().add(column);
+        }
+        TableColumn<Object[], String> amountCol = new TableColumn<>("Amount");
+        amountCol.setCellValueFactory(data -> new ReadOnlyStringWrapper("$" + data.getValue()[3].toString()));
+        table.getColumns().add(amountCol);
+
+        TableColumn<Object[], Void> actionCol = new TableColumn<>("Action");
+        actionCol.setCellFactory(param -> new TableCell<>() {
+            private final Button acceptButton = new Button("Accept");
+            private final Button rejectButton = new Button("Reject");
+
+            {
+                acceptButton.setStyle("-fx-background-color: #27ae60; -fx-text-fill: white;");
+                rejectButton.setStyle("-fx-background-color: #c0392b; -fx-text-fill: white;");
+            }
+
+            @Override
+            public void updateItem(Void item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty) {
+                    setGraphic(null);
+                } else {
+                    HBox actionBox = new HBox(10, acceptButton, rejectButton);
+                    actionBox.setAlignment(Pos.CENTER);
+                    setGraphic(actionBox);
+                }
+            }
+        });
+        table.getColumns().add(actionCol);
+
+        for (InvestmentRequestRow row : rows) {
+            table.getItems().add(new Object[]{row.founderName(), row.ideaDesc(), row.stage(), row.amount()});
+        }
+        return table;
+    }
+}
@@ -0,0 +1,29 @@
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+
+import java.util.function.Function;
+
+// Read-only text columns over typed rows. The cell reads the row's preformatted string directly,
+// so scrolling creates no ObservableValue, wrapper or string per cell update.
+public final class TextColumns {
+    private TextColumns() {
+    }
+
+    public static <R> TableColumn<R, R> of(String title, Function<R, String> text) {
+        TableColumn<R, R> column = new TableColumn<>(title);
+        column.setCellFactory(c -> new TableCell<>() {
+            @Override
+            protected void updateItem(R item, boolean empty) {
+                super.updateItem(item, empty);
+                // No cell value factory: the row item is read by index, which JavaFX re-renders on change
+                int index = getIndex();
+                if (empty || index < 0 || index >= getTableView().getItems().size()) {
+                    setText(null);
+                } else {
+                    setText(text.apply(getTableView().getItems().get(index)));
+                }
+            }
+        });
+        return column;
+    }
+}
@@ -0,0 +1,85 @@
+// The k highest-scoring int items of those offered, without sorting them all: a min-heap of at
+// most k entries whose root is the score to beat, so each offer is O(log k) and most are O(1).
+public final class TopK {
+    private final int[] items;
+    private final double[] scores;
+    private int size;
+
+    // Items best first, with their scores
+    public record Ranking(int[] items, double[] scores) {
+        public int size() {
+            return items.length;
+        }
+    }
+
+    public TopK(int k) {
+        this.items = new int[Math.max(0, k)];
+        this.scores = new double[items.length];
+    }
+
+    public void offer(int item, double score) {
+        if (size < items.length) {
+            items[size] = item;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (size > 0 && score > scores[0]) {
+            items[0] = item;
+            scores[0] = score;
+            siftDown(size);
+        }
+    }
+
+    // Empties the heap into a ranking
+    public Ranking ranking() {
+        int[] rankedItems = new int[size];
+        double[] rankedScores = new double[size];
+        for (int i = size - 1; i >= 0; i--) {
+            rankedItems[i] = items[0];
+            rankedScores[i] = scores[0];
+            swap(0, i);
+            siftDown(i);
+        }
+        size = 0;
+        return new Ranking(rankedItems, rankedScores);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[parent] <= scores[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int size) {
+        int i = 0;
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int item = items[i];
+        items[i] = items[j];
+        items[j] = item;
+        double score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+}
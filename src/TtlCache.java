@@ -0,0 +1,141 @@
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+// Read-through cache with a time-to-live per entry and a bound on total weight (e.g. rows held).
+// Concurrent misses on the same key share one load; least recently used entries go first.
+public class TtlCache<K, V> {
+    private final long ttlNanos;
+    private final long maxWeight;
+    private final ToIntFunction<V> weigher;
+
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private long weight;
+    private long invalidations;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws SQLException;
+    }
+
+    public record Stats(long hits, long misses, long evictions, int entries, long weight) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    private record Entry<V>(V value, int weight, long expiresAt) {
+    }
+
+    public TtlCache(long ttlMillis, long maxWeight, ToIntFunction<V> weigher) {
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public V get(K key, Loader<V> loader) throws SQLException {
+        long generation;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                remove(key);
+            }
+            generation = invalidations;
+        }
+        misses.increment();
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            V value = loader.load();
+            synchronized (this) {
+                // Don't cache a value that was read before an invalidation landed
+                if (generation == invalidations) {
+                    put(key, value);
+                }
+            }
+            mine.complete(value);
+            return value;
+        } catch (SQLException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        invalidations++;
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), weight);
+    }
+
+    private void put(K key, V value) {
+        int w = weigher.applyAsInt(value);
+        remove(key);
+        if (w > maxWeight) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, w, System.nanoTime() + ttlNanos));
+        weight += w;
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (weight > maxWeight && it.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = it.next();
+            weight -= eldest.getValue().weight;
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private void remove(K key) {
+        Entry<V> old = entries.remove(key);
+        if (old != null) {
+            weight -= old.weight;
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a cached load", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sql) {
+                throw sql;
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new SQLException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+import java.sql.SQLException;
+import java.util.List;
+
+public interface UserRepository {
+    // Returns null when no user matches
+    User findByCredentials(String email, String password) throws SQLException;
+
+    // Row count for a role under the query's filters, plus the key of every pageSize-th row
+    PageLayout pageLayoutByRole(String role, TableQuery query, int pageSize) throws SQLException;
+
+    // Up to limit users of a role after the given key (null for the first page), in query order
+    List<User> findPageByRole(String role, TableQuery query, TableQuery.Key after, int limit) throws SQLException;
+
+    // Updates name/email on both users and the role table
+    void updateContact(int id, String role, String name, String email) throws SQLException;
+
+    // updateContact for many users of one role, as one batch in one transaction: all or none are written
+    void updateContacts(String role, List<User> users) throws SQLException;
+
+    // Deletes the role table row, then the users row
+    void delete(int id, String role) throws SQLException;
+}